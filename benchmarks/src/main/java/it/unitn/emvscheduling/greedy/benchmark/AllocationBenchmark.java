@@ -0,0 +1,74 @@
+package it.unitn.emvscheduling.greedy.benchmark;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.solver.Solver;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the allocation of one solve call of each solver and mode, to be run with the GC profiler (-prof gc), its
+ * gc.alloc.rate.norm divided by processCount is the number of bytes allocated per solved transaction.
+ * {@link AllocationGate} runs it and compares the result with the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AllocationBenchmark {
+    @Param({"DISPATCHER", "OPTIMIZED", "SCALABLE"})
+    public SolverType solverType;
+
+    @Param({"true", "false"})
+    public boolean isProposerMode;
+
+    @Param({"LOOSE", "STRICT"})
+    public Strategy.AssignmentType assignmentType;
+
+    @Param({"1000"})
+    public int processCount;
+
+    @Param({"8"})
+    public int computerCount;
+
+    @Param({"15"})
+    public int conflictPercentage;
+
+    private ExecutionFacts facts;
+    private Solver solver;
+    private Strategy strategy;
+    private ExecutionSettings settings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        facts = DataGenerator.getBenchmark(1, processCount, 5, 10, computerCount, conflictPercentage, 100);
+        facts.isProposerMode = isProposerMode;
+        solver = solverType.newSolver();
+        strategy = new Strategy(assignmentType, Strategy.ProcessSortType.MCDF, 29);
+        settings = new ExecutionSettings(-1, -1, 1);
+    }
+
+    @Benchmark
+    public ExecutionOutput solve() {
+        facts.resetPlanning();
+        return solver.solve(facts, settings, strategy);
+    }
+}
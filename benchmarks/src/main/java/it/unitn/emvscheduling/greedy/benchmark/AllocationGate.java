@@ -0,0 +1,125 @@
+package it.unitn.emvscheduling.greedy.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * runs {@link AllocationBenchmark} with the GC profiler and fails (exit code 1) if the bytes allocated per solved
+ * transaction of any solver and mode is more than the baseline plus the tolerance.
+ * <p>
+ * Usage: AllocationGate [baselineFile] [--update]
+ * <ul>
+ * <li>baselineFile: a properties file of "solver.mode.assignmentType=bytesPerTransaction" and "tolerance=0.10",
+ * default: allocation-baseline.properties</li>
+ * <li>--update: write the measured values as the new baseline instead of checking them</li>
+ * </ul>
+ */
+public class AllocationGate {
+    private static final String TOLERANCE_KEY = "tolerance";
+    private static final double DEFAULT_TOLERANCE = 0.10;
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path baselinePath = Paths.get("allocation-baseline.properties");
+        boolean update = false;
+        for (String arg : args) {
+            if (arg.equals("--update")) {
+                update = true;
+            } else {
+                baselinePath = Paths.get(arg);
+            }
+        }
+
+        Options options = new OptionsBuilder()
+                .include(AllocationBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> measured = new TreeMap<>();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            double bytesPerOperation = getAllocationRateNorm(result);
+            int processCount = Integer.parseInt(params.getParam("processCount"));
+            String key = params.getParam("solverType") + "." +
+                    (Boolean.parseBoolean(params.getParam("isProposerMode")) ? "proposer" : "attestor") + "." +
+                    params.getParam("assignmentType");
+            measured.put(key, bytesPerOperation / processCount);
+        }
+
+        if (update) {
+            writeBaseline(baselinePath, measured);
+            System.out.println("Allocation baseline is updated: " + baselinePath.toAbsolutePath());
+            return;
+        }
+
+        Properties baseline = new Properties();
+        if (Files.exists(baselinePath)) {
+            try (Reader reader = Files.newBufferedReader(baselinePath)) {
+                baseline.load(reader);
+            }
+        }
+        double tolerance = Double.parseDouble(baseline.getProperty(TOLERANCE_KEY, String.valueOf(DEFAULT_TOLERANCE)));
+
+        boolean regressed = false;
+        System.out.println();
+        System.out.printf("%-32s %16s %16s %8s%n", "solver.mode.assignment", "bytes/tx", "baseline", "status");
+        for (Map.Entry<String, Double> entry : measured.entrySet()) {
+            String baselineValue = baseline.getProperty(entry.getKey());
+            String status;
+            if (baselineValue == null) {
+                status = "NEW";
+            } else if (entry.getValue() > Double.parseDouble(baselineValue) * (1 + tolerance)) {
+                status = "REGRESSED";
+                regressed = true;
+            } else {
+                status = "OK";
+            }
+            System.out.printf("%-32s %16.1f %16s %8s%n", entry.getKey(), entry.getValue(),
+                    baselineValue == null ? "-" : baselineValue, status);
+        }
+        if (regressed) {
+            System.out.println("Allocation per transaction regressed more than " + (tolerance * 100) + "% of the " +
+                    "baseline " + baselinePath.toAbsolutePath());
+            System.exit(1);
+        }
+    }
+
+    private static double getAllocationRateNorm(RunResult result) {
+        // JMH returns a map of raw results, so only its keys are iterated
+        for (String name : result.getSecondaryResults().keySet()) {
+            // the name is "gc.alloc.rate.norm" or, in the older JMH versions, "·gc.alloc.rate.norm"
+            if (name.endsWith("gc.alloc.rate.norm")) {
+                Result<?> secondary = result.getSecondaryResults().get(name);
+                return secondary.getScore();
+            }
+        }
+        throw new IllegalStateException("the GC profiler did not report gc.alloc.rate.norm");
+    }
+
+    private static void writeBaseline(Path baselinePath, Map<String, Double> measured) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(baselinePath)) {
+            writer.write("# bytes allocated per solved transaction, written by AllocationGate --update\n");
+            writer.write(TOLERANCE_KEY + "=" + DEFAULT_TOLERANCE + "\n");
+            for (Map.Entry<String, Double> entry : measured.entrySet()) {
+                writer.write(entry.getKey() + "=" + String.format("%.1f", entry.getValue()) + "\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package it.unitn.emvscheduling.greedy.benchmark;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.solver.Solver;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * steady-state wall time of one solve call of each solver, in both modes.
+ * <p>
+ * Note: the facts are generated once per trial and reset to their original state before every solve in a
+ * per-invocation setup ({@link ExecutionFacts#resetPlanning()}), so the reset is not measured. The default instance
+ * is large enough (milliseconds per call) for the timestamps of the per-invocation setup not to skew the measurement,
+ * keep it that way when widening the grid to smaller instances
+ * <p>
+ * The default grid is the 6 combinations of the solvers and the modes on one instance, the other values are given with
+ * -p (the assignment type, the sizes and the conflict percentage)
+ * <p>
+ * Usage (from the repository root):
+ * <pre>
+ * mvn install -DskipTests
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar SolverBenchmark -rf json -rff solver-baseline.json
+ * java -jar benchmarks/target/benchmarks.jar SolverBenchmark -p solverType=SCALABLE -p processCount=2000,20000
+ * java -jar benchmarks/target/benchmarks.jar SolverBenchmark -p computerCount=4,32 -p conflictPercentage=0,15,45 \
+ *     -p assignmentType=LOOSE,STRICT
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SolverBenchmark {
+    @Param({"DISPATCHER", "OPTIMIZED", "SCALABLE"})
+    public SolverType solverType;
+
+    @Param({"2000"})
+    public int processCount;
+
+    @Param({"8"})
+    public int computerCount;
+
+    @Param({"15"})
+    public int conflictPercentage;
+
+    @Param({"LOOSE"})
+    public Strategy.AssignmentType assignmentType;
+
+    @Param({"true", "false"})
+    public boolean isProposerMode;
+
+    private ExecutionFacts facts;
+    private Solver solver;
+    private Strategy strategy;
+    private ExecutionSettings settings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        facts = DataGenerator.getBenchmark(1, processCount, 5, 10, computerCount, conflictPercentage, 100);
+        facts.isProposerMode = isProposerMode;
+        solver = solverType.newSolver();
+        strategy = new Strategy(assignmentType, Strategy.ProcessSortType.MCDF, 29);
+        settings = new ExecutionSettings(-1, -1, 1);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetPlanning() {
+        facts.resetPlanning();
+    }
+
+    @Benchmark
+    public ExecutionOutput solve() {
+        return solver.solve(facts, settings, strategy);
+    }
+}
@@ -1,34 +1,45 @@
 package it.unitn.emvscheduling.greedy.application;
 
-import it.unitn.emvscheduling.greedy.data.DataGenerator;
-import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
-import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
-import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
 import it.unitn.emvscheduling.greedy.solver.DispatcherSolver;
 import it.unitn.emvscheduling.greedy.solver.Strategy;
 
 import java.io.IOException;
 
 public class ArgsBasedExecutor {
-    public static void executeUsingArgs(int randomSeed, int numberOfWorkers, int maxSolverExecutionTimeInSeconds
-            , int processCount, int processExecutionTimeMin, int processExecutionTimeMax, int computerCount, int conflictPercentage, int timeWeight) throws IOException {
-        DispatcherSolver solver = new DispatcherSolver();
-        ExecutionFacts facts = DataGenerator.getBenchmark(randomSeed, processCount, processExecutionTimeMin,
-                processExecutionTimeMax, computerCount, conflictPercentage, timeWeight);
-
-        ExecutionSettings settings = new ExecutionSettings(numberOfWorkers, maxSolverExecutionTimeInSeconds, randomSeed);
+    public static void executeUsingArgs(int randomSeed, int numberOfWorkers, int maxSolverExecutionTimeInSeconds,
+                                        int processCount, int processExecutionTimeMin, int processExecutionTimeMax,
+                                        int computerCount, int conflictPercentage, int timeWeight) throws IOException {
+        executeUsingArgs(randomSeed, numberOfWorkers, maxSolverExecutionTimeInSeconds, processCount,
+                processExecutionTimeMin, processExecutionTimeMax, computerCount, conflictPercentage, timeWeight, 0, 1);
+    }
 
-        // Solve the problem
-        Strategy strategy = new Strategy(Strategy.AssignmentType.LOOSE, Strategy.ProcessSortType.MCDF, 9);
-        ExecutionOutput solverOutput = solver.solve(facts, settings, strategy);
-        String line = FileBasedExecutor.getOutputLine(0, 0, randomSeed, numberOfWorkers,
-                maxSolverExecutionTimeInSeconds,
-                processCount, processExecutionTimeMin, processExecutionTimeMax, computerCount, conflictPercentage,
-                timeWeight, strategy.processSortType.getValue(), strategy.looseReviewRound, solverOutput.wallTimeInMs,
-                solverOutput.scheduleMakespan,
+    /**
+     * solve the arguments as an input row with the MCDF sort and 9 loose review rounds, see
+     * {@link FileBasedExecutor#executeRow(int[], it.unitn.emvscheduling.greedy.solver.Solver, int, int)}
+     *
+     * @param warmupRounds the unreported solves, on a copy of the benchmark
+     * @param repetitions  the timed solves, the output is the one of the last solve with the statistics of all of them
+     */
+    public static void executeUsingArgs(int randomSeed, int numberOfWorkers, int maxSolverExecutionTimeInSeconds,
+                                        int processCount, int processExecutionTimeMin, int processExecutionTimeMax,
+                                        int computerCount, int conflictPercentage, int timeWeight,
+                                        int warmupRounds, int repetitions) throws IOException {
+        int[] input = new int[InputRowReader.COLUMN_COUNT];
+        input[InputRowReader.RANDOM_SEED] = randomSeed;
+        input[InputRowReader.NUMBER_OF_WORKERS] = numberOfWorkers;
+        input[InputRowReader.MAX_SOLVER_EXECUTION_TIME_IN_SECONDS] = maxSolverExecutionTimeInSeconds;
+        input[InputRowReader.PROCESS_COUNT] = processCount;
+        input[InputRowReader.PROCESS_EXECUTION_TIME_MIN] = processExecutionTimeMin;
+        input[InputRowReader.PROCESS_EXECUTION_TIME_MAX] = processExecutionTimeMax;
+        input[InputRowReader.COMPUTER_COUNT] = computerCount;
+        input[InputRowReader.CONFLICT_PERCENTAGE] = conflictPercentage;
+        input[InputRowReader.TIME_WEIGHT] = timeWeight;
+        input[InputRowReader.PROCESS_SORT_TYPE] = Strategy.ProcessSortType.MCDF.getValue();
+        input[InputRowReader.LOOSE_REVIEW_ROUND] = 9;// a positive round count is the loose assignment
 
-                solverOutput.horizon, solverOutput.resultStatus);
+        String line = FileBasedExecutor.executeRow(input, new DispatcherSolver(), warmupRounds, repetitions);
         FileBasedExecutor.writeInAccumulativeOutFileWithTimestamp(line);
+        FileBasedExecutor.closeAccumulativeOutFile();
         System.out.println("Result: " + line);
     }
 }
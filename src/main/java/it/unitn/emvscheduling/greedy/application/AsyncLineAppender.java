@@ -0,0 +1,248 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * a persistent, append-only result sink: the file is opened once, producers only enqueue lines into a bounded queue
+ * and a single background thread drains them in batches, appends the timestamp column and flushes once per batch.
+ * The timestamp is the time of {@link #append(String)}, not of the write, so a backlog does not shift it.
+ * <p>
+ * Note: when the queue is full the producer blocks (back pressure) instead of dropping result lines, until the line
+ * is queued or the writer thread fails
+ * Note: {@link #close()} drains everything still queued and forces it to the disk, it is also registered as a
+ * shutdown hook, so the results of an interrupted sweep are not lost
+ */
+public class AsyncLineAppender implements Closeable {
+    private static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    /**
+     * a marker line that is never written, it only wakes up the writer thread to finish
+     */
+    private static final QueuedLine END_OF_STREAM = new QueuedLine(null, 0);
+
+    private final BlockingQueue<QueuedLine> queue;
+    private final FileOutputStream fileOutputStream;
+    private final BufferedWriter writer;
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+    private final boolean withTimestamp;
+    private final LongSupplier clock;// the current time in milliseconds
+    private volatile boolean closed = false;
+    /* the producers check closed and queue their line under the read lock, close sets closed under the write lock,
+    so no line can be queued after END_OF_STREAM */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile IOException writeFailure;
+
+    //the timestamp has a resolution of one second, so it is formatted at most once per second
+    private long lastTimestampSecond = Long.MIN_VALUE;
+    private String lastTimestamp;
+
+    /**
+     * a line and the time it was appended
+     */
+    private static final class QueuedLine {
+        final String line;
+        final long appendTimeMillis;
+
+        QueuedLine(String line, long appendTimeMillis) {
+            this.line = line;
+            this.appendTimeMillis = appendTimeMillis;
+        }
+    }
+
+    public AsyncLineAppender(Path path, String header, boolean withTimestamp) throws IOException {
+        this(path, header, withTimestamp, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param path          the file to append to, created (with the header as the first line) if it does not exist
+     * @param header        written only when the file is created, can be null
+     * @param withTimestamp append ",yyyy-MM-dd HH:mm:ss" to each line
+     * @param queueCapacity the maximum number of lines waiting to be written before producers block
+     */
+    public AsyncLineAppender(Path path, String header, boolean withTimestamp, int queueCapacity) throws IOException {
+        this(path, header, withTimestamp, queueCapacity, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock the time of the appended lines, in milliseconds
+     */
+    AsyncLineAppender(Path path, String header, boolean withTimestamp, int queueCapacity, LongSupplier clock)
+            throws IOException {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.withTimestamp = withTimestamp;
+        this.clock = clock;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        boolean isNewFile = !Files.exists(path);
+        this.fileOutputStream = new FileOutputStream(path.toFile(), true);
+        this.writer = new BufferedWriter(new OutputStreamWriter(fileOutputStream, StandardCharsets.UTF_8), 1 << 16);
+        if (isNewFile && header != null) {
+            writer.write(header);
+            writer.newLine();
+        }
+
+        writerThread = new Thread(this::drainLoop, "result-appender-" + path.getFileName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        shutdownHook = new Thread(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * enqueue one line with the current time, it returns as soon as the line is queued and blocks only if the queue
+     * is full
+     *
+     * @param line
+     * @throws IOException if the appender is closed or the writer thread failed, before or while waiting
+     */
+    public void append(String line) throws IOException {
+        QueuedLine queuedLine = new QueuedLine(line, clock.getAsLong());
+        try {
+            boolean isQueued;
+            do {
+                if (writeFailure != null) {
+                    throw writeFailure;
+                }
+                closeLock.readLock().lock();
+                try {
+                    if (closed) {
+                        throw new IOException("appender is already closed");
+                    }
+                    isQueued = queue.offer(queuedLine, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                } finally {
+                    closeLock.readLock().unlock();// a full queue does not hold off close longer than one poll
+                }
+            } while (!isQueued);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while queueing the result line", e);
+        }
+    }
+
+    private void drainLoop() {
+        List<QueuedLine> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        boolean endOfStream = false;
+        try {
+            while (!endOfStream) {
+                QueuedLine first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                for (QueuedLine queuedLine : batch) {
+                    if (queuedLine == END_OF_STREAM) {
+                        endOfStream = true;
+                    } else {
+                        writeLine(queuedLine);
+                    }
+                }
+                batch.clear();
+                writer.flush();// once per batch instead of once per line
+            }
+        } catch (IOException e) {
+            writeFailure = e;
+            queue.clear();// the waiting producers see the failure within a poll timeout
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLine(QueuedLine queuedLine) throws IOException {
+        writer.write(queuedLine.line);
+        if (withTimestamp) {
+            writer.write(',');
+            writer.write(getTimestamp(queuedLine.appendTimeMillis));
+        }
+        writer.newLine();
+    }
+
+    private String getTimestamp(long timeMillis) {
+        long second = Math.floorDiv(timeMillis, 1000);
+        if (second != lastTimestampSecond) {
+            lastTimestampSecond = second;
+            lastTimestamp = formatTimestamp(timeMillis);
+        }
+        return lastTimestamp;
+    }
+
+    /**
+     * @param timeMillis
+     * @return the time in the default time zone, like the timestamp column
+     */
+    static String formatTimestamp(long timeMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZoneId.systemDefault())
+                .format(TIMESTAMP_FORMATTER);
+    }
+
+    /**
+     * write all the queued lines, force them to the storage device and release the file
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;// every line queued so far is before END_OF_STREAM, the later appends fail
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            while (writerThread.isAlive() && !queue.offer(END_OF_STREAM, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                // the queue is full, wait for the writer thread to drain it or to fail
+            }
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            writer.flush();
+            fileOutputStream.getFD().sync();
+        } finally {
+            writer.close();
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                //the JVM is already shutting down
+            }
+        }
+        if (writeFailure != null) {
+            throw writeFailure;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+
+import java.util.Arrays;
+
+/**
+ * one cell of a {@link SweepSpecification}: an input row and the solver to solve it with
+ */
+public class ExperimentTask {
+    public final long index;// in the expansion order of the sweep, from zero
+    public final int[] row;// in the order of the input csv columns, see InputRowReader
+    public final SolverType solverType;
+
+    public ExperimentTask(long index, int[] row, SolverType solverType) {
+        this.index = index;
+        this.row = row;
+        this.solverType = solverType;
+    }
+
+    @Override
+    public String toString() {
+        return "ExperimentTask{" +
+                "index=" + index +
+                ", row=" + Arrays.toString(row) +
+                ", solverType=" + solverType +
+                '}';
+    }
+}
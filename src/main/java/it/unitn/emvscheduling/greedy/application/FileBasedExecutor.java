@@ -4,98 +4,232 @@ import it.unitn.emvscheduling.greedy.data.DataGenerator;
 import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
 import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
 import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
-import it.unitn.emvscheduling.greedy.solver.DispatcherSolver;
-import it.unitn.emvscheduling.greedy.solver.OptimizedDispatcherSolver;
+import it.unitn.emvscheduling.greedy.domain.SolverMetrics;
+import it.unitn.emvscheduling.greedy.domain.WallTimeStatistics;
 import it.unitn.emvscheduling.greedy.solver.Solver;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
 import it.unitn.emvscheduling.greedy.solver.Strategy;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
 
 public class FileBasedExecutor {
     private static final String inputFile = "input.csv";
     private static final String outputFile = "output.csv";
     private static final String accumulativeOutputFile = "output-accumulative.csv";
-    private static final String outputHeader = "no, groupNo, randomSeed, numberOfWorkers," +
+    static final String outputHeader = "no, groupNo, randomSeed, numberOfWorkers," +
             "maxSolverExecutionTimeInSeconds, processCount, processExecutionTimeMin(ms), processExecutionTimeMax(ms)," +
             " computerCount, conflictPercentage, timeWeight," +
             "processSortType, looseReviewRound, " +
             "solverWallTime(ms), makespan(ms), parallelTimeSum(ms), " +
-            "serialTimeHorizon(ms), solverStatus, speedupFactor, currentTimestamp";
+            "serialTimeHorizon(ms), solverStatus, speedupFactor, " +
+            SolverMetrics.CSV_HEADER + ", " + WallTimeStatistics.CSV_HEADER + ", currentTimestamp";
+    private static Path accumulativeOutputPath = Paths.get("src/main/resources/" + accumulativeOutputFile);
+    private static AsyncLineAppender accumulativeOutputAppender;
 
     public static void executeUsingFiles(boolean isNewOptimalSolution) {
-        Solver solver;
+        executeUsingFiles(inputFile, Paths.get("src/main/resources/" + outputFile),
+                isNewOptimalSolution ? SolverType.OPTIMIZED : SolverType.DISPATCHER);
+    }
 
-        // Use the updated method to read inputs from "input.csv"
-        List<List<Integer>> inputs = readInputsFromCSV(inputFile);
-        String outputFilePath = "src/main/resources/" + outputFile;
+    /**
+     * solve every row of the input file with the given solver, the rows are streamed one by one, so the memory does
+     * not depend on the number of rows
+     *
+     * @param inputFileName a path on the file system or a resource on the classpath
+     * @param outputPath    is recreated with the header and one line per input row
+     * @param solverType
+     */
+    public static void executeUsingFiles(String inputFileName, Path outputPath, SolverType solverType) {
+        executeUsingFiles(inputFileName, outputPath, solverType, 0, 1);
+    }
 
-        List<ExecutionOutput> outputs = new ArrayList<>();
+    /**
+     * like {@link #executeUsingFiles(String, Path, SolverType)}, with the wall time of each row measured as in
+     * {@link #executeRow(int[], Solver, int, int)}
+     *
+     * @param inputFileName a path on the file system or a resource on the classpath
+     * @param outputPath    is recreated with the header and one line per input row
+     * @param solverType
+     * @param warmupRounds  the unreported solves of each row
+     * @param repetitions   the timed solves of each row, at least one
+     */
+    public static void executeUsingFiles(String inputFileName, Path outputPath, SolverType solverType,
+                                         int warmupRounds, int repetitions) {
+        try (final InputRowReader inputs = InputRowReader.open(inputFileName)) {
+            executeTasks(new TaskSource() {
+                private long index = 0;
 
-        String outputLines = "";
-        System.out.println("Output:\n\n" + "---------------------------\n" + outputHeader);
-        Path outputPath = Paths.get(outputFilePath);
+                @Override
+                public ExperimentTask next() throws IOException {
+                    if (!inputs.next()) {
+                        return null;
+                    }
+                    if (inputs.columnCount != InputRowReader.COLUMN_COUNT) {
+                        throw new IOException("Expected " + InputRowReader.COLUMN_COUNT + " columns but found " +
+                                inputs.columnCount + " in the input row no. " + inputs.row[InputRowReader.NO]);
+                    }
+                    return new ExperimentTask(index++, inputs.row, solverType);
+                }
+            }, outputPath, warmupRounds, repetitions);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * solve every task of the sweep with its solver, in the order of the sweep, see
+     * {@link #executeUsingFiles(String, Path, SolverType, int, int)}
+     *
+     * @param sweep        its tasks are generated one by one, so the memory does not depend on its size
+     * @param outputPath   is recreated with the header and one line per task
+     * @param warmupRounds the unreported solves of each task
+     * @param repetitions  the timed solves of each task, at least one
+     */
+    public static void executeUsingSweep(SweepSpecification sweep, Path outputPath, int warmupRounds,
+                                         int repetitions) {
+        final Iterator<ExperimentTask> tasks = sweep.iterator();
         try {
-            // Delete the file if it exists, then create a new one
-            if (Files.exists(outputPath)) {
-                Files.delete(outputPath);
-            }
-            Files.createFile(outputPath);
-            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(outputPath))) {
-                writer.println(outputHeader);
-                for (List<Integer> input : inputs) {
-                    int i = 2;
-                    int randomSeed = input.get(i++);
-                    int numberOfWorkers = input.get(i++);
-                    int maxSolverExecutionTimeInSeconds = input.get(i++);
-                    ExecutionSettings settings = new ExecutionSettings(numberOfWorkers, maxSolverExecutionTimeInSeconds, randomSeed);
-
-                    ExecutionFacts facts = DataGenerator.getBenchmark(randomSeed, input.get(i++), input.get(i++),
-                            input.get(i++), input.get(i++), input.get(i++), input.get(i++));
-                    solver = isNewOptimalSolution ? new OptimizedDispatcherSolver() : new DispatcherSolver();
-                    Strategy.ProcessSortType processSortType = Strategy.ProcessSortType.getByValue(input.get(i++));
-                    int looseReviewRound = input.get(i++);
-                    Strategy strategy = new Strategy(processSortType, looseReviewRound);
-                    ExecutionOutput output = solver.solve(facts, settings, strategy);
-                    outputs.add(output);
-
-                    String outputLine = getOutputLine(input.get(0), // No.
-                            input.get(1),// Group id
-                            randomSeed,
-                            numberOfWorkers,
-                            maxSolverExecutionTimeInSeconds,
-                            facts.processes.size(), // processCount
-                            input.get(6), // processExecutionTimeMin
-                            input.get(7), // processExecutionTimeMax
-                            facts.computers.size(), // computerCount
-                            input.get(9), // conflictPercentage
-                            input.get(10), // timeWeight
-                            input.get(11), // processSortType
-                            //input.get(12), // looseReviewRound
-                            strategy.looseReviewRound, // in case of changed by the heuristic approach
-                            output.wallTimeInMs,
-                            output.scheduleMakespan,
-                            output.horizon,
-                            output.resultStatus); // serial time (horizon));
-                    writer.println(outputLine);
-                    writer.flush();
-                    writeInAccumulativeOutFileWithTimestamp(outputLine);
-                    System.out.println(outputLine);
+            executeTasks(new TaskSource() {
+                @Override
+                public ExperimentTask next() {
+                    return tasks.hasNext() ? tasks.next() : null;
                 }
-            }
-            System.out.println("---------------------------");
+            }, outputPath, warmupRounds, repetitions);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * the tasks to solve, one by one
+     */
+    private interface TaskSource {
+        /**
+         * @return the next task, its row can be overwritten by the next call, or null at the end
+         * @throws IOException
+         */
+        ExperimentTask next() throws IOException;
+    }
+
+    private static void executeTasks(TaskSource tasks, Path outputPath, int warmupRounds, int repetitions)
+            throws IOException {
+        //solvers are stateless between the solve calls, so one instance per solver type is enough
+        Map<SolverType, Solver> solvers = new EnumMap<>(SolverType.class);
+
+        System.out.println("Output:\n\n" + "---------------------------\n" + outputHeader);
+        if (outputPath.getParent() != null) {
+            Files.createDirectories(outputPath.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(outputPath))) {
+            writer.println(outputHeader);
+            ExperimentTask task;
+            while ((task = tasks.next()) != null) {
+                Solver solver = solvers.computeIfAbsent(task.solverType, SolverType::newSolver);
+                String outputLine = executeRow(task.row, solver, warmupRounds, repetitions);
+                writer.println(outputLine);
+                writeInAccumulativeOutFileWithTimestamp(outputLine);
+                System.out.println(outputLine);
+            }
+        }
+        closeAccumulativeOutFile();
+        System.out.println("---------------------------");
+    }
+
+    /**
+     * generate the benchmark of one input row, solve it and return its output line
+     *
+     * @param input  the values in the order of the input csv columns, see {@link InputRowReader}
+     * @param solver
+     * @return
+     */
+    public static String executeRow(int[] input, Solver solver) {
+        return executeRow(input, solver, 0, 1);
+    }
+
+    /**
+     * generate the benchmark of one input row, solve it warmupRounds times on a copy of the benchmark (so the JIT
+     * compiles the solver before it is timed), then repetitions times on the benchmark, resetting its planning
+     * between the solves, and return the output line of the last solve with the statistics of the timed ones
+     *
+     * @param input        the values in the order of the input csv columns, see {@link InputRowReader}
+     * @param solver
+     * @param warmupRounds the unreported solves, none for a single cold measurement
+     * @param repetitions  the timed solves, at least one
+     * @return
+     */
+    public static String executeRow(int[] input, Solver solver, int warmupRounds, int repetitions) {
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("at least one repetition is needed: " + repetitions);
+        }
+        int randomSeed = input[InputRowReader.RANDOM_SEED];
+        int numberOfWorkers = input[InputRowReader.NUMBER_OF_WORKERS];
+        int maxSolverExecutionTimeInSeconds = input[InputRowReader.MAX_SOLVER_EXECUTION_TIME_IN_SECONDS];
+        ExecutionSettings settings = new ExecutionSettings(numberOfWorkers, maxSolverExecutionTimeInSeconds, randomSeed);
+        settings.validateSchedule = true;
+
+        if (warmupRounds > 0) {
+            ExecutionFacts warmupFacts = getBenchmark(input);
+            for (int i = 0; i < warmupRounds; i++) {
+                warmupFacts.resetPlanning();
+                solver.solve(warmupFacts, settings, getStrategy(input));
+            }
+        }
+
+        ExecutionFacts facts = getBenchmark(input);
+        Strategy strategy = null;
+        ExecutionOutput output = null;
+        double[] wallTimesMs = new double[repetitions];
+        for (int i = 0; i < repetitions; i++) {
+            facts.resetPlanning();
+            strategy = getStrategy(input);
+            output = solver.solve(facts, settings, strategy);
+            wallTimesMs[i] = output.wallTimeInMs;
+        }
+        if (output.violations != null) {
+            System.err.println("Input row no. " + input[InputRowReader.NO] + " has an invalid schedule: " +
+                    output.violations);
+        }
+
+        return getOutputLine(input[InputRowReader.NO],
+                input[InputRowReader.GROUP_NO],
+                randomSeed,
+                numberOfWorkers,
+                maxSolverExecutionTimeInSeconds,
+                facts.processes.size(), // processCount
+                input[InputRowReader.PROCESS_EXECUTION_TIME_MIN],
+                input[InputRowReader.PROCESS_EXECUTION_TIME_MAX],
+                facts.computers.size(), // computerCount
+                input[InputRowReader.CONFLICT_PERCENTAGE],
+                input[InputRowReader.TIME_WEIGHT],
+                input[InputRowReader.PROCESS_SORT_TYPE],
+                strategy.looseReviewRound, // in case of changed by the heuristic approach
+                output.wallTimeInMs,
+                output.scheduleMakespan,
+                output.horizon, // serial time (horizon)
+                output.resultStatus,
+                output.metrics,
+                WallTimeStatistics.of(wallTimesMs));
+    }
+
+    private static ExecutionFacts getBenchmark(int[] input) {
+        return DataGenerator.getBenchmark(input[InputRowReader.RANDOM_SEED], input[InputRowReader.PROCESS_COUNT],
+                input[InputRowReader.PROCESS_EXECUTION_TIME_MIN], input[InputRowReader.PROCESS_EXECUTION_TIME_MAX],
+                input[InputRowReader.COMPUTER_COUNT], input[InputRowReader.CONFLICT_PERCENTAGE],
+                input[InputRowReader.TIME_WEIGHT]);
+    }
+
+    private static Strategy getStrategy(int[] input) {
+        return new Strategy(Strategy.ProcessSortType.getByValue(input[InputRowReader.PROCESS_SORT_TYPE]),
+                input[InputRowReader.LOOSE_REVIEW_ROUND]);
+    }
+
     public static String getOutputLine(Integer no, Integer groupId, Integer randomSeed, Integer numberOfWorkers,
                                        Integer maxSolverExecutionTimeInSeconds,
                                        Integer processCount, Integer processExecutionTimeMin,
@@ -105,6 +239,43 @@ public class FileBasedExecutor {
                                        Double solverWallTimeMs,
                                        Integer makeSpan, Long serialTimeHorizon,
                                        String solverStatus) {
+        return getOutputLine(no, groupId, randomSeed, numberOfWorkers, maxSolverExecutionTimeInSeconds, processCount,
+                processExecutionTimeMin, processExecutionTimeMax, computerCount, conflictPercentage, timeWeight,
+                processSortType, looseReviewRound, solverWallTimeMs, makeSpan, serialTimeHorizon, solverStatus, null);
+    }
+
+    /**
+     * @param metrics the per phase columns after the speedup factor, left empty if null
+     */
+    public static String getOutputLine(Integer no, Integer groupId, Integer randomSeed, Integer numberOfWorkers,
+                                       Integer maxSolverExecutionTimeInSeconds,
+                                       Integer processCount, Integer processExecutionTimeMin,
+                                       Integer processExecutionTimeMax, Integer computerCount,
+                                       Integer conflictPercentage, Integer timeWeight, Integer processSortType,
+                                       Integer looseReviewRound,
+                                       Double solverWallTimeMs,
+                                       Integer makeSpan, Long serialTimeHorizon,
+                                       String solverStatus, SolverMetrics metrics) {
+        return getOutputLine(no, groupId, randomSeed, numberOfWorkers, maxSolverExecutionTimeInSeconds, processCount,
+                processExecutionTimeMin, processExecutionTimeMax, computerCount, conflictPercentage, timeWeight,
+                processSortType, looseReviewRound, solverWallTimeMs, makeSpan, serialTimeHorizon, solverStatus, metrics,
+                null);
+    }
+
+    /**
+     * @param metrics    the per phase columns after the speedup factor, left empty if null
+     * @param statistics the wall time columns after the metrics, left empty if null
+     */
+    public static String getOutputLine(Integer no, Integer groupId, Integer randomSeed, Integer numberOfWorkers,
+                                       Integer maxSolverExecutionTimeInSeconds,
+                                       Integer processCount, Integer processExecutionTimeMin,
+                                       Integer processExecutionTimeMax, Integer computerCount,
+                                       Integer conflictPercentage, Integer timeWeight, Integer processSortType,
+                                       Integer looseReviewRound,
+                                       Double solverWallTimeMs,
+                                       Integer makeSpan, Long serialTimeHorizon,
+                                       String solverStatus, SolverMetrics metrics,
+                                       WallTimeStatistics statistics) {
         // Speedup is serial time divided by parallel time (makespan)
         Double speedUpFactor = (double) serialTimeHorizon / makeSpan;
 
@@ -115,60 +286,58 @@ public class FileBasedExecutor {
                 serialTimeHorizon,
                 solverStatus, speedUpFactor
         );
-        return line;
-    }
-
-    private static List<List<Integer>> readInputsFromCSV(String fileName) {
-        List<List<Integer>> inputs = new ArrayList<>();
-        try (InputStream inputStream = FileBasedExecutor.class.getClassLoader().getResourceAsStream(fileName);
-             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-
-            if (inputStream == null) {
-                System.out.println("File not found: " + fileName);
-                return inputs;
-            }
-
-            // Skip header
-            String line = reader.readLine();
-            while ((line = reader.readLine()) != null) {
-                List<Integer> inputList = new ArrayList<>();
-                String[] parts = line.trim().split(",");
-                for (String part : parts) {
-                    inputList.add(Integer.parseInt(part));
-                }
-                inputs.add(inputList);
-            }
-        } catch (IOException e) {
-            System.out.println("Error reading input file " + e);
+        StringBuilder lineWithMetrics = new StringBuilder(line.length() + 160).append(line).append(',');
+        if (metrics != null) {
+            metrics.appendCsv(lineWithMetrics);
+        } else {
+            lineWithMetrics.append(",".repeat(SolverMetrics.CSV_COLUMN_COUNT - 1));
         }
-        return inputs;
+        lineWithMetrics.append(',');
+        if (statistics != null) {
+            statistics.appendCsv(lineWithMetrics);
+        } else {
+            lineWithMetrics.append(",".repeat(WallTimeStatistics.CSV_COLUMN_COUNT - 1));
+        }
+        return lineWithMetrics.toString();
     }
 
+    /**
+     * queue the line to be appended (with the current timestamp) to the accumulative output file. The file is
+     * opened once and written by a background thread, see {@link AsyncLineAppender}
+     *
+     * @param outputLines
+     * @throws IOException
+     */
     public static void writeInAccumulativeOutFileWithTimestamp(String outputLines) throws IOException {
-        String accumulativeOutputFilePath = "src/main/resources/" + accumulativeOutputFile;
-        Path accumOutputPath = Paths.get(accumulativeOutputFilePath);
-        boolean accumCreated = false;
+        getAccumulativeOutputAppender().append(outputLines);
+    }
 
-        if (!Files.exists(accumOutputPath)) {
-            Files.createFile(accumOutputPath);
-            accumCreated = true;
+    /**
+     * drain and flush all the queued accumulative output lines to the disk, it is also done automatically at the JVM
+     * shutdown
+     */
+    public static synchronized void closeAccumulativeOutFile() throws IOException {
+        if (accumulativeOutputAppender != null) {
+            accumulativeOutputAppender.close();
+            accumulativeOutputAppender = null;
         }
+    }
 
-        try (BufferedWriter writer = Files.newBufferedWriter(
-                accumOutputPath,
-                StandardOpenOption.CREATE, // Creates the file if it doesn't exist
-                StandardOpenOption.APPEND  // Appends to the file if it exists
-        )) {
-            if (accumCreated) {
-                writer.write(outputHeader); // Only write the header if needed
-                writer.newLine();
-            }
-            LocalDateTime now = LocalDateTime.now();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
+    /**
+     * change the accumulative output file (default: src/main/resources/output-accumulative.csv) for the next lines
+     *
+     * @param path
+     * @throws IOException
+     */
+    public static synchronized void setAccumulativeOutFile(Path path) throws IOException {
+        closeAccumulativeOutFile();
+        accumulativeOutputPath = path;
+    }
 
-            writer.write(outputLines + "," + now.format(formatter));
-            writer.newLine();
+    private static synchronized AsyncLineAppender getAccumulativeOutputAppender() throws IOException {
+        if (accumulativeOutputAppender == null) {
+            accumulativeOutputAppender = new AsyncLineAppender(accumulativeOutputPath, outputHeader, true);
         }
+        return accumulativeOutputAppender;
     }
 }
@@ -0,0 +1,341 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import it.unitn.emvscheduling.greedy.solver.Solver;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * solves the rows of an input file like {@link FileBasedExecutor} but in worker JVMs started by
+ * {@link ProcessBuilder}, so the time of a row does not depend on the JIT and the GC state left by the rows solved
+ * before it in the same JVM, and the workers solve their rows in parallel.
+ * <p>
+ * The coordinator gives row i to worker i % workerCount (a round robin shard), writing it to the stdin of the worker
+ * as a line of the input csv, then closes the stdins. A worker solves its first row warmupRounds times without
+ * reporting it (the warm-up of its own JIT), then runs a GC before each row and writes the output line of each row to
+ * its stdout, in the order of its rows. A thread per worker drains its stdout into a queue (so a worker never waits
+ * for the coordinator), and the coordinator writes the output file in the order of the input file by taking the next
+ * line of worker i % workerCount.
+ * <p>
+ * Note: the stdout of a worker only carries the output lines, the System.out of the solvers goes to its stderr, which
+ * is inherited by the coordinator
+ * <p>
+ * Each row can also be warmed up and repeated, see {@link FileBasedExecutor#executeRow(int[], Solver, int, int)},
+ * and the rows can be the tasks of a {@link SweepSpecification} with a single solver.
+ * <p>
+ * Worker usage: ForkedExecutor &lt;solver&gt; &lt;warmupRounds&gt; [&lt;rowWarmupRounds&gt; &lt;repetitions&gt;], with
+ * the input csv (and its header) on the stdin
+ */
+public class ForkedExecutor {
+    public static final int DEFAULT_WARMUP_ROUNDS = 2;
+    /**
+     * put in the queue of a worker at the end of its stdout, it is never an output line
+     */
+    private static final String END_OF_STREAM = new String();
+
+    private ForkedExecutor() {
+    }
+
+    /**
+     * @param inputFileName a path on the file system or a resource on the classpath
+     * @param outputPath    is recreated with the header and one line per input row, in the input order
+     * @param solverType
+     * @param workerCount   the worker JVMs, at most one per row
+     * @param warmupRounds  the unreported solves of the first row of each worker
+     * @param jvmOptions    of the workers, like -Xmx2g
+     * @throws IOException if a worker fails or does not answer every row
+     */
+    public static void executeUsingWorkers(String inputFileName, Path outputPath, SolverType solverType,
+                                           int workerCount, int warmupRounds, List<String> jvmOptions)
+            throws IOException {
+        executeUsingWorkers(inputFileName, outputPath, solverType, workerCount, warmupRounds, 0, 1, jvmOptions);
+    }
+
+    /**
+     * @param inputFileName   a path on the file system or a resource on the classpath
+     * @param outputPath      is recreated with the header and one line per input row, in the input order
+     * @param solverType
+     * @param workerCount     the worker JVMs, at most one per row
+     * @param warmupRounds    the unreported solves of the first row of each worker
+     * @param rowWarmupRounds the unreported solves of each row
+     * @param repetitions     the timed solves of each row
+     * @param jvmOptions      of the workers, like -Xmx2g
+     * @throws IOException if a worker fails or does not answer every row
+     */
+    public static void executeUsingWorkers(String inputFileName, Path outputPath, SolverType solverType,
+                                           int workerCount, int warmupRounds, int rowWarmupRounds, int repetitions,
+                                           List<String> jvmOptions) throws IOException {
+        try (final InputRowReader inputs = InputRowReader.open(inputFileName)) {
+            executeUsingWorkers(new RowSource() {
+                @Override
+                public int[] next() throws IOException {
+                    if (!inputs.next()) {
+                        return null;
+                    }
+                    if (inputs.columnCount != InputRowReader.COLUMN_COUNT) {
+                        throw new IOException("Expected " + InputRowReader.COLUMN_COUNT + " columns but found " +
+                                inputs.columnCount + " in the input row no. " + inputs.row[InputRowReader.NO]);
+                    }
+                    return inputs.row;
+                }
+            }, outputPath, solverType, workerCount, warmupRounds, rowWarmupRounds, repetitions, jvmOptions);
+        }
+    }
+
+    /**
+     * like {@link #executeUsingWorkers(String, Path, SolverType, int, int, int, int, List)} for the tasks of a sweep
+     *
+     * @param sweep           its tasks are generated one by one as they are sent, they must have a single solver
+     *                        (the one of the workers)
+     * @param outputPath      is recreated with the header and one line per task, in the order of the sweep
+     * @param workerCount     the worker JVMs, at most one per task
+     * @param warmupRounds    the unreported solves of the first task of each worker
+     * @param rowWarmupRounds the unreported solves of each task
+     * @param repetitions     the timed solves of each task
+     * @param jvmOptions      of the workers, like -Xmx2g
+     * @throws IOException if a worker fails or does not answer every task
+     */
+    public static void executeUsingWorkers(SweepSpecification sweep, Path outputPath, int workerCount,
+                                           int warmupRounds, int rowWarmupRounds, int repetitions,
+                                           List<String> jvmOptions) throws IOException {
+        List<SolverType> solverTypes = sweep.getSolverTypes();
+        if (solverTypes.size() != 1) {
+            throw new IllegalArgumentException("the workers run one solver, the sweep has " + solverTypes);
+        }
+        final Iterator<ExperimentTask> tasks = sweep.iterator();
+        executeUsingWorkers(new RowSource() {
+            @Override
+            public int[] next() {
+                return tasks.hasNext() ? tasks.next().row : null;
+            }
+        }, outputPath, solverTypes.get(0), workerCount, warmupRounds, rowWarmupRounds, repetitions, jvmOptions);
+    }
+
+    /**
+     * the rows sent to the workers, one by one
+     */
+    private interface RowSource {
+        /**
+         * @return the next row in the order of the input csv columns, which can be overwritten by the next call, or
+         * null at the end
+         * @throws IOException
+         */
+        int[] next() throws IOException;
+    }
+
+    private static void executeUsingWorkers(RowSource rows, Path outputPath, SolverType solverType, int workerCount,
+                                            int warmupRounds, int rowWarmupRounds, int repetitions,
+                                            List<String> jvmOptions) throws IOException {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("at least one worker is needed: " + workerCount);
+        }
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("at least one repetition is needed: " + repetitions);
+        }
+        long startTime = System.nanoTime();
+        List<Worker> workers = new ArrayList<>(workerCount);
+        int rowCount = 0;
+        try {
+            int[] input;
+            while ((input = rows.next()) != null) {
+                if (workers.size() < workerCount) {// started on demand, no idle worker for a short input
+                    workers.add(new Worker(workers.size(), solverType, warmupRounds, rowWarmupRounds, repetitions,
+                            jvmOptions));
+                }
+                workers.get(rowCount % workerCount).send(input);
+                rowCount++;
+            }
+            for (Worker worker : workers) {
+                worker.closeInput();
+            }
+
+            if (outputPath.getParent() != null) {
+                Files.createDirectories(outputPath.getParent());
+            }
+            System.out.println("Output:\n\n" + "---------------------------\n" + FileBasedExecutor.outputHeader);
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(outputPath))) {
+                writer.println(FileBasedExecutor.outputHeader);
+                for (int row = 0; row < rowCount; row++) {
+                    String outputLine = workers.get(row % workerCount).takeLine();
+                    writer.println(outputLine);
+                    FileBasedExecutor.writeInAccumulativeOutFileWithTimestamp(outputLine);
+                    System.out.println(outputLine);
+                }
+            }
+            FileBasedExecutor.closeAccumulativeOutFile();
+            for (Worker worker : workers) {
+                worker.waitFor();
+            }
+            System.out.println("---------------------------");
+            System.out.printf("%d rows solved by %d worker JVMs in %.3f s%n", rowCount, workers.size(),
+                    (System.nanoTime() - startTime) / 1e9);
+        } finally {
+            for (Worker worker : workers) {
+                worker.destroy();
+            }
+        }
+    }
+
+    /**
+     * a worker JVM, its stdin and the queue of its output lines
+     */
+    private static class Worker {
+        final int index;
+        final Process process;
+        final Writer input;
+        final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        final Thread drainer;
+
+        Worker(int index, SolverType solverType, int warmupRounds, int rowWarmupRounds, int repetitions,
+               List<String> jvmOptions) throws IOException {
+            this.index = index;
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmOptions);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(ForkedExecutor.class.getName());
+            command.add(solverType.name());
+            command.add(Integer.toString(warmupRounds));
+            command.add(Integer.toString(rowWarmupRounds));
+            command.add(Integer.toString(repetitions));
+            process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            input = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            input.write("header\n");// skipped by the InputRowReader of the worker
+            drainer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                            StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            lines.add(line);
+                        }
+                    } catch (IOException e) {
+                        System.err.println("Could not read worker " + Worker.this.index + ": " + e.getMessage());
+                    } finally {
+                        lines.add(END_OF_STREAM);
+                    }
+                }
+            }, "forked-executor-drainer-" + index);
+            drainer.setDaemon(true);
+            drainer.start();
+        }
+
+        void send(int[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    input.write(',');
+                }
+                input.write(Integer.toString(row[i]));
+            }
+            input.write('\n');
+        }
+
+        void closeInput() throws IOException {
+            input.close();
+        }
+
+        String takeLine() throws IOException {
+            String line;
+            try {
+                line = lines.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while waiting for worker " + index, e);
+            }
+            if (line == END_OF_STREAM) {
+                lines.add(END_OF_STREAM);// for the next take
+                throw new IOException("worker " + index + " ended before answering all its rows, exit code " +
+                        waitFor());
+            }
+            return line;
+        }
+
+        int waitFor() throws IOException {
+            try {
+                int exitCode = process.waitFor();
+                if (exitCode != 0) {
+                    throw new IOException("worker " + index + " failed with exit code " + exitCode);
+                }
+                return exitCode;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while waiting for worker " + index, e);
+            }
+        }
+
+        void destroy() {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * solve the rows of the input, after warming up on the first one, and write their output lines to the output
+     *
+     * @param in           the input csv, with its header
+     * @param out          gets exactly one line per input row
+     * @param solverType
+     * @param warmupRounds
+     * @throws IOException
+     */
+    static void runWorker(InputStream in, PrintStream out, SolverType solverType, int warmupRounds)
+            throws IOException {
+        runWorker(in, out, solverType, warmupRounds, 0, 1);
+    }
+
+    /**
+     * like {@link #runWorker(InputStream, PrintStream, SolverType, int)}, with the rows measured as in
+     * {@link FileBasedExecutor#executeRow(int[], Solver, int, int)}
+     */
+    static void runWorker(InputStream in, PrintStream out, SolverType solverType, int warmupRounds,
+                          int rowWarmupRounds, int repetitions) throws IOException {
+        Solver solver = solverType.newSolver();
+        boolean isWarm = false;
+        try (InputRowReader inputs = new InputRowReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            while (inputs.next()) {
+                if (!isWarm) {
+                    for (int i = 0; i < warmupRounds; i++) {
+                        FileBasedExecutor.executeRow(inputs.row, solver);
+                    }
+                    isWarm = true;
+                }
+                System.gc();// the garbage of the previous row is not collected during this one
+                out.println(FileBasedExecutor.executeRow(inputs.row, solver, rowWarmupRounds, repetitions));
+                out.flush();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 && args.length != 4) {
+            System.err.println("Usage: ForkedExecutor <solver> <warmupRounds> [<rowWarmupRounds> <repetitions>], " +
+                    "with the input csv on the stdin");
+            System.exit(1);
+        }
+        PrintStream out = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        System.setOut(System.err);// only the output lines go to the coordinator
+        runWorker(System.in, out, SolverType.getByName(args[0]), Integer.parseInt(args[1]),
+                args.length == 4 ? Integer.parseInt(args[2]) : 0, args.length == 4 ? Integer.parseInt(args[3]) : 1);
+        out.flush();
+    }
+}
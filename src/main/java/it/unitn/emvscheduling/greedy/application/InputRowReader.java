@@ -0,0 +1,158 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * streams the rows of an input csv file one by one, so the input size does not affect the memory
+ * <p>
+ * Note: the values are parsed directly from the characters into one reused int array, no String, split or Integer
+ * is created per row, the array is overwritten by the next call of {@link #next()}
+ * Note: the first line is the header and is skipped, empty lines are ignored
+ */
+public class InputRowReader implements Closeable {
+    //column indexes of the input csv files
+    public static final int NO = 0;
+    public static final int GROUP_NO = 1;
+    public static final int RANDOM_SEED = 2;
+    public static final int NUMBER_OF_WORKERS = 3;
+    public static final int MAX_SOLVER_EXECUTION_TIME_IN_SECONDS = 4;
+    public static final int PROCESS_COUNT = 5;
+    public static final int PROCESS_EXECUTION_TIME_MIN = 6;
+    public static final int PROCESS_EXECUTION_TIME_MAX = 7;
+    public static final int COMPUTER_COUNT = 8;
+    public static final int CONFLICT_PERCENTAGE = 9;
+    public static final int TIME_WEIGHT = 10;
+    public static final int PROCESS_SORT_TYPE = 11;
+    public static final int LOOSE_REVIEW_ROUND = 12;
+    public static final int COLUMN_COUNT = 13;
+
+    private final Reader reader;
+    public final int[] row = new int[COLUMN_COUNT];
+    public int columnCount;
+    private long lineNumber = 0;
+    private boolean headerSkipped = false;
+
+    public InputRowReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader, 1 << 16);
+    }
+
+    /**
+     * @param fileName a path on the file system or, if there is no such file, a resource on the classpath
+     * @return
+     * @throws IOException if neither a file nor a resource exists with this name
+     */
+    public static InputRowReader open(String fileName) throws IOException {
+        Path path = Paths.get(fileName);
+        if (Files.isRegularFile(path)) {
+            return new InputRowReader(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+        }
+        InputStream inputStream = InputRowReader.class.getClassLoader().getResourceAsStream(fileName);
+        if (inputStream == null) {
+            throw new IOException("File not found: " + fileName);
+        }
+        return new InputRowReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * parse the next non-empty row into {@link #row}
+     * <p>
+     * A value is an optional '-' and digits, with spaces or tabs around it, '\r' is ignored (CRLF line ends)
+     *
+     * @return false at the end of the input
+     * @throws IOException if a value is missing, is not an int or there are too many columns, with the line number
+     */
+    public boolean next() throws IOException {
+        if (!headerSkipped) {
+            skipLine();
+            headerSkipped = true;
+        }
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                return false;
+            }
+            lineNumber++;
+            columnCount = 0;
+            long value = 0;// up to -Integer.MIN_VALUE
+            boolean negative = false;
+            boolean hasDigit = false;
+            boolean hasValueEnded = false;// a space after the value
+            boolean hasAnyCharacter = false;
+            while (c != -1 && c != '\n') {
+                if (c >= '0' && c <= '9') {
+                    if (hasValueEnded) {
+                        throw invalidValue("a space inside the value");
+                    }
+                    value = value * 10 + (c - '0');
+                    if (value > -(long) Integer.MIN_VALUE) {
+                        throw invalidValue("a value out of the int range");
+                    }
+                    hasDigit = true;
+                    hasAnyCharacter = true;
+                } else if (c == '-') {
+                    if (hasDigit || negative) {
+                        throw invalidValue("'-' which is not the first character of the value");
+                    }
+                    negative = true;
+                    hasAnyCharacter = true;
+                } else if (c == ',') {
+                    storeValue(value, negative, hasDigit);
+                    value = 0;
+                    negative = false;
+                    hasDigit = false;
+                    hasValueEnded = false;
+                    hasAnyCharacter = true;
+                } else if (c == ' ' || c == '\t') {
+                    hasValueEnded = hasDigit || negative;
+                } else if (c != '\r') {
+                    throw invalidValue("the unexpected character '" + (char) c + "'");
+                }
+                c = reader.read();
+            }
+            if (hasAnyCharacter) {
+                storeValue(value, negative, hasDigit);
+                return true;
+            }
+            // empty line, go for the next one
+        }
+    }
+
+    private IOException invalidValue(String reason) {
+        return new IOException("Invalid value in column " + columnCount + " of input line " + (lineNumber + 1) +
+                ": " + reason);
+    }
+
+    private void storeValue(long value, boolean negative, boolean hasDigit) throws IOException {
+        if (!hasDigit) {
+            throw new IOException("Missing value in column " + columnCount + " of input line " + (lineNumber + 1));
+        }
+        if (!negative && value > Integer.MAX_VALUE) {
+            throw invalidValue("a value out of the int range");
+        }
+        if (columnCount == COLUMN_COUNT) {
+            throw new IOException("More than " + COLUMN_COUNT + " columns in input line " + (lineNumber + 1));
+        }
+        row[columnCount++] = (int) (negative ? -value : value);
+    }
+
+    private void skipLine() throws IOException {
+        int c = reader.read();
+        while (c != -1 && c != '\n') {
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,50 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import java.util.Arrays;
+
+/**
+ * keeps the latencies of the last {@code capacity} requests in a ring buffer of primitives and computes their
+ * percentiles on demand, so recording is one synchronized array write and does not allocate
+ */
+public class LatencyRecorder {
+    private final long[] latenciesInNanos;
+    private long recordedCount = 0;
+
+    public LatencyRecorder(int capacity) {
+        latenciesInNanos = new long[capacity];
+    }
+
+    public synchronized void record(long latencyInNanos) {
+        latenciesInNanos[(int) (recordedCount % latenciesInNanos.length)] = latencyInNanos;
+        recordedCount++;
+    }
+
+    /**
+     * @return "count=.. p50=.. p90=.. p99=.. p999=.. max=.." with the latencies in microseconds, computed over the
+     * window of the last recorded requests
+     */
+    public String getSummary() {
+        long[] window;
+        long count;
+        synchronized (this) {
+            count = recordedCount;
+            window = Arrays.copyOf(latenciesInNanos, (int) Math.min(count, latenciesInNanos.length));
+        }
+        Arrays.sort(window);
+        return String.format("count=%d window=%d p50_us=%.1f p90_us=%.1f p99_us=%.1f p999_us=%.1f max_us=%.1f",
+                count, window.length, percentileInMicros(window, 50), percentileInMicros(window, 90),
+                percentileInMicros(window, 99), percentileInMicros(window, 99.9),
+                window.length == 0 ? 0.0 : window[window.length - 1] / 1000.0);
+    }
+
+    /**
+     * nearest-rank percentile of a sorted array
+     */
+    private static double percentileInMicros(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1000.0;
+    }
+}
@@ -1,6 +1,13 @@
 package it.unitn.emvscheduling.greedy.application;
 
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class Main {
 
@@ -11,15 +18,21 @@ public class Main {
             executeUsingFiles(args, false);
         else if (args[0].equals("files-op"))
             executeUsingFiles(args, true);
+        else if (args[0].equals("run"))
+            executeUsingOptions(args);
+        else if (args[0].equals("fork"))
+            executeUsingWorkers(args);
+        else if (args[0].equals("serve"))
+            SchedulerService.main(Arrays.copyOfRange(args, 1, args.length));
         else
-            System.out.println("Two options of 'args' or 'file' are supported");
+            System.out.println("The options of 'args', 'files', 'files-op', 'run', 'fork' or 'serve' are supported");
     }
 
     private static void executeUsingArgs(String[] args) throws IOException {
-        if (args.length != 10) {
+        if (args.length != 10 && args.length != 12) {
             System.out.println("Usage: args <randomSeed> <numberOfWorkers> <maxSolverExecutionTimeInSeconds> <processCount> " +
                     "<processExecutionTimeMin> <processExecutionTimeMax> <computerCount> <conflictPercentage> " +
-                    "<timeWeight>");
+                    "<timeWeight> [<warmupRounds> <repetitions>]");
             System.exit(1);
         }
         Integer i = 1;
@@ -32,8 +45,11 @@ public class Main {
         int computerCount = Integer.parseInt(args[i++]);
         int conflictPercentage = Integer.parseInt(args[i++]);
         int timeWeight = Integer.parseInt(args[i++]);
+        int warmupRounds = args.length == 12 ? Integer.parseInt(args[i++]) : 0;
+        int repetitions = args.length == 12 ? Integer.parseInt(args[i++]) : 1;
         ArgsBasedExecutor.executeUsingArgs(randomSeed, numberOfWorkers, maxSolverExecutionTimeInSeconds
-                , processCount, processExecutionTimeMin, processExecutionTimeMax, computerCount, conflictPercentage, timeWeight);
+                , processCount, processExecutionTimeMin, processExecutionTimeMax, computerCount, conflictPercentage,
+                timeWeight, warmupRounds, repetitions);
     }
 
     private static void executeUsingFiles(String[] args, boolean isNewOptimalSolution) {
@@ -44,4 +60,149 @@ public class Main {
         }
         FileBasedExecutor.executeUsingFiles(isNewOptimalSolution);
     }
+
+    /**
+     * run [--input path | --sweep path] [--output path] [--accumulative path] [--solver dispatcher|optimized|scalable]
+     * [--row-warmup n] [--repetitions n]
+     * <p>
+     * the input is a path on the file system or a resource name on the classpath (default: input.csv), or a sweep
+     * specification expanded into the rows, see {@link SweepSpecification} (the solver is the default of its solver
+     * line), each row is
+     * solved n times after the warm-up (default: once, without warm-up), see
+     * {@link FileBasedExecutor#executeRow(int[], it.unitn.emvscheduling.greedy.solver.Solver, int, int)}
+     */
+    private static void executeUsingOptions(String[] args) throws IOException {
+        String inputFileName = "input.csv";
+        String sweepFileName = null;
+        Path outputPath = Paths.get("src/main/resources/output.csv");
+        Path accumulativeOutputPath = null;
+        SolverType solverType = SolverType.DISPATCHER;
+        int rowWarmupRounds = 0;
+        int repetitions = 1;
+        for (int i = 1; i < args.length; i++) {
+            if (i + 1 == args.length) {
+                printRunUsage("Missing value for " + args[i]);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--input":
+                    inputFileName = value;
+                    break;
+                case "--sweep":
+                    sweepFileName = value;
+                    break;
+                case "--output":
+                    outputPath = Paths.get(value);
+                    break;
+                case "--accumulative":
+                    accumulativeOutputPath = Paths.get(value);
+                    break;
+                case "--solver":
+                    solverType = SolverType.getByName(value);
+                    break;
+                case "--row-warmup":
+                    rowWarmupRounds = Integer.parseInt(value);
+                    break;
+                case "--repetitions":
+                    repetitions = Integer.parseInt(value);
+                    break;
+                default:
+                    printRunUsage("Unknown option " + args[i - 1]);
+            }
+        }
+        if (accumulativeOutputPath != null) {
+            FileBasedExecutor.setAccumulativeOutFile(accumulativeOutputPath);
+        }
+        if (sweepFileName != null) {
+            FileBasedExecutor.executeUsingSweep(SweepSpecification.open(sweepFileName, solverType), outputPath,
+                    rowWarmupRounds, repetitions);
+        } else {
+            FileBasedExecutor.executeUsingFiles(inputFileName, outputPath, solverType, rowWarmupRounds, repetitions);
+        }
+    }
+
+    /**
+     * fork [--input path | --sweep path] [--output path] [--accumulative path] [--solver dispatcher|optimized|scalable]
+     * [--workers n] [--warmup n] [--row-warmup n] [--repetitions n] [--jvm-option option]...
+     * <p>
+     * like run, but the rows are solved by n worker JVMs (default: the available processors), see
+     * {@link ForkedExecutor}
+     */
+    private static void executeUsingWorkers(String[] args) throws IOException {
+        String inputFileName = "input.csv";
+        String sweepFileName = null;
+        Path outputPath = Paths.get("src/main/resources/output.csv");
+        Path accumulativeOutputPath = null;
+        SolverType solverType = SolverType.DISPATCHER;
+        int workerCount = Runtime.getRuntime().availableProcessors();
+        int warmupRounds = ForkedExecutor.DEFAULT_WARMUP_ROUNDS;
+        int rowWarmupRounds = 0;
+        int repetitions = 1;
+        List<String> jvmOptions = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (i + 1 == args.length) {
+                printForkUsage("Missing value for " + args[i]);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--input":
+                    inputFileName = value;
+                    break;
+                case "--sweep":
+                    sweepFileName = value;
+                    break;
+                case "--output":
+                    outputPath = Paths.get(value);
+                    break;
+                case "--accumulative":
+                    accumulativeOutputPath = Paths.get(value);
+                    break;
+                case "--solver":
+                    solverType = SolverType.getByName(value);
+                    break;
+                case "--row-warmup":
+                    rowWarmupRounds = Integer.parseInt(value);
+                    break;
+                case "--repetitions":
+                    repetitions = Integer.parseInt(value);
+                    break;
+                case "--workers":
+                    workerCount = Integer.parseInt(value);
+                    break;
+                case "--warmup":
+                    warmupRounds = Integer.parseInt(value);
+                    break;
+                case "--jvm-option":
+                    jvmOptions.add(value);
+                    break;
+                default:
+                    printForkUsage("Unknown option " + args[i - 1]);
+            }
+        }
+        if (accumulativeOutputPath != null) {
+            FileBasedExecutor.setAccumulativeOutFile(accumulativeOutputPath);
+        }
+        if (sweepFileName != null) {
+            ForkedExecutor.executeUsingWorkers(SweepSpecification.open(sweepFileName, solverType), outputPath,
+                    workerCount, warmupRounds, rowWarmupRounds, repetitions, jvmOptions);
+        } else {
+            ForkedExecutor.executeUsingWorkers(inputFileName, outputPath, solverType, workerCount, warmupRounds,
+                    rowWarmupRounds, repetitions, jvmOptions);
+        }
+    }
+
+    private static void printForkUsage(String error) {
+        System.out.println(error);
+        System.out.println("Usage: fork [--input <path> | --sweep <path>] [--output <path>] [--accumulative <path>] " +
+                "[--solver dispatcher|optimized|scalable] [--workers <n>] [--warmup <n>] [--row-warmup <n>] " +
+                "[--repetitions <n>] [--jvm-option <option>]...");
+        System.exit(1);
+    }
+
+    private static void printRunUsage(String error) {
+        System.out.println(error);
+        System.out.println("Usage: run [--input <path> | --sweep <path>] [--output <path>] [--accumulative <path>] " +
+                "[--solver dispatcher|optimized|scalable] [--row-warmup <n>] [--repetitions <n>]");
+        System.exit(1);
+    }
 }
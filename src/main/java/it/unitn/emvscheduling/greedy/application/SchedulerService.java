@@ -0,0 +1,201 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import it.unitn.emvscheduling.greedy.data.CompactInstanceFormat;
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.solver.Solver;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * a resident scheduler on the JDK built-in http server, to pay the class loading and JIT warm-up once instead of
+ * once per block.
+ * <ul>
+ * <li>POST /solve[?solver=dispatcher|optimized|scalable]: the body is an instance in the
+ * {@link CompactInstanceFormat} and the response is its schedule in the same format</li>
+ * <li>GET /stats: the latency percentiles of the solve requests, measured from reading the request to writing the
+ * response, per solver</li>
+ * </ul>
+ * Note: the solvers do not keep state between the solve calls, so the warmed-up instances are shared by all the
+ * worker threads
+ */
+public class SchedulerService {
+    private static final int WARM_UP_ITERATIONS = 500;
+    private static final int LATENCY_WINDOW = 100_000;
+    private static final int MAX_REQUEST_BYTES = 64 * 1024 * 1024;
+
+    private final Solver[] solvers = new Solver[SolverType.values().length];
+    private final LatencyRecorder[] latencyRecorders = new LatencyRecorder[SolverType.values().length];
+    private final ExecutionSettings settings;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public SchedulerService(int numberOfWorkers) {
+        settings = new ExecutionSettings(numberOfWorkers, -1, -1);
+        settings.validateSchedule = true;// never answer with a schedule that breaks a conflict
+        for (SolverType type : SolverType.values()) {
+            solvers[type.ordinal()] = type.newSolver();
+            latencyRecorders[type.ordinal()] = new LatencyRecorder(LATENCY_WINDOW);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int numberOfWorkers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        new SchedulerService(numberOfWorkers).start(port);
+    }
+
+    /**
+     * warm up all the solvers and then start listening
+     *
+     * @param port
+     * @throws IOException
+     */
+    public void start(int port) throws IOException {
+        long warmUpStart = System.nanoTime();
+        warmUp();
+        System.out.printf("Solvers are warmed up in %.1f ms%n", (System.nanoTime() - warmUpStart) / 1_000_000.0);
+
+        executor = Executors.newFixedThreadPool(settings.numberOfWorkers);
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/solve", this::handleSolve);
+        server.createContext("/stats", this::handleStats);
+        server.setExecutor(executor);
+        server.start();
+        System.out.println("Scheduler service is listening on port " + server.getAddress().getPort() + " with " +
+                settings.numberOfWorkers + " workers");
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdown();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * run the solve paths of all the solvers enough times to get them compiled by the JIT before the first request,
+     * both modes and both assignment types are covered
+     */
+    private void warmUp() {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            for (Solver solver : solvers) {
+                ExecutionFacts facts = DataGenerator.getBenchmark(i, 100, 5, 10, 8, 15, 100);
+                facts.isProposerMode = i % 2 == 0;
+                Strategy strategy = new Strategy(Strategy.ProcessSortType.MCDF, i % 4 == 3 ? 0 : 9);
+                solver.solve(facts, settings, strategy);
+            }
+        }
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        long startTime = System.nanoTime();
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendResponse(exchange, 405, "only POST is supported\n");
+                return;
+            }
+            SolverType solverType;
+            byte[] body;
+            try {
+                solverType = getSolverType(exchange.getRequestURI().getQuery());
+                body = readBody(exchange);
+            } catch (IllegalArgumentException e) {
+                sendResponse(exchange, 400, e.getMessage() + "\n");
+                return;
+            }
+
+            ExecutionFacts facts = new ExecutionFacts();
+            CompactInstanceFormat instance;
+            try {
+                instance = CompactInstanceFormat.parse(body, body.length, facts);
+            } catch (IllegalArgumentException e) {
+                sendResponse(exchange, 400, "invalid instance: " + e.getMessage() + "\n");
+                return;
+            }
+            Strategy strategy;
+            try {
+                strategy = new Strategy(Strategy.ProcessSortType.getByValue(
+                        instance.header[CompactInstanceFormat.PROCESS_SORT_TYPE]),
+                        instance.header[CompactInstanceFormat.LOOSE_REVIEW_ROUND]);
+            } catch (IllegalArgumentException e) {
+                sendResponse(exchange, 400, e.getMessage() + "\n");
+                return;
+            }
+
+            ExecutionOutput output;
+            try {
+                output = solvers[solverType.ordinal()].solve(facts, settings, strategy);
+            } catch (RuntimeException e) {
+                sendResponse(exchange, 500, "the " + solverType.name().toLowerCase() + " solver failed: " + e + "\n");
+                return;
+            }
+            if (output.violations != null) {
+                sendResponse(exchange, 500, "the " + solverType.name().toLowerCase() + " solver produced an " +
+                        "invalid schedule: " + output.violations + "\n");
+                return;
+            }
+            StringBuilder sb = new StringBuilder(16 + facts.processes.size() * 16);
+            CompactInstanceFormat.writeSchedule(output, sb);
+            sendResponse(exchange, 200, sb.toString());
+            latencyRecorders[solverType.ordinal()].record(System.nanoTime() - startTime);
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            StringBuilder sb = new StringBuilder();
+            for (SolverType type : SolverType.values()) {
+                sb.append(type.name().toLowerCase()).append(": ")
+                        .append(latencyRecorders[type.ordinal()].getSummary()).append('\n');
+            }
+            sendResponse(exchange, 200, sb.toString());
+        }
+    }
+
+    private static SolverType getSolverType(String query) {
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("solver=")) {
+                    return SolverType.getByName(parameter.substring("solver=".length()));
+                }
+            }
+        }
+        return SolverType.DISPATCHER;
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream is = exchange.getRequestBody()) {
+            byte[] body = is.readNBytes(MAX_REQUEST_BYTES + 1);
+            if (body.length > MAX_REQUEST_BYTES) {
+                throw new IllegalArgumentException("the instance is larger than " + MAX_REQUEST_BYTES + " bytes");
+            }
+            return body;
+        }
+    }
+
+    private static void sendResponse(HttpExchange exchange, int status, String response) throws IOException {
+        byte[] bytes = response.getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=us-ascii");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
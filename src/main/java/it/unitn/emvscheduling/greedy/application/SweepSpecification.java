@@ -0,0 +1,333 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * a parameter sweep: the cartesian product of a list of values per input column, expanded lazily into
+ * {@link ExperimentTask}s, so the size of a sweep does not affect the memory (only the values of each column are
+ * kept, a task is computed from its index).
+ * <p>
+ * A specification has a line per column, "column = values", the values are separated by commas and each one is a
+ * number, a range "from..to" or a range with a step "from..to:step" (both ends included). The processSortType and the
+ * solver can also be given by name (MCDF, optimized), a range of names is the range of their values
+ * (dispatcher..scalable). Empty lines and the text after a '#' are ignored. For example, the 720 rows of
+ * input-main.csv are:
+ * <pre>
+ * looseReviewRound = 9..29:10
+ * processSortType = 1..5
+ * processCount = 50..200:50
+ * conflictPercentage = 15..45:10
+ * randomSeed = 1..3
+ * computerCount = 10
+ * </pre>
+ * The first line is the outermost loop and the last one the innermost. The columns randomSeed, processCount,
+ * computerCount and conflictPercentage are required, the others have the values of the input files (numberOfWorkers
+ * -1, maxSolverExecutionTimeInSeconds -1, processExecutionTimeMin 5, processExecutionTimeMax 10, timeWeight 100,
+ * processSortType 3, looseReviewRound 29) and the solver is the default one.
+ * <p>
+ * The no. of a task is its index plus one, its groupNo counts the combinations of the columns other than the
+ * randomSeed (the seeds of a configuration are in one group), from one.
+ * <p>
+ * Note: {@link #stream()} splits by index ranges, so a parallel stream gives every thread a contiguous part of the
+ * sweep without a shared iterator
+ */
+public class SweepSpecification implements Iterable<ExperimentTask> {
+    private static final int SOLVER = InputRowReader.COLUMN_COUNT;// the dimension after the input columns
+    private static final int DIMENSION_COUNT = InputRowReader.COLUMN_COUNT + 1;
+    private static final String[] DIMENSION_NAMES = new String[DIMENSION_COUNT];
+    private static final int[] DEFAULT_VALUES = new int[DIMENSION_COUNT];
+
+    static {
+        DIMENSION_NAMES[InputRowReader.RANDOM_SEED] = "randomSeed";
+        DIMENSION_NAMES[InputRowReader.NUMBER_OF_WORKERS] = "numberOfWorkers";
+        DIMENSION_NAMES[InputRowReader.MAX_SOLVER_EXECUTION_TIME_IN_SECONDS] = "maxSolverExecutionTimeInSeconds";
+        DIMENSION_NAMES[InputRowReader.PROCESS_COUNT] = "processCount";
+        DIMENSION_NAMES[InputRowReader.PROCESS_EXECUTION_TIME_MIN] = "processExecutionTimeMin";
+        DIMENSION_NAMES[InputRowReader.PROCESS_EXECUTION_TIME_MAX] = "processExecutionTimeMax";
+        DIMENSION_NAMES[InputRowReader.COMPUTER_COUNT] = "computerCount";
+        DIMENSION_NAMES[InputRowReader.CONFLICT_PERCENTAGE] = "conflictPercentage";
+        DIMENSION_NAMES[InputRowReader.TIME_WEIGHT] = "timeWeight";
+        DIMENSION_NAMES[InputRowReader.PROCESS_SORT_TYPE] = "processSortType";
+        DIMENSION_NAMES[InputRowReader.LOOSE_REVIEW_ROUND] = "looseReviewRound";
+        DIMENSION_NAMES[SOLVER] = "solver";
+
+        Arrays.fill(DEFAULT_VALUES, Integer.MIN_VALUE);// required
+        DEFAULT_VALUES[InputRowReader.NUMBER_OF_WORKERS] = -1;
+        DEFAULT_VALUES[InputRowReader.MAX_SOLVER_EXECUTION_TIME_IN_SECONDS] = -1;
+        DEFAULT_VALUES[InputRowReader.PROCESS_EXECUTION_TIME_MIN] = 5;
+        DEFAULT_VALUES[InputRowReader.PROCESS_EXECUTION_TIME_MAX] = 10;
+        DEFAULT_VALUES[InputRowReader.TIME_WEIGHT] = 100;
+        DEFAULT_VALUES[InputRowReader.PROCESS_SORT_TYPE] = Strategy.ProcessSortType.MCDF.getValue();
+        DEFAULT_VALUES[InputRowReader.LOOSE_REVIEW_ROUND] = 29;
+    }
+
+    private final int[][] values = new int[DIMENSION_COUNT][];
+    private final long[] strides = new long[DIMENSION_COUNT];// the tasks between two values of a dimension
+    private final long[] groupStrides = new long[DIMENSION_COUNT];// the same, without the randomSeed dimension
+    private final int size;
+
+    /**
+     * @param dimensionOrder the dimensions of the specification, the outermost first
+     * @param values         of each dimension, the defaults are added after the given ones
+     */
+    private SweepSpecification(List<Integer> dimensionOrder, int[][] values) {
+        List<Integer> order = new ArrayList<>(dimensionOrder);
+        for (int dimension = InputRowReader.RANDOM_SEED; dimension < DIMENSION_COUNT; dimension++) {
+            if (!order.contains(dimension)) {
+                order.add(dimension);
+            }
+        }
+        long stride = 1;
+        long groupStride = 1;
+        for (int i = order.size() - 1; i >= 0; i--) {
+            int dimension = order.get(i);
+            this.values[dimension] = values[dimension];
+            strides[dimension] = stride;
+            stride *= values[dimension].length;
+            if (stride > Integer.MAX_VALUE) {// the no. column is an int
+                throw new IllegalArgumentException("a sweep can have at most " + Integer.MAX_VALUE + " tasks");
+            }
+            if (dimension != InputRowReader.RANDOM_SEED) {
+                groupStrides[dimension] = groupStride;
+                groupStride *= values[dimension].length;
+            }
+        }
+        size = (int) stride;
+    }
+
+    /**
+     * @param fileName          a path on the file system or, if there is no such file, a resource on the classpath
+     * @param defaultSolverType the solver of the tasks if the specification has no solver line
+     * @return
+     * @throws IOException if neither a file nor a resource exists with this name, or it is not a valid specification
+     */
+    public static SweepSpecification open(String fileName, SolverType defaultSolverType) throws IOException {
+        Path path = Paths.get(fileName);
+        if (Files.isRegularFile(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                return parse(reader, defaultSolverType);
+            }
+        }
+        InputStream inputStream = SweepSpecification.class.getClassLoader().getResourceAsStream(fileName);
+        if (inputStream == null) {
+            throw new IOException("File not found: " + fileName);
+        }
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            return parse(reader, defaultSolverType);
+        }
+    }
+
+    /**
+     * @param reader            the specification, see the class comment
+     * @param defaultSolverType the solver of the tasks if the specification has no solver line
+     * @return
+     * @throws IOException if it is not a valid specification
+     */
+    public static SweepSpecification parse(Reader reader, SolverType defaultSolverType) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<Integer> order = new ArrayList<>();
+        int[][] values = new int[DIMENSION_COUNT][];
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            int commentStart = line.indexOf('#');
+            if (commentStart >= 0) {
+                line = line.substring(0, commentStart);
+            }
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            if (separator < 0) {
+                throw new IOException("Expected 'column = values' in sweep line " + lineNumber);
+            }
+            int dimension = getDimension(line.substring(0, separator).trim());
+            if (dimension < 0) {
+                throw new IOException("Unknown column '" + line.substring(0, separator).trim() + "' in sweep line " +
+                        lineNumber + ", supported: " + String.join(", ",
+                        Arrays.copyOfRange(DIMENSION_NAMES, InputRowReader.RANDOM_SEED, DIMENSION_COUNT)));
+            }
+            if (values[dimension] != null) {
+                throw new IOException("The column " + DIMENSION_NAMES[dimension] + " is repeated in sweep line " +
+                        lineNumber);
+            }
+            try {
+                values[dimension] = parseValues(dimension, line.substring(separator + 1));
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage() + " in sweep line " + lineNumber, e);
+            }
+            order.add(dimension);
+        }
+        for (int dimension = InputRowReader.RANDOM_SEED; dimension < DIMENSION_COUNT; dimension++) {
+            if (values[dimension] != null) {
+                continue;
+            }
+            if (dimension == SOLVER) {
+                values[dimension] = new int[]{defaultSolverType.getValue()};
+            } else if (DEFAULT_VALUES[dimension] == Integer.MIN_VALUE) {
+                throw new IOException("The sweep has no values for the column " + DIMENSION_NAMES[dimension]);
+            } else {
+                values[dimension] = new int[]{DEFAULT_VALUES[dimension]};
+            }
+        }
+        return new SweepSpecification(order, values);
+    }
+
+    private static int getDimension(String name) {
+        for (int dimension = InputRowReader.RANDOM_SEED; dimension < DIMENSION_COUNT; dimension++) {
+            if (DIMENSION_NAMES[dimension].equalsIgnoreCase(name)) {
+                return dimension;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a value is not valid for the dimension
+     */
+    private static int[] parseValues(int dimension, String text) {
+        Set<Integer> values = new LinkedHashSet<>();
+        for (String item : text.split(",")) {
+            item = item.trim();
+            if (item.isEmpty()) {
+                throw new IllegalArgumentException("Missing value for " + DIMENSION_NAMES[dimension]);
+            }
+            int rangeSeparator = item.indexOf("..");
+            if (rangeSeparator < 0) {
+                values.add(parseValue(dimension, item));
+                continue;
+            }
+            int stepSeparator = item.indexOf(':', rangeSeparator);
+            int from = parseValue(dimension, item.substring(0, rangeSeparator).trim());
+            int to = parseValue(dimension, item.substring(rangeSeparator + 2,
+                    stepSeparator < 0 ? item.length() : stepSeparator).trim());
+            int step = stepSeparator < 0 ? 1 : Integer.parseInt(item.substring(stepSeparator + 1).trim());
+            if (step <= 0 || from > to) {
+                throw new IllegalArgumentException("Invalid range '" + item + "' for " + DIMENSION_NAMES[dimension]);
+            }
+            for (long value = from; value <= to; value += step) {
+                if (dimension == SOLVER) {// a range of solvers is a range of their values
+                    values.add(SolverType.getByValue((int) value).getValue());
+                } else {
+                    values.add(parseValue(dimension, Long.toString(value)));
+                }
+            }
+        }
+        int[] result = new int[values.size()];
+        int i = 0;
+        for (Integer value : values) {
+            result[i++] = value;
+        }
+        return result;
+    }
+
+    private static int parseValue(int dimension, String text) {
+        if (dimension == SOLVER) {
+            return SolverType.getByName(text).getValue();
+        }
+        if (dimension == InputRowReader.PROCESS_SORT_TYPE) {
+            for (Strategy.ProcessSortType type : Strategy.ProcessSortType.values()) {
+                if (type.name().equalsIgnoreCase(text)) {
+                    return type.getValue();
+                }
+            }
+            return Strategy.ProcessSortType.getByValue(Integer.parseInt(text)).getValue();
+        }
+        return Integer.parseInt(text);
+    }
+
+    /**
+     * @return the number of tasks, the product of the number of values of the columns
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the distinct solvers of the tasks
+     */
+    public List<SolverType> getSolverTypes() {
+        List<SolverType> solverTypes = new ArrayList<>();
+        for (int value : values[SOLVER]) {
+            solverTypes.add(SolverType.getByValue(value));
+        }
+        return solverTypes;
+    }
+
+    /**
+     * @param index from zero to {@link #getSize()} (excluded)
+     * @return a new task, its row is not shared with other tasks
+     */
+    public ExperimentTask getTask(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("task " + index + " of a sweep of " + size + " tasks");
+        }
+        int[] row = new int[InputRowReader.COLUMN_COUNT];
+        long groupIndex = 0;
+        SolverType solverType = null;
+        for (int dimension = InputRowReader.RANDOM_SEED; dimension < DIMENSION_COUNT; dimension++) {
+            int valueIndex = (int) (index / strides[dimension] % values[dimension].length);
+            groupIndex += valueIndex * groupStrides[dimension];
+            if (dimension == SOLVER) {
+                solverType = SolverType.getByValue(values[dimension][valueIndex]);
+            } else {
+                row[dimension] = values[dimension][valueIndex];
+            }
+        }
+        row[InputRowReader.NO] = (int) (index + 1);
+        row[InputRowReader.GROUP_NO] = (int) (groupIndex + 1);
+        return new ExperimentTask(index, row, solverType);
+    }
+
+    /**
+     * @return the tasks in their index order
+     */
+    @Override
+    public Iterator<ExperimentTask> iterator() {
+        return new Iterator<ExperimentTask>() {
+            private long nextIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return nextIndex < size;
+            }
+
+            @Override
+            public ExperimentTask next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getTask(nextIndex++);
+            }
+        };
+    }
+
+    /**
+     * @return the tasks in their index order, a sized stream which can be consumed in parallel
+     */
+    public Stream<ExperimentTask> stream() {
+        return LongStream.range(0, size).mapToObj(this::getTask);
+    }
+}
@@ -0,0 +1,199 @@
+package it.unitn.emvscheduling.greedy.data;
+
+import it.unitn.emvscheduling.greedy.domain.Computer;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.UnorderedPair;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * a compact text format of a scheduling instance, a stream of integers separated by any whitespace or comma:
+ * <pre>
+ * computerCount isProposerMode(1/0) processSortType looseReviewRound
+ * processCount executionTime_0 ... executionTime_n-1
+ * conflictCount i_0 j_0 ... i_m-1 j_m-1
+ * </pre>
+ * the process ids are the indexes of the execution times (from 0) and each conflicting pair is given once.
+ * <p>
+ * The counts are checked against the bytes left before anything is allocated (a process takes at least 2 bytes, a
+ * conflicting pair 4 and there is at most one computer per byte of the instance), so the memory of a parsed instance
+ * is bounded by its size.
+ * <p>
+ * The schedule is written back as one header line "makespan horizon wallTimeInMs" followed by one line
+ * "processId computerId startTime" for each process.
+ */
+public class CompactInstanceFormat {
+    public static final int HEADER_SIZE = 4;
+    public static final int COMPUTER_COUNT = 0;
+    public static final int IS_PROPOSER_MODE = 1;
+    public static final int PROCESS_SORT_TYPE = 2;
+    public static final int LOOSE_REVIEW_ROUND = 3;
+
+    private final byte[] data;
+    private final int length;
+    private int position;
+    /**
+     * computerCount, isProposerMode, processSortType, looseReviewRound
+     */
+    public final int[] header = new int[HEADER_SIZE];
+
+    private CompactInstanceFormat(byte[] data, int length) {
+        this.data = data;
+        this.length = length;
+    }
+
+    /**
+     * parse an instance, the strategy values are available in the returned parser header
+     *
+     * @param data
+     * @param length the number of bytes to read from data
+     * @param facts  is filled with the computers, processes and conflicts of the instance
+     * @return the parser, to access its {@link #header}
+     * @throws IllegalArgumentException in case of a malformed instance, also when a conflicting pair is repeated, a
+     *                                  count is larger than the rest of the instance or a number is not an int
+     */
+    public static CompactInstanceFormat parse(byte[] data, int length, ExecutionFacts facts) {
+        CompactInstanceFormat parser = new CompactInstanceFormat(data, length);
+        for (int i = 0; i < HEADER_SIZE; i++) {
+            parser.header[i] = parser.nextInt();
+        }
+        int computerCount = parser.header[COMPUTER_COUNT];
+        if (computerCount <= 0) {
+            throw new IllegalArgumentException("computerCount must be positive but is " + computerCount);
+        }
+        if (computerCount > length) {
+            throw new IllegalArgumentException("computerCount " + computerCount + " is larger than the instance of " +
+                    length + " bytes");
+        }
+        facts.computers = new ArrayList<>(computerCount);
+        for (int computerId = 0; computerId < computerCount; computerId++) {
+            facts.computers.add(new Computer(computerId));
+        }
+        facts.isProposerMode = parser.header[IS_PROPOSER_MODE] != 0;
+
+        int processCount = parser.nextInt();
+        if (processCount < 0) {
+            throw new IllegalArgumentException("processCount must not be negative but is " + processCount);
+        }
+        parser.checkCount("processCount", processCount, 2);
+        List<Process> processes = new ArrayList<>(processCount);
+        for (int processId = 0; processId < processCount; processId++) {
+            int executionTime = parser.nextInt();
+            if (executionTime <= 0) {
+                throw new IllegalArgumentException("execution time of process " + processId + " must be positive");
+            }
+            processes.add(new Process(processId, executionTime));
+        }
+        facts.processes = processes;
+
+        int conflictCount = parser.nextInt();
+        if (conflictCount < 0) {
+            throw new IllegalArgumentException("conflictCount must not be negative but is " + conflictCount);
+        }
+        parser.checkCount("conflictCount", conflictCount, 4);
+        List<UnorderedPair> conflicts = new ArrayList<>(conflictCount);
+        Set<UnorderedPair> distinctConflicts = new HashSet<>(conflictCount * 2);
+        for (int c = 0; c < conflictCount; c++) {
+            int i = parser.nextInt();
+            int j = parser.nextInt();
+            if (i < 0 || j < 0 || i >= processCount || j >= processCount || i == j) {
+                throw new IllegalArgumentException("invalid conflicting pair (" + i + ", " + j + ")");
+            }
+            UnorderedPair conflict = new UnorderedPair(Math.min(i, j), Math.max(i, j));
+            if (!distinctConflicts.add(conflict)) {
+                throw new IllegalArgumentException("conflicting pair (" + i + ", " + j + ") is given more than once");
+            }
+            conflicts.add(conflict);
+            processes.get(i).conflictingProcesses.add(processes.get(j));
+            processes.get(j).conflictingProcesses.add(processes.get(i));
+        }
+        facts.conflictingProcesses = conflicts;
+        facts.conflictPercentage = processCount < 2 ? 0 :
+                (int) (100L * conflictCount / ((long) processCount * (processCount - 1) / 2));
+        facts.timeWeight = 100;
+        return parser;
+    }
+
+    /**
+     * @param minItemBytes the bytes of an item at least, a digit and a separator per number (the last item can have no
+     *                     trailing separator)
+     * @throws IllegalArgumentException if there are not enough bytes left for count items
+     */
+    private void checkCount(String name, int count, int minItemBytes) {
+        if ((long) count * minItemBytes > length - position + 1L) {
+            throw new IllegalArgumentException(name + " " + count + " is larger than the " + (length - position) +
+                    " bytes left");
+        }
+    }
+
+    private int nextInt() {
+        while (position < length && isWhitespace(data[position])) {
+            position++;
+        }
+        if (position == length) {
+            throw new IllegalArgumentException("unexpected end of the instance at byte " + position);
+        }
+        boolean negative = false;
+        if (data[position] == '-') {
+            negative = true;
+            position++;
+        }
+        int start = position;
+        long value = 0;
+        long maxValue = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        while (position < length && data[position] >= '0' && data[position] <= '9') {
+            value = value * 10 + (data[position++] - '0');
+            if (value > maxValue) {
+                throw new IllegalArgumentException("number out of the int range at byte " + start);
+            }
+        }
+        if (position == start || (position < length && !isWhitespace(data[position]))) {
+            throw new IllegalArgumentException("invalid number at byte " + start);
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ',';
+    }
+
+    /**
+     * the inverse of {@link #parse(byte[], int, ExecutionFacts)}, for the clients of the format
+     *
+     * @param facts
+     * @param strategy
+     * @param sb       the instance is appended to it
+     */
+    public static void writeInstance(ExecutionFacts facts, Strategy strategy, StringBuilder sb) {
+        sb.append(facts.computers.size()).append(' ').append(facts.isProposerMode ? 1 : 0).append(' ')
+                .append(strategy.processSortType.getValue()).append(' ').append(strategy.looseReviewRound).append('\n');
+        sb.append(facts.processes.size());
+        for (Process process : facts.processes) {
+            sb.append(' ').append(process.executionTime);
+        }
+        sb.append('\n').append(facts.conflictingProcesses.size());
+        for (UnorderedPair conflict : facts.conflictingProcesses) {
+            sb.append(' ').append(conflict.i).append(' ').append(conflict.j);
+        }
+        sb.append('\n');
+    }
+
+    /**
+     * @param output
+     * @param sb     the schedule is appended to it
+     */
+    public static void writeSchedule(ExecutionOutput output, StringBuilder sb) {
+        sb.append(output.scheduleMakespan).append(' ').append(output.horizon).append(' ')
+                .append(output.wallTimeInMs).append('\n');
+        for (Process process : output.processes) {
+            sb.append(process.processId).append(' ').append(process.computer.computerId).append(' ')
+                    .append(process.startTime).append('\n');
+        }
+    }
+}
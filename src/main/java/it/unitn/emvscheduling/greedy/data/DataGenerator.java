@@ -70,6 +70,65 @@ public class DataGenerator {
         return facts;
     }
 
+    /**
+     * like {@link #getBenchmark}, but each process conflicts with averageConflictDegree other processes on average
+     * instead of a percentage of all the pairs, which is not feasible for large blocks (15% of the pairs of 1M
+     * processes is 7.5e10 pairs). The generation is O(processCount * averageConflictDegree^2) in time and
+     * O(processCount * averageConflictDegree) in memory.
+     *
+     * @param randomSeed
+     * @param processCount
+     * @param processExecutionTimeMin
+     * @param processExecutionTimeMax
+     * @param computerCount
+     * @param averageConflictDegree   the number of conflicts of a process on average
+     * @param timeWeight
+     * @return the facts with the conflict percentage of the generated pairs (rounded down)
+     */
+    public static ExecutionFacts getBenchmarkWithConflictDegree(int randomSeed, int processCount,
+                                                                int processExecutionTimeMin,
+                                                                int processExecutionTimeMax, int computerCount,
+                                                                int averageConflictDegree, int timeWeight) {
+        if (processExecutionTimeMin > processExecutionTimeMax)
+            throw new RuntimeException("processExecutionTimeMin must be less than or equal to processTimeExecutionMax");
+        Random random = new Random(randomSeed);
+        ExecutionFacts facts = new ExecutionFacts();
+        facts.computers = new ArrayList<>(computerCount);
+        for (int computerId = 0; computerId < computerCount; computerId++) {
+            facts.computers.add(new Computer(computerId));
+        }
+        facts.processes = new ArrayList<>(processCount);
+        for (int processIdx = 0; processIdx < processCount; processIdx++) {
+            int executionTime =
+                    random.nextInt(processExecutionTimeMax - processExecutionTimeMin + 1) + processExecutionTimeMin;
+            facts.processes.add(new Process(processIdx, executionTime));
+        }
+
+        long totalPairs = (long) processCount * (processCount - 1) / 2;
+        long requiredConflicts = Math.min(totalPairs, (long) processCount * averageConflictDegree / 2);
+        facts.conflictingProcesses = new ArrayList<>((int) requiredConflicts);
+        while (facts.conflictingProcesses.size() < requiredConflicts) {
+            int processA = random.nextInt(processCount);
+            int processB = random.nextInt(processCount);
+            if (processA == processB) {
+                continue;
+            }
+            Process a = facts.processes.get(processA);
+            Process b = facts.processes.get(processB);
+            // the conflict lists are short, a scan is cheaper than a set of all the pairs
+            if (a.conflictingProcesses.contains(b)) {
+                continue;
+            }
+            a.conflictingProcesses.add(b);
+            b.conflictingProcesses.add(a);
+            facts.conflictingProcesses.add(new UnorderedPair(Math.min(processA, processB),
+                    Math.max(processA, processB)));
+        }
+        facts.conflictPercentage = totalPairs == 0 ? 0 : (int) (requiredConflicts * 100 / totalPairs);
+        facts.timeWeight = timeWeight;
+        return facts;
+    }
+
     public static List<UnorderedPair> generateConflictPairs(Integer randomSeed, Integer processCount,
                                                             Integer conflictPercentage) {
         Random random = new Random(randomSeed);
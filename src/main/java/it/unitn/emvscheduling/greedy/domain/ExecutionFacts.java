@@ -90,4 +90,27 @@ public class ExecutionFacts {
         processes.addAll(conflictingProcesses);
         processes.addAll(nonConflictingProcesses);
     }
+
+    /**
+     * clear the planning variables of all the processes and bring them back to their original (processId) order,
+     * so the same facts can be solved again
+     * Note: relies on incremental id from 0
+     */
+    public void resetPlanning() {
+        for (Process process : processes) {
+            process.computer = null;
+            process.startTime = 0;
+            process.endTime = 0;
+            process.idleDuration = 0;
+            process.totalConflictDuration = 0;
+        }
+        // put each process at the index of its id by swapping, without allocating a second list
+        for (int index = 0; index < processes.size(); index++) {
+            Process process = processes.get(index);
+            while (process.processId != index) {
+                process = processes.set(process.processId, process);
+                processes.set(index, process);
+            }
+        }
+    }
 }
@@ -1,5 +1,8 @@
 package it.unitn.emvscheduling.greedy.domain;
 
+import it.unitn.emvscheduling.greedy.domain.solver.ComputingPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleValidator;
+
 import java.util.List;
 
 public class ExecutionOutput {
@@ -8,6 +11,9 @@ public class ExecutionOutput {
     public Long horizon;
     public String resultStatus;//Optimal, possible, unknown
     public List<Process> processes;
+    public ComputingPlan computingPlan;// the per computer order of the processes, see ScheduleCodec to ship it
+    public SolverMetrics metrics;// per phase time and counters of the solve call
+    public List<ScheduleValidator.Violation> violations;// null if the schedule is not validated or is valid
 
     @Override
     public String toString() {
@@ -16,6 +22,7 @@ public class ExecutionOutput {
                 ", scheduleMakespan=" + scheduleMakespan +
                 ", horizon=" + horizon +
                 ", solverStatus=" + resultStatus +
+                ", metrics=" + metrics +
                 '}';
     }
 }
@@ -4,6 +4,8 @@ public class ExecutionSettings {
     public Integer numberOfWorkers;
     public Integer maxSolverExecutionTimeInSeconds;
     public Integer randomSeed;
+    // validate the schedule after each solve, see ScheduleValidator
+    public boolean validateSchedule = false;
 
     public ExecutionSettings(Integer numberOfWorkers, Integer maxSolverExecutionTimeInSeconds, Integer randomSeed) {
         this.numberOfWorkers = numberOfWorkers;
@@ -10,7 +10,7 @@ public class Process {
     //calculate based on facts
     public List<Process> conflictingProcesses = new ArrayList<>();
     //calculated based on facts just in case of some specific solving strategies (LCDF, MCDF)
-    public Integer totalConflictDuration;
+    public int totalConflictDuration;
 
     //planning variable
     public Computer computer;
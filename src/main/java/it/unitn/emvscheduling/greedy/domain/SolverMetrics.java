@@ -0,0 +1,131 @@
+package it.unitn.emvscheduling.greedy.domain;
+
+import it.unitn.emvscheduling.greedy.domain.solver.ComputerPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputingPlan;
+import it.unitn.emvscheduling.greedy.monitoring.SolvePhaseEvent;
+
+/**
+ * where the time of a solve call goes, filled by the solvers in {@link ExecutionOutput#metrics}
+ * <p>
+ * The phases are:
+ * <ul>
+ * <li>ordering: sorting the processes (proposer) or moving the conflicting ones to the front (attestor)</li>
+ * <li>loose: the LOOSE review rounds, zero for the STRICT assignment type</li>
+ * <li>strict: placing the processes strictly, all of them for the STRICT assignment type and the remaining ones
+ * after the loose rounds otherwise</li>
+ * </ul>
+ * the solvers time the phases with {@link #startOrdering(String)}, {@link #endOrdering()}, {@link #endLoose()} and
+ * {@link #endStrict()}, which also record them as {@link SolvePhaseEvent}s
+ */
+public class SolverMetrics {
+    public static final String CSV_HEADER = "orderingNanos, looseNanos, strictNanos, looseRoundsUsed, " +
+            "failedLooseAttempts, strictlyPlacedProcesses, idleTimeSum, conflictChecks, validationNanos";
+    public static final int CSV_COLUMN_COUNT = 9;
+
+    public long orderingNanos;
+    public long looseNanos;
+    public long strictNanos;
+    public int looseRoundsUsed;
+    public int failedLooseAttempts;// a process that could not be placed in a round counts once per round
+    public int strictlyPlacedProcesses;
+    public long idleTimeSum;// the idle time introduced on all the computers, in the unit of Process.executionTime
+    /* the entries of the conflictingProcesses lists looked at while placing the processes, by any solver, mode or
+    phase: each time a conflicting process is looked at counts once, see ComputingPlan.conflictCheckCount */
+    public long conflictChecks;
+    public long validationNanos;// zero if the schedule is not validated, see ExecutionSettings.validateSchedule
+
+    private long phaseStartNanos;// the start of the running phase
+    private SolvePhaseEvent phaseEvent;// the JFR event of the running phase
+    private String solverName;// of the JFR events
+
+    /**
+     * take the idle time and the conflict checks of the final plan
+     *
+     * @param computingPlan
+     */
+    public void collect(ComputingPlan computingPlan) {
+        idleTimeSum = 0;
+        for (ComputerPlan computerPlan : computingPlan.computerPlanList) {
+            idleTimeSum += computerPlan.idleTimeSum;
+        }
+        conflictChecks = computingPlan.conflictCheckCount;
+    }
+
+    /**
+     * start the ordering phase, the first one of a solve call
+     *
+     * @param solverName the name of the solver in the JFR events
+     */
+    public void startOrdering(String solverName) {
+        this.solverName = solverName;
+        phaseEvent = SolvePhaseEvent.start();
+        phaseStartNanos = System.nanoTime();
+    }
+
+    /**
+     * end the ordering phase and start the next one
+     */
+    public void endOrdering() {
+        orderingNanos = endPhase(SolvePhaseEvent.ORDERING);
+    }
+
+    /**
+     * end the loose phase and start the strict one
+     */
+    public void endLoose() {
+        looseNanos = endPhase(SolvePhaseEvent.LOOSE);
+    }
+
+    /**
+     * end the strict phase, the last one of a solve call
+     *
+     * @return the end time, to compute the wall time of the solve call
+     */
+    public long endStrict() {
+        long endNanos = System.nanoTime();
+        strictNanos = endNanos - phaseStartNanos;
+        phaseEvent.finish(solverName, SolvePhaseEvent.STRICT);
+        phaseEvent = null;
+        return endNanos;
+    }
+
+    private long endPhase(String phase) {
+        long endNanos = System.nanoTime();
+        long phaseNanos = endNanos - phaseStartNanos;
+        phaseStartNanos = endNanos;
+        phaseEvent = phaseEvent.next(solverName, phase);
+        return phaseNanos;
+    }
+
+    /**
+     * @param line the metrics are appended as {@link #CSV_COLUMN_COUNT} comma separated values, without a leading
+     *             comma
+     * @return the given line
+     */
+    public StringBuilder appendCsv(StringBuilder line) {
+        return line.append(orderingNanos).append(',')
+                .append(looseNanos).append(',')
+                .append(strictNanos).append(',')
+                .append(looseRoundsUsed).append(',')
+                .append(failedLooseAttempts).append(',')
+                .append(strictlyPlacedProcesses).append(',')
+                .append(idleTimeSum).append(',')
+                .append(conflictChecks).append(',')
+                .append(validationNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "SolverMetrics{" +
+                "orderingNanos=" + orderingNanos +
+                ", looseNanos=" + looseNanos +
+                ", strictNanos=" + strictNanos +
+                ", looseRoundsUsed=" + looseRoundsUsed +
+                ", failedLooseAttempts=" + failedLooseAttempts +
+                ", strictlyPlacedProcesses=" + strictlyPlacedProcesses +
+                ", idleTimeSum=" + idleTimeSum +
+                ", conflictChecks=" + conflictChecks +
+                ", validationNanos=" + validationNanos +
+                '}';
+    }
+}
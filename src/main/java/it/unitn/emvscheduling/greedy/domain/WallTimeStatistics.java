@@ -0,0 +1,65 @@
+package it.unitn.emvscheduling.greedy.domain;
+
+import java.util.Arrays;
+
+/**
+ * the wall time of the repeated solves of one instance, after the warm-up, see
+ * {@link it.unitn.emvscheduling.greedy.application.FileBasedExecutor#executeRow(int[],
+ * it.unitn.emvscheduling.greedy.solver.Solver, int, int)}
+ */
+public class WallTimeStatistics {
+    public static final String CSV_HEADER = "wallTimeMin(ms), wallTimeMedian(ms), wallTimeP99(ms), " +
+            "wallTimeMean(ms), repetitions";
+    public static final int CSV_COLUMN_COUNT = 5;
+
+    public double minMs;
+    public double medianMs;// the mean of the two middle values for an even count
+    public double p99Ms;// nearest rank, so the max for less than 100 repetitions
+    public double meanMs;
+    public int repetitions;
+
+    /**
+     * @param wallTimesMs at least one, the array is not modified
+     * @return
+     */
+    public static WallTimeStatistics of(double[] wallTimesMs) {
+        if (wallTimesMs.length == 0) {
+            throw new IllegalArgumentException("at least one wall time is needed");
+        }
+        double[] sorted = wallTimesMs.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+        WallTimeStatistics statistics = new WallTimeStatistics();
+        statistics.repetitions = n;
+        statistics.minMs = sorted[0];
+        statistics.medianMs = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+        statistics.p99Ms = sorted[Math.max(0, (int) Math.ceil(0.99 * n) - 1)];
+        double sum = 0;
+        for (double wallTime : sorted) {
+            sum += wallTime;
+        }
+        statistics.meanMs = sum / n;
+        return statistics;
+    }
+
+    /**
+     * @param line the statistics are appended as {@link #CSV_COLUMN_COUNT} comma separated values, without a leading
+     *             comma
+     * @return the given line
+     */
+    public StringBuilder appendCsv(StringBuilder line) {
+        return line.append(String.format("%.6f,%.6f,%.6f,%.6f,", minMs, medianMs, p99Ms, meanMs))
+                .append(repetitions);
+    }
+
+    @Override
+    public String toString() {
+        return "WallTimeStatistics{" +
+                "minMs=" + minMs +
+                ", medianMs=" + medianMs +
+                ", p99Ms=" + p99Ms +
+                ", meanMs=" + meanMs +
+                ", repetitions=" + repetitions +
+                '}';
+    }
+}
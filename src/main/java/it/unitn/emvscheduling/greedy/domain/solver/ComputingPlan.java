@@ -3,6 +3,7 @@ package it.unitn.emvscheduling.greedy.domain.solver;
 import it.unitn.emvscheduling.greedy.domain.Computer;
 import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
 import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.monitoring.AssignmentEvent;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,10 +14,14 @@ import java.util.List;
  */
 public class ComputingPlan {
     public List<ComputerPlan> computerPlanList;// in each index, there is the computerPlan of that computer id
+    public long conflictCheckCount = 0;// the conflicting processes looked at by the solver, see SolverMetrics
+    // attestors keep the block order: a process starts after its conflicting processes with smaller processIds end
+    public final boolean isConflictOrderKept;
 
 //    private ExecutionFacts facts;
 
     public ComputingPlan(ExecutionFacts facts) {
+        isConflictOrderKept = !facts.isProposerMode;
         computerPlanList = new ArrayList<>(facts.computers.size());
         for (Computer computer : facts.computers) {
             ComputerPlan plan = new ComputerPlan(computer);
@@ -63,15 +68,7 @@ public class ComputingPlan {
         }
 
         //choosing start time
-        int startTime = firstFreeTime;
-        for (Process cProcess : process.conflictingProcesses) {
-            if (cProcess.computer != null && !cProcess.computer.equals(selectedComputerPlan.computer)) {
-                // Check for all possible overlap scenarios
-                if (startTime < cProcess.endTime && (startTime + process.executionTime) > cProcess.startTime) {
-                    startTime = cProcess.endTime;
-                }
-            }
-        }
+        int startTime = getConflictFreeStartTime(process, selectedComputerPlan.computer, firstFreeTime);
         process.startTime = startTime;
         process.endTime = startTime + process.executionTime;
         process.idleDuration = startTime - firstFreeTime;
@@ -79,6 +76,7 @@ public class ComputingPlan {
         selectedComputerPlan.firstFreeTime = process.endTime;
         selectedComputerPlan.busyTimeSum += process.executionTime;
         selectedComputerPlan.idleTimeSum += process.idleDuration;
+        AssignmentEvent.emit(process, process.idleDuration, process.conflictingProcesses.size(), true);
     }
 
     /**
@@ -100,14 +98,10 @@ public class ComputingPlan {
 
         //check if not conflicting with other processes
         int startTime = firstFreeTime;
-        for (Process cProcess : process.conflictingProcesses) {
-            if (cProcess.computer != null && !cProcess.computer.equals(selectedComputerPlan.computer)) {// is already assigned
-                if (startTime >= cProcess.startTime && startTime <= cProcess.endTime) {
-                    //conflict with another existing concurrent process
-//                    process.attempts++;
-                    return false;
-                }
-            }
+        if (!isConflictFree(process, selectedComputerPlan.computer, startTime)) {
+            //conflict with another existing concurrent process
+//            process.attempts++;
+            return false;
         }
         //if is not returned, there is no conflict then:
         if (selectedComputerPlan != null) {
@@ -124,11 +118,63 @@ public class ComputingPlan {
         selectedComputerPlan.firstFreeTime = process.endTime;
         selectedComputerPlan.busyTimeSum += process.executionTime;
         selectedComputerPlan.idleTimeSum += process.idleDuration;
+        AssignmentEvent.emit(process, 0, process.conflictingProcesses.size(), false);
         return true;
     }
 
+    /**
+     * @param process
+     * @param computer  where the process would run, its own processes end before its first free time
+     * @param startTime
+     * @return true if the process can start at startTime: it does not overlap its assigned conflicting processes on
+     * the other computers and, if the conflict order is kept, starts after the ones with smaller processIds end
+     */
+    public boolean isConflictFree(Process process, Computer computer, int startTime) {
+        int endTime = startTime + process.executionTime;
+        for (Process cProcess : process.conflictingProcesses) {
+            conflictCheckCount++;
+            if (isBlocking(process, computer, startTime, endTime, cProcess)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * delay the process past each assigned conflicting process it would overlap (or, if the conflict order is kept,
+     * start before the end of), until none is left: moving past one can overlap another which was already looked at
+     *
+     * @param process
+     * @param computer  where the process would run, its own processes end before its first free time
+     * @param startTime the earliest start time, the first free time of the computer
+     * @return the first start time from startTime at which {@link #isConflictFree(Process, Computer, int)}
+     */
+    public int getConflictFreeStartTime(Process process, Computer computer, int startTime) {
+        boolean isDelayed = true;
+        while (isDelayed) {// each pass but the last moves the start time to a later end time
+            isDelayed = false;
+            for (Process cProcess : process.conflictingProcesses) {
+                conflictCheckCount++;
+                if (isBlocking(process, computer, startTime, startTime + process.executionTime, cProcess)) {
+                    startTime = cProcess.endTime;
+                    isDelayed = true;
+                }
+            }
+        }
+        return startTime;
+    }
+
+    private boolean isBlocking(Process process, Computer computer, int startTime, int endTime, Process cProcess) {
+        if (cProcess.computer == null || cProcess.computer.equals(computer) || startTime >= cProcess.endTime) {
+            return false;// not assigned, before it on the same computer or already ended
+        }
+        // overlapping (an empty process is concurrent to one starting with it) or, in the block order, before it
+        return endTime > cProcess.startTime || startTime == cProcess.startTime ||
+                (isConflictOrderKept && cProcess.processId < process.processId);
+    }
+
     public int getScheduleMakespan() {
-        Integer maxMakespan = 0;
+        int maxMakespan = 0;
         for (ComputerPlan computerPlan : computerPlanList) {
             if (computerPlan.firstFreeTime > maxMakespan) {
                 maxMakespan = computerPlan.firstFreeTime;
@@ -0,0 +1,226 @@
+package it.unitn.emvscheduling.greedy.domain.solver;
+
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.Process;
+
+import java.nio.ByteBuffer;
+
+/**
+ * a compact binary encoding of a schedule, for the proposers to ship their plan together with the block:
+ * <pre>
+ * MAGIC(1 byte) VERSION(1 byte) varint(computerCount)
+ * for each computer, in computer id order:
+ *     varint(processCount)
+ *     for each process, in start time order:
+ *         zigzag varint(processId - previous processId)   the previous id is carried over between the computers
+ *         varint(startTime - previous startTime)          the previous start time is 0 for the first process
+ * </pre>
+ * The start times of the processes of a computer never decrease, so their deltas are small (usually the execution
+ * time of the previous process) and fit in one byte, the process ids take one to three bytes.
+ * <p>
+ * Note: the execution times are not part of the encoding, they are facts that the receiver already has
+ * Note: {@link Reader} walks the encoded schedule directly on the given buffer without copying or allocating per
+ * process
+ */
+public class ScheduleCodec {
+    public static final byte MAGIC = 'S';
+    public static final byte VERSION = 1;
+
+    private ScheduleCodec() {
+    }
+
+    /**
+     * @param plan
+     * @return a buffer ready to read (position 0, limit at the end of the encoding)
+     */
+    public static ByteBuffer encode(ComputingPlan plan) {
+        int processCount = 0;
+        for (ComputerPlan computerPlan : plan.computerPlanList) {
+            processCount += computerPlan.processList.size();
+        }
+        // at most 5 bytes for each varint
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 5 + plan.computerPlanList.size() * 5 + processCount * 10);
+        encode(plan, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * write the encoding of the plan at the current position of the buffer
+     *
+     * @param plan
+     * @param buffer
+     */
+    public static void encode(ComputingPlan plan, ByteBuffer buffer) {
+        buffer.put(MAGIC);
+        buffer.put(VERSION);
+        writeVarInt(buffer, plan.computerPlanList.size());
+        int previousProcessId = 0;
+        for (ComputerPlan computerPlan : plan.computerPlanList) {
+            writeVarInt(buffer, computerPlan.processList.size());
+            int previousStartTime = 0;
+            for (Process process : computerPlan.processList) {
+                int processIdDelta = process.processId - previousProcessId;
+                writeVarInt(buffer, (processIdDelta << 1) ^ (processIdDelta >> 31));// zigzag
+                int startTimeDelta = process.startTime - previousStartTime;
+                if (startTimeDelta < 0) {
+                    throw new IllegalArgumentException("process " + process.processId + " starts before its " +
+                            "predecessor on computer " + computerPlan.computer.computerId);
+                }
+                writeVarInt(buffer, startTimeDelta);
+                previousProcessId = process.processId;
+                previousStartTime = process.startTime;
+            }
+        }
+    }
+
+    /**
+     * decode the schedule into the processes of the facts (computer, start time, end time and idle duration) and
+     * rebuild its computing plan
+     *
+     * @param buffer is not modified, the encoding is read from its position to its limit
+     * @param facts  the processes must be the same as the encoded ones, in any order
+     * @return
+     * @throws IllegalArgumentException if the encoding is malformed or does not match the facts
+     */
+    public static ComputingPlan decode(ByteBuffer buffer, ExecutionFacts facts) {
+        Reader reader = new Reader(buffer);
+        if (reader.computerCount != facts.computers.size()) {
+            throw new IllegalArgumentException("the schedule is for " + reader.computerCount + " computers, but " +
+                    "there are " + facts.computers.size());
+        }
+        Process[] processesById = new Process[facts.processes.size()];
+        for (Process process : facts.processes) {
+            if (process.processId < 0 || process.processId >= processesById.length) {
+                throw new IllegalArgumentException("process ids must be in [0, processCount)");
+            }
+            processesById[process.processId] = process;
+        }
+        boolean[] isDecoded = new boolean[processesById.length];
+        int decodedCount = 0;
+
+        ComputingPlan plan = new ComputingPlan(facts);
+        while (reader.nextComputer()) {
+            ComputerPlan computerPlan = plan.computerPlanList.get(reader.computerId);
+            while (reader.nextProcess()) {
+                if (reader.processId < 0 || reader.processId >= processesById.length) {
+                    throw new IllegalArgumentException("unknown process id " + reader.processId);
+                }
+                if (isDecoded[reader.processId]) {
+                    throw new IllegalArgumentException("process " + reader.processId + " is scheduled twice");
+                }
+                isDecoded[reader.processId] = true;
+                decodedCount++;
+
+                Process process = processesById[reader.processId];
+                if (reader.startTime > Integer.MAX_VALUE - process.executionTime) {
+                    throw new IllegalArgumentException("process " + reader.processId + " ends out of the int range");
+                }
+                process.computer = computerPlan.computer;
+                process.startTime = reader.startTime;
+                process.endTime = reader.startTime + process.executionTime;
+                process.idleDuration = Math.max(0, reader.startTime - computerPlan.firstFreeTime);
+                computerPlan.processList.add(process);
+                computerPlan.busyTimeSum += process.executionTime;
+                computerPlan.idleTimeSum += process.idleDuration;
+                computerPlan.firstFreeTime = Math.max(computerPlan.firstFreeTime, process.endTime);
+            }
+        }
+        if (decodedCount != processesById.length) {
+            throw new IllegalArgumentException("the schedule has " + decodedCount + " processes, but there are " +
+                    processesById.length);
+        }
+        return plan;
+    }
+
+    /**
+     * a cursor over an encoded schedule, usage:
+     * <pre>
+     * while (reader.nextComputer())
+     *     while (reader.nextProcess())
+     *         use reader.computerId, reader.processId and reader.startTime
+     * </pre>
+     */
+    public static final class Reader {
+        private final ByteBuffer buffer;
+        public final int computerCount;
+        public int computerId = -1;
+        public int remainingProcesses = 0;// of the current computer
+        public int processId = 0;
+        public int startTime = 0;
+
+        /**
+         * @param buffer is not modified, a view of it is read from its position to its limit
+         */
+        public Reader(ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+            if (this.buffer.remaining() < 3 || this.buffer.get() != MAGIC) {
+                throw new IllegalArgumentException("not an encoded schedule");
+            }
+            byte version = this.buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("unsupported schedule encoding version " + version);
+            }
+            computerCount = readVarInt(this.buffer);
+        }
+
+        /**
+         * move to the next computer, the remaining processes of the current one are skipped
+         *
+         * @return false if there is no more computer
+         */
+        public boolean nextComputer() {
+            while (remainingProcesses > 0) {
+                nextProcess();
+            }
+            if (computerId + 1 >= computerCount) {
+                return false;
+            }
+            computerId++;
+            remainingProcesses = readVarInt(buffer);
+            startTime = 0;
+            return true;
+        }
+
+        /**
+         * @return false if there is no more process on the current computer
+         */
+        public boolean nextProcess() {
+            if (remainingProcesses == 0) {
+                return false;
+            }
+            remainingProcesses--;
+            int zigzag = readVarInt(buffer);
+            processId += (zigzag >>> 1) ^ -(zigzag & 1);
+            int startTimeDelta = readVarInt(buffer);
+            if (startTimeDelta < 0 || startTime > Integer.MAX_VALUE - startTimeDelta) {
+                throw new IllegalArgumentException("start time out of the int range in the schedule encoding");
+            }
+            startTime += startTimeDelta;
+            return true;
+        }
+    }
+
+    private static void writeVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IllegalArgumentException("truncated schedule encoding");
+            }
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint in the schedule encoding");
+    }
+}
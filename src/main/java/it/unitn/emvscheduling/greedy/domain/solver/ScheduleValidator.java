@@ -0,0 +1,210 @@
+package it.unitn.emvscheduling.greedy.domain.solver;
+
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.Process;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * checks a schedule (the computer, start time and end time of the processes) and reports every violation:
+ * <ul>
+ * <li>{@link ViolationType#UNASSIGNED}: a process without computer</li>
+ * <li>{@link ViolationType#INVALID_TIME}: a negative start time or an end time that does not match the execution
+ * time</li>
+ * <li>{@link ViolationType#COMPUTER_OVERLAP}: two processes overlapping on the same computer</li>
+ * <li>{@link ViolationType#CONFLICT_OVERLAP}: two conflicting processes overlapping, on any computers</li>
+ * <li>{@link ViolationType#CONFLICT_ORDER}: of two conflicting processes, the one with the larger processId starts
+ * first, checked only if asked (attestors must keep the block order, proposers can change it)</li>
+ * </ul>
+ * The check is a sweep line over the sorted start and end times, where a starting process only looks at its own
+ * conflicting processes, so it is O((n+m) log n) for n processes and m conflicting pairs and allocates only a few
+ * arrays of n elements, cheap enough to run after every solve (see {@link #validate(ExecutionFacts, ExecutionOutput)})
+ * <p>
+ * Note: the times are [start, end), a process can start at the end time of its conflicting one
+ * Note: relies on incremental processId from 0
+ */
+public class ScheduleValidator {
+    public static final String INVALID_STATUS = "invalid";
+
+    public enum ViolationType {
+        UNASSIGNED, INVALID_TIME, COMPUTER_OVERLAP, CONFLICT_OVERLAP, CONFLICT_ORDER
+    }
+
+    public static final class Violation {
+        public final ViolationType type;
+        public final int processId;
+        public final int otherProcessId;// -1 if the violation is of a single process
+
+        public Violation(ViolationType type, int processId, int otherProcessId) {
+            this.type = type;
+            this.processId = processId;
+            this.otherProcessId = otherProcessId;
+        }
+
+        @Override
+        public String toString() {
+            return otherProcessId == -1 ? type + "(" + processId + ")" :
+                    type + "(" + processId + ", " + otherProcessId + ")";
+        }
+    }
+
+    private ScheduleValidator() {
+    }
+
+    /**
+     * validate the schedule of a solve call, if it is not valid the result status becomes {@link #INVALID_STATUS}
+     * and the violations are kept in the output. The conflict order is checked in attestor mode.
+     *
+     * @param facts  the solved facts
+     * @param output the output of the solve call
+     */
+    public static void validate(ExecutionFacts facts, ExecutionOutput output) {
+        long startNanoSecond = System.nanoTime();
+        List<Violation> violations = validate(facts.processes, !facts.isProposerMode, Integer.MAX_VALUE);
+        if (output.metrics != null) {
+            output.metrics.validationNanos = System.nanoTime() - startNanoSecond;
+        }
+        if (!violations.isEmpty()) {
+            output.violations = violations;
+            output.resultStatus = INVALID_STATUS;
+        }
+    }
+
+    /**
+     * @param processes
+     * @param checkConflictOrder if the conflicting processes must start in their processId order
+     * @return true if there is no violation, stops at the first one
+     */
+    public static boolean isValid(List<Process> processes, boolean checkConflictOrder) {
+        return validate(processes, checkConflictOrder, 1).isEmpty();
+    }
+
+    /**
+     * @param processes
+     * @param checkConflictOrder if the conflicting processes must start in their processId order
+     * @return all the violations, empty if the schedule is valid
+     */
+    public static List<Violation> validate(List<Process> processes, boolean checkConflictOrder) {
+        return validate(processes, checkConflictOrder, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param processes
+     * @param checkConflictOrder if the conflicting processes must start in their processId order
+     * @param maxViolations      stop after finding this many violations
+     * @return the violations in the order of their time, empty if the schedule is valid
+     * @throws IllegalArgumentException if the process ids are not in [0, processCount)
+     */
+    public static List<Violation> validate(List<Process> processes, boolean checkConflictOrder, int maxViolations) {
+        int processCount = processes.size();
+        Process[] processesById = new Process[processCount];
+        List<Violation> violations = new ArrayList<>(0);
+        int assignedCount = 0;
+        int computerCount = 0;
+        for (Process process : processes) {
+            if (process.processId < 0 || process.processId >= processCount) {
+                throw new IllegalArgumentException("process ids must be in [0, processCount)");
+            }
+            processesById[process.processId] = process;
+            if (process.computer == null) {
+                if (add(violations, ViolationType.UNASSIGNED, process.processId, -1, maxViolations)) {
+                    return violations;
+                }
+                continue;
+            }
+            if (process.startTime < 0 || process.endTime - process.startTime != process.executionTime) {
+                if (add(violations, ViolationType.INVALID_TIME, process.processId, -1, maxViolations)) {
+                    return violations;
+                }
+            }
+            assignedCount++;
+            computerCount = Math.max(computerCount, process.computer.computerId + 1);
+        }
+
+        /* events as time << 32 | isStart << 31 | processId, so sorting orders them by time, ends before starts of the
+        same time ([start, end) intervals) and by processId */
+        long[] events = new long[assignedCount * 2];
+        int eventCount = 0;
+        for (int processId = 0; processId < processCount; processId++) {
+            Process process = processesById[processId];
+            if (process != null && process.computer != null) {
+                events[eventCount++] = ((long) process.endTime << 32) | processId;
+                events[eventCount++] = ((long) process.startTime << 32) | (1L << 31) | processId;
+            }
+        }
+        Arrays.sort(events, 0, eventCount);
+
+        boolean[] isActive = new boolean[processCount];
+        boolean[] isStarted = new boolean[processCount];
+        /* the running processes of each computer as a doubly linked list of processIds: the first one of a computer
+        and the next and previous ones of a process, -1 at the ends */
+        int[] firstActiveOnComputer = new int[computerCount];
+        Arrays.fill(firstActiveOnComputer, -1);
+        int[] nextActive = new int[processCount];
+        int[] previousActive = new int[processCount];
+        for (int i = 0; i < eventCount; i++) {
+            long event = events[i];
+            int processId = (int) (event & 0x7FFFFFFF);
+            Process process = processesById[processId];
+            int computerId = process.computer.computerId;
+            if ((event & (1L << 31)) == 0) {
+                if (isActive[processId]) {
+                    isActive[processId] = false;
+                    if (previousActive[processId] == -1) {
+                        firstActiveOnComputer[computerId] = nextActive[processId];
+                    } else {
+                        nextActive[previousActive[processId]] = nextActive[processId];
+                    }
+                    if (nextActive[processId] != -1) {
+                        previousActive[nextActive[processId]] = previousActive[processId];
+                    }
+                }
+                continue;
+            }
+
+            for (int activeProcessId = firstActiveOnComputer[computerId]; activeProcessId != -1;
+                 activeProcessId = nextActive[activeProcessId]) {
+                if (add(violations, ViolationType.COMPUTER_OVERLAP, activeProcessId, processId, maxViolations)) {
+                    return violations;
+                }
+            }
+            for (Process conflict : process.conflictingProcesses) {
+                if (isActive[conflict.processId]) {
+                    if (add(violations, ViolationType.CONFLICT_OVERLAP, conflict.processId, processId,
+                            maxViolations)) {
+                        return violations;
+                    }
+                } else if (checkConflictOrder && isStarted[conflict.processId] && conflict.processId > processId) {
+                    if (add(violations, ViolationType.CONFLICT_ORDER, processId, conflict.processId,
+                            maxViolations)) {
+                        return violations;
+                    }
+                }
+            }
+            isStarted[processId] = true;
+            if (process.endTime > process.startTime) {// an empty process is never running
+                isActive[processId] = true;
+                previousActive[processId] = -1;
+                nextActive[processId] = firstActiveOnComputer[computerId];
+                if (nextActive[processId] != -1) {
+                    previousActive[nextActive[processId]] = processId;
+                }
+                firstActiveOnComputer[computerId] = processId;
+            }
+        }
+        return violations.isEmpty() ? Collections.emptyList() : violations;
+    }
+
+    /**
+     * @return true if the maximum number of violations is reached
+     */
+    private static boolean add(List<Violation> violations, ViolationType type, int processId, int otherProcessId,
+                               int maxViolations) {
+        violations.add(new Violation(type, processId, otherProcessId));
+        return violations.size() >= maxViolations;
+    }
+}
@@ -0,0 +1,551 @@
+package it.unitn.emvscheduling.greedy.execution;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * an optimistic baseline: runs a block with the Block-STM algorithm (Gelashvili et al., "Block-STM: Scaling
+ * Blockchain Execution by Turning Ordering Curse to a Performance Blessing") instead of a plan, to compare its
+ * throughput with the one of {@link PlanExecutor} on the same facts and machine.
+ * <p>
+ * The transactions are the processes in processId order (the block order). They do not declare their conflicts:
+ * each one reads and writes a storage key per conflicting pair it belongs to, so two processes touch a common key
+ * if and only if they conflict, and the conflicts are found at run time. All the threads take tasks from the
+ * collaborative scheduler of the paper: execute the lowest transaction not executed yet, or validate the lowest
+ * executed one not validated yet. An execution reads the multi-version store (the value written by the highest
+ * lower transaction), runs {@link SyntheticWork} sized by the execution time and writes its values as a new
+ * incarnation. A validation reads again: if a read changed, the transaction is aborted, its writes become estimates
+ * and it is executed again, and a read of an estimate waits for the lower transaction as a dependency.
+ * <p>
+ * The value written by a transaction is a hash of the values it read, so the final store is compared with the one
+ * of the serial execution ({@link BlockStmReport#isConsistent}).
+ * <p>
+ * Note: the write sets are fixed by the keys of a transaction, so only the first completed incarnation writes new
+ * keys and restarts the validation of the higher transactions, the next ones restart it only by an abort
+ * Note: relies on incremental processId from 0
+ * <p>
+ * Usage: BlockStmExecutor [processCount] [threadCount] [conflictPercentage] [unitNanos] [repetitions]
+ */
+public class BlockStmExecutor {
+    private static final int READY_TO_EXECUTE = 0;
+    private static final int EXECUTING = 1;
+    private static final int EXECUTED = 2;
+    private static final int ABORTING = 3;
+    private static final int EXECUTION_TASK = 1;
+    private static final int VALIDATION_TASK = 2;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final SyntheticWork work;
+    private final int threadCount;
+
+    public BlockStmExecutor(SyntheticWork work, int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("threadCount must be positive");
+        }
+        this.work = work;
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * run the block on one thread and then with Block-STM on the threads, the planning variables are not used
+     *
+     * @param facts
+     * @return
+     */
+    public BlockStmReport execute(ExecutionFacts facts) {
+        Block block = new Block(facts.processes);
+        BlockStmReport report = new BlockStmReport();
+        report.processCount = block.transactionCount;
+        report.threadCount = threadCount;
+        report.availableProcessors = Runtime.getRuntime().availableProcessors();
+        report.keyCount = block.keyCount;
+        report.unitNanos = work.unitNanos;
+
+        long startTime = System.nanoTime();
+        long[] serialStore = new long[block.keyCount];
+        long checksum = 0;
+        for (int txn = 0; txn < block.transactionCount; txn++) {
+            int[] keys = block.keysOf[txn];
+            long value = txn * HASH_MULTIPLIER;
+            for (int key : keys) {
+                value = mix(value, serialStore[key]);
+            }
+            checksum ^= work.run(block.executionTimes[txn], txn);
+            for (int key : keys) {
+                serialStore[key] = mix(value, key);
+            }
+        }
+        report.serialWallNanos = System.nanoTime() - startTime;
+
+        Run run = new Run(block);
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(run, "block-stm-" + i);
+            threads[i].setDaemon(true);
+        }
+        startTime = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while executing the block", e);
+        }
+        report.parallelWallNanos = System.nanoTime() - startTime;
+
+        report.executions = run.executions.get();
+        report.validations = run.validations.get();
+        report.validationAborts = run.validationAborts.get();
+        report.dependencyAborts = run.dependencyAborts.get();
+        report.checksum = checksum ^ run.checksum.get();
+        report.isConsistent = true;
+        for (int key = 0; key < block.keyCount; key++) {
+            Version last = run.store.getLast(key);
+            if (last == null || last.isEstimate || last.value != serialStore[key]) {
+                report.isConsistent = false;
+                break;
+            }
+        }
+        return report;
+    }
+
+    private static long mix(long hash, long value) {
+        long mixed = (hash ^ value) * HASH_MULTIPLIER;
+        return mixed ^ (mixed >>> 29);
+    }
+
+    /**
+     * the transactions and their keys: a key per conflicting pair, written by its two processes
+     */
+    private static class Block {
+        final int transactionCount;
+        final int keyCount;
+        final int[] executionTimes;
+        final int[][] keysOf;// per transaction, increasing
+        final int[][] writersOf;// per key, increasing
+
+        Block(List<Process> processes) {
+            transactionCount = processes.size();
+            executionTimes = new int[transactionCount];
+            Process[] processesById = new Process[transactionCount];
+            for (Process process : processes) {
+                processesById[process.processId] = process;
+                executionTimes[process.processId] = process.executionTime;
+            }
+            int[] keyCounts = new int[transactionCount];
+            int pairCount = 0;
+            for (Process process : processesById) {
+                for (Process conflict : process.conflictingProcesses) {
+                    if (conflict.processId > process.processId) {
+                        keyCounts[process.processId]++;
+                        keyCounts[conflict.processId]++;
+                        pairCount++;
+                    }
+                }
+            }
+            keyCount = pairCount;
+            keysOf = new int[transactionCount][];
+            for (int txn = 0; txn < transactionCount; txn++) {
+                keysOf[txn] = new int[keyCounts[txn]];
+                keyCounts[txn] = 0;
+            }
+            writersOf = new int[keyCount][];
+            int key = 0;
+            for (Process process : processesById) {// keys in increasing order for both of their writers
+                for (Process conflict : process.conflictingProcesses) {
+                    if (conflict.processId > process.processId) {
+                        keysOf[process.processId][keyCounts[process.processId]++] = key;
+                        keysOf[conflict.processId][keyCounts[conflict.processId]++] = key;
+                        writersOf[key] = new int[]{process.processId, conflict.processId};
+                        key++;
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Version {
+        final int txn;
+        final int incarnation;
+        final long value;
+        final boolean isEstimate;
+
+        Version(int txn, int incarnation, long value, boolean isEstimate) {
+            this.txn = txn;
+            this.incarnation = incarnation;
+            this.value = value;
+            this.isEstimate = isEstimate;
+        }
+    }
+
+    /**
+     * per key, a slot per writer with its last version, null if it has not written yet
+     */
+    private static class MultiVersionStore {
+        final int[][] writersOf;
+        final int[] firstSlotOf;
+        final AtomicReferenceArray<Version> slots;
+
+        MultiVersionStore(int[][] writersOf) {
+            this.writersOf = writersOf;
+            firstSlotOf = new int[writersOf.length];
+            int slotCount = 0;
+            for (int key = 0; key < writersOf.length; key++) {
+                firstSlotOf[key] = slotCount;
+                slotCount += writersOf[key].length;
+            }
+            slots = new AtomicReferenceArray<>(slotCount);
+        }
+
+        /**
+         * @return the version of the highest writer lower than txn, null to read the storage
+         */
+        Version read(int key, int txn) {
+            int[] writers = writersOf[key];
+            for (int i = writers.length - 1; i >= 0; i--) {
+                if (writers[i] < txn) {
+                    Version version = slots.get(firstSlotOf[key] + i);
+                    if (version != null) {
+                        return version;
+                    }
+                }
+            }
+            return null;
+        }
+
+        void write(int key, Version version) {
+            int[] writers = writersOf[key];
+            for (int i = 0; i < writers.length; i++) {
+                if (writers[i] == version.txn) {
+                    slots.set(firstSlotOf[key] + i, version);
+                    return;
+                }
+            }
+            throw new IllegalStateException("transaction " + version.txn + " does not write key " + key);
+        }
+
+        Version getLast(int key) {
+            return slots.get(firstSlotOf[key] + writersOf[key].length - 1);
+        }
+    }
+
+    /**
+     * the shared state of one parallel execution: the store, the recorded reads and the collaborative scheduler.
+     * A task is encoded as type << 62 | txn << 31 | incarnation, 0 for no task. A task taken by a thread is active
+     * until it is finished without a follow-up task.
+     */
+    private class Run implements Runnable {
+        final Block block;
+        final int transactionCount;
+        final MultiVersionStore store;
+        final AtomicReferenceArray<Version[]> readSets;// per transaction, the versions read by its last incarnation
+        final int[] statuses;// guarded by the lock of the transaction
+        final int[] incarnations;// guarded by the lock of the transaction
+        final List<List<Integer>> dependencies;// waiting for the execution of the transaction, guarded by its lock
+        final Object[] locks;
+        final AtomicInteger executionIndex = new AtomicInteger();
+        final AtomicInteger validationIndex = new AtomicInteger();
+        final AtomicInteger decreaseCount = new AtomicInteger();
+        final AtomicInteger activeTaskCount = new AtomicInteger();
+        volatile boolean isDone;
+        final AtomicLong executions = new AtomicLong();
+        final AtomicLong validations = new AtomicLong();
+        final AtomicLong validationAborts = new AtomicLong();
+        final AtomicLong dependencyAborts = new AtomicLong();
+        final AtomicLong checksum = new AtomicLong();
+
+        Run(Block block) {
+            this.block = block;
+            transactionCount = block.transactionCount;
+            store = new MultiVersionStore(block.writersOf);
+            readSets = new AtomicReferenceArray<>(transactionCount);
+            statuses = new int[transactionCount];// all READY_TO_EXECUTE
+            incarnations = new int[transactionCount];
+            dependencies = new ArrayList<>(transactionCount);
+            locks = new Object[transactionCount];
+            for (int txn = 0; txn < transactionCount; txn++) {
+                dependencies.add(new ArrayList<Integer>(0));
+                locks[txn] = new Object();
+            }
+            isDone = transactionCount == 0;
+        }
+
+        @Override
+        public void run() {
+            long[] sink = new long[1];
+            long task = 0;
+            while (!isDone) {
+                if (task != 0) {
+                    int txn = (int) (task >>> 31) & 0x7FFFFFFF;
+                    int incarnation = (int) task & 0x7FFFFFFF;
+                    task = (task >>> 62) == EXECUTION_TASK ? tryExecute(txn, incarnation, sink) :
+                            validate(txn, incarnation);
+                }
+                if (task == 0) {
+                    task = nextTask();
+                    if (task == 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }
+            long result = sink[0];
+            long current;
+            do {
+                current = checksum.get();
+            } while (!checksum.compareAndSet(current, current ^ result));
+        }
+
+        private long tryExecute(int txn, int incarnation, long[] sink) {
+            boolean isFirstWrite = readSets.get(txn) == null && block.keysOf[txn].length > 0;
+            while (true) {
+                int blockingTxn = executeTransaction(txn, incarnation, sink);
+                if (blockingTxn == -1) {
+                    return finishExecution(txn, incarnation, isFirstWrite);
+                }
+                if (addDependency(txn, blockingTxn)) {
+                    dependencyAborts.incrementAndGet();
+                    return 0;
+                }
+                // the blocking transaction is executed meanwhile, read again
+            }
+        }
+
+        /**
+         * @return -1 if executed, or the lower transaction whose estimate is read
+         */
+        private int executeTransaction(int txn, int incarnation, long[] sink) {
+            int[] keys = block.keysOf[txn];
+            Version[] reads = new Version[keys.length];
+            long value = txn * HASH_MULTIPLIER;
+            for (int i = 0; i < keys.length; i++) {
+                Version version = store.read(keys[i], txn);
+                if (version != null && version.isEstimate) {
+                    return version.txn;
+                }
+                reads[i] = version;
+                value = mix(value, version == null ? 0 : version.value);
+            }
+            sink[0] ^= work.run(block.executionTimes[txn], txn);
+            executions.incrementAndGet();
+            for (int key : keys) {
+                store.write(key, new Version(txn, incarnation, mix(value, key), false));
+            }
+            readSets.set(txn, reads);
+            return -1;
+        }
+
+        private long validate(int txn, int incarnation) {
+            validations.incrementAndGet();
+            boolean isAborted = !isReadSetValid(txn) && tryValidationAbort(txn, incarnation);
+            if (isAborted) {
+                validationAborts.incrementAndGet();
+                for (int key : block.keysOf[txn]) {
+                    store.write(key, new Version(txn, incarnation, 0, true));
+                }
+            }
+            return finishValidation(txn, isAborted);
+        }
+
+        private boolean isReadSetValid(int txn) {
+            int[] keys = block.keysOf[txn];
+            Version[] reads = readSets.get(txn);
+            for (int i = 0; i < keys.length; i++) {
+                Version version = store.read(keys[i], txn);// every write is a new version object
+                if (version != reads[i] || (version != null && version.isEstimate)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long nextTask() {
+            if (validationIndex.get() < executionIndex.get()) {
+                if (validationIndex.get() >= transactionCount) {
+                    checkDone();
+                    return 0;
+                }
+                activeTaskCount.incrementAndGet();
+                int txn = validationIndex.getAndIncrement();
+                if (txn < transactionCount) {
+                    synchronized (locks[txn]) {
+                        if (statuses[txn] == EXECUTED) {
+                            return getTask(VALIDATION_TASK, txn, incarnations[txn]);
+                        }
+                    }
+                }
+                activeTaskCount.decrementAndGet();
+                return 0;
+            }
+            if (executionIndex.get() >= transactionCount) {
+                checkDone();
+                return 0;
+            }
+            activeTaskCount.incrementAndGet();
+            long task = tryIncarnate(executionIndex.getAndIncrement());
+            if (task == 0) {
+                activeTaskCount.decrementAndGet();
+            }
+            return task;
+        }
+
+        /**
+         * @return the execution task if the transaction is ready, otherwise 0 and the caller is still active
+         */
+        private long tryIncarnate(int txn) {
+            if (txn < transactionCount) {
+                synchronized (locks[txn]) {
+                    if (statuses[txn] == READY_TO_EXECUTE) {
+                        statuses[txn] = EXECUTING;
+                        return getTask(EXECUTION_TASK, txn, incarnations[txn]);
+                    }
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * the locks are taken from the lower transaction to the higher one, as everywhere they are nested
+         *
+         * @return false if the blocking transaction is already executed
+         */
+        private boolean addDependency(int txn, int blockingTxn) {
+            synchronized (locks[blockingTxn]) {
+                if (statuses[blockingTxn] == EXECUTED) {
+                    return false;
+                }
+                synchronized (locks[txn]) {
+                    statuses[txn] = ABORTING;
+                }
+                dependencies.get(blockingTxn).add(txn);
+            }
+            activeTaskCount.decrementAndGet();
+            return true;
+        }
+
+        /**
+         * @param isNewWrite if the keys are written for the first time, the higher transactions that read them
+         *                   before must be validated again
+         */
+        private long finishExecution(int txn, int incarnation, boolean isNewWrite) {
+            int[] waitingTxns;
+            synchronized (locks[txn]) {
+                statuses[txn] = EXECUTED;
+                List<Integer> waiting = dependencies.get(txn);
+                waitingTxns = new int[waiting.size()];
+                for (int i = 0; i < waitingTxns.length; i++) {
+                    waitingTxns[i] = waiting.get(i);
+                }
+                waiting.clear();
+            }
+            if (waitingTxns.length > 0) {
+                int minTxn = Integer.MAX_VALUE;
+                for (int waitingTxn : waitingTxns) {
+                    setReadyStatus(waitingTxn);
+                    minTxn = Math.min(minTxn, waitingTxn);
+                }
+                decrease(executionIndex, minTxn);
+            }
+            if (validationIndex.get() > txn) {// it is lower than the validation index, validated here
+                if (!isNewWrite) {
+                    return getTask(VALIDATION_TASK, txn, incarnation);
+                }
+                decrease(validationIndex, txn);
+            }
+            activeTaskCount.decrementAndGet();
+            return 0;
+        }
+
+        private boolean tryValidationAbort(int txn, int incarnation) {
+            synchronized (locks[txn]) {
+                if (statuses[txn] == EXECUTED && incarnations[txn] == incarnation) {
+                    statuses[txn] = ABORTING;
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        private long finishValidation(int txn, boolean isAborted) {
+            if (isAborted) {
+                setReadyStatus(txn);
+                decrease(validationIndex, txn + 1);
+                if (executionIndex.get() > txn) {// executed again by this thread
+                    long task = tryIncarnate(txn);
+                    if (task != 0) {
+                        return task;
+                    }
+                }
+            }
+            activeTaskCount.decrementAndGet();
+            return 0;
+        }
+
+        private void setReadyStatus(int txn) {
+            synchronized (locks[txn]) {
+                incarnations[txn]++;
+                statuses[txn] = READY_TO_EXECUTE;
+            }
+        }
+
+        private void decrease(AtomicInteger index, int target) {
+            int current;
+            do {
+                current = index.get();
+            } while (current > target && !index.compareAndSet(current, target));
+            decreaseCount.incrementAndGet();
+        }
+
+        private void checkDone() {
+            int observedCount = decreaseCount.get();
+            if (Math.min(executionIndex.get(), validationIndex.get()) >= transactionCount &&
+                    activeTaskCount.get() == 0 && observedCount == decreaseCount.get()) {
+                isDone = true;
+            }
+        }
+    }
+
+    private static long getTask(int type, int txn, int incarnation) {
+        return ((long) type << 62) | ((long) txn << 31) | incarnation;
+    }
+
+    public static void main(String[] args) {
+        int processCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int conflictPercentage = args.length > 2 ? Integer.parseInt(args[2]) : 15;
+        long unitNanos = args.length > 3 ? Long.parseLong(args[3]) : SyntheticWork.DEFAULT_UNIT_NANOS;
+        int repetitions = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+
+        ExecutionFacts facts = DataGenerator.getBenchmark(1, processCount, 5, 10, threadCount, conflictPercentage,
+                100);
+        SyntheticWork work = SyntheticWork.calibrate(unitNanos);
+        BlockStmExecutor blockStmExecutor = new BlockStmExecutor(work, threadCount);
+        PlanExecutor planExecutor = new PlanExecutor(work);
+        ExecutionOutput output = SolverType.OPTIMIZED.newSolver().solve(facts, new ExecutionSettings(-1, -1, 1),
+                new Strategy(Strategy.ProcessSortType.MCDF, 29));
+        blockStmExecutor.execute(facts);// warm up
+        planExecutor.execute(facts, output.computingPlan);
+        for (int i = 0; i < repetitions; i++) {
+            BlockStmReport blockStmReport = blockStmExecutor.execute(facts);
+            ExecutionReport planReport = planExecutor.execute(facts, output.computingPlan);
+            System.out.println("Block-STM: " + blockStmReport);
+            System.out.println(String.format("Plan (%s, solved in %.3f ms): throughput: %.0f tx/s, ",
+                    SolverType.OPTIMIZED, output.wallTimeInMs, planReport.processCount * 1e9 /
+                            planReport.parallelWallNanos) + planReport);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package it.unitn.emvscheduling.greedy.execution;
+
+/**
+ * the measured execution of a block by {@link BlockStmExecutor}, against running the block on one thread
+ */
+public class BlockStmReport {
+    public int processCount;
+    public int threadCount;
+    public int availableProcessors;
+    public int keyCount;// the storage locations, one per conflicting pair
+    public long unitNanos;
+    public long serialWallNanos;
+    public long parallelWallNanos;
+    public long executions;// the incarnations, processCount if nothing is executed again
+    public long validations;
+    public long validationAborts;// a read of the transaction was changed by a lower one
+    public long dependencyAborts;// a read found an estimate of a lower transaction and waited for it
+    public boolean isConsistent;// the final store is the same as the one of the serial execution
+    public long checksum;// the combined result of the synthetic work
+
+    public double getMeasuredSpeedup() {
+        return (double) serialWallNanos / parallelWallNanos;
+    }
+
+    /**
+     * @return transactions per second of the parallel execution
+     */
+    public double getThroughput() {
+        return processCount * 1e9 / parallelWallNanos;
+    }
+
+    /**
+     * @return executions / processCount, 1 if no transaction is executed again
+     */
+    public double getExecutionRatio() {
+        return (double) executions / processCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("processes: %d, threads: %d (processors: %d), keys: %d, measured speedup: %.3f, " +
+                        "throughput: %.0f tx/s, serial: %.3f ms, parallel: %.3f ms, executions: %d (%.3f per tx), " +
+                        "validations: %d, validation aborts: %d, dependency aborts: %d, consistent: %s",
+                processCount, threadCount, availableProcessors, keyCount, getMeasuredSpeedup(), getThroughput(),
+                serialWallNanos / 1e6, parallelWallNanos / 1e6, executions, getExecutionRatio(), validations,
+                validationAborts, dependencyAborts, isConsistent);
+    }
+}
@@ -0,0 +1,59 @@
+package it.unitn.emvscheduling.greedy.execution;
+
+/**
+ * the measured execution of a plan against its model: the modelled speedup is horizon / makespan of the plan, the
+ * measured one is the wall time of running all the processes on one thread / the wall time of running the plan
+ */
+public class ExecutionReport {
+    public int processCount;
+    public int computerCount;
+    public int availableProcessors;
+    public long unitNanos;// the wall time of one unit of execution time
+    public long horizon;
+    public int scheduleMakespan;
+    public long serialWallNanos;
+    public long parallelWallNanos;
+    public long[] waitNanos;// per computer, the time spent waiting for conflicting predecessors
+    public long[] startNanos;// per processId, relative to the start of the parallel run
+    public long[] endNanos;
+    public long checksum;// the combined result of the synthetic work
+
+    public double getModelledSpeedup() {
+        return (double) horizon / scheduleMakespan;
+    }
+
+    public double getMeasuredSpeedup() {
+        return (double) serialWallNanos / parallelWallNanos;
+    }
+
+    /**
+     * @return measured / modelled, below 1 if the real hardware does worse than the model
+     */
+    public double getModelEfficiency() {
+        return getMeasuredSpeedup() / getModelledSpeedup();
+    }
+
+    /**
+     * @return the wall time the plan should take if one unit of execution time took exactly unitNanos
+     */
+    public long getModelledWallNanos() {
+        return scheduleMakespan * unitNanos;
+    }
+
+    public long getTotalWaitNanos() {
+        long total = 0;
+        for (long nanos : waitNanos) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("processes: %d, computers: %d (processors: %d), modelled speedup: %.3f, " +
+                        "measured speedup: %.3f, efficiency: %.3f, modelled wall time: %.3f ms, serial: %.3f ms, " +
+                        "parallel: %.3f ms, waiting: %.3f ms", processCount, computerCount, availableProcessors,
+                getModelledSpeedup(), getMeasuredSpeedup(), getModelEfficiency(), getModelledWallNanos() / 1e6,
+                serialWallNanos / 1e6, parallelWallNanos / 1e6, getTotalWaitNanos() / 1e6);
+    }
+}
@@ -0,0 +1,216 @@
+package it.unitn.emvscheduling.greedy.execution;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputerPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputingPlan;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * runs a plan on real threads, one worker per computer, to compare the measured speedup with the modelled one.
+ * <p>
+ * Each worker runs the processes of its computer in their start time order as {@link SyntheticWork} sized by their
+ * execution time, with no idle time: a process starts as soon as the previous one of its computer ends and its
+ * conflicting predecessors on the other computers have ended. The predecessors are the conflicting processes
+ * planned before it (by start time, then processId), each process has a counter of the unfinished ones which is
+ * the latch: the worker spins shortly and then parks until the last predecessor unparks it. The order is a total
+ * order, so even an invalid plan can not deadlock.
+ * <p>
+ * Note: relies on incremental processId from 0
+ * <p>
+ * Usage: PlanExecutor [solver] [processCount] [computerCount] [conflictPercentage] [unitNanos] [repetitions]
+ */
+public class PlanExecutor {
+    private static final int SPIN_LIMIT = 1_000;
+
+    private final SyntheticWork work;
+
+    public PlanExecutor(SyntheticWork work) {
+        this.work = work;
+    }
+
+    /**
+     * run the assigned processes one after another on the calling thread and then the plan on its workers
+     *
+     * @param facts         the processes must be assigned by the plan
+     * @param computingPlan
+     * @return
+     * @throws IllegalArgumentException if a process is not in the plan
+     */
+    public ExecutionReport execute(ExecutionFacts facts, ComputingPlan computingPlan) {
+        List<Process> processes = facts.processes;
+        int processCount = processes.size();
+        ExecutionReport report = new ExecutionReport();
+        report.processCount = processCount;
+        report.computerCount = computingPlan.computerPlanList.size();
+        report.availableProcessors = Runtime.getRuntime().availableProcessors();
+        report.unitNanos = work.unitNanos;
+        report.scheduleMakespan = computingPlan.getScheduleMakespan();
+        for (Process process : processes) {
+            report.horizon += process.executionTime;
+        }
+
+        long checksum = 0;
+        long startTime = System.nanoTime();
+        for (Process process : processes) {
+            checksum ^= work.run(process.executionTime, process.processId);
+        }
+        report.serialWallNanos = System.nanoTime() - startTime;
+
+        checksum ^= executeParallel(processes, computingPlan, report);
+        report.checksum = checksum;
+        return report;
+    }
+
+    private long executeParallel(List<Process> processes, ComputingPlan computingPlan, ExecutionReport report) {
+        int processCount = processes.size();
+        int computerCount = computingPlan.computerPlanList.size();
+        Comparator<Process> planOrder = new Comparator<Process>() {
+            @Override
+            public int compare(Process o1, Process o2) {
+                if (o1.startTime != o2.startTime) {
+                    return Integer.compare(o1.startTime, o2.startTime);
+                }
+                return Integer.compare(o1.processId, o2.processId);
+            }
+        };
+
+        // the successors on other computers of each process, and the latch counters
+        Process[][] lanes = new Process[computerCount][];
+        int[] laneOf = new int[processCount];
+        Arrays.fill(laneOf, -1);
+        for (int lane = 0; lane < computerCount; lane++) {
+            ComputerPlan computerPlan = computingPlan.computerPlanList.get(lane);
+            lanes[lane] = computerPlan.processList.toArray(new Process[0]);
+            Arrays.sort(lanes[lane], planOrder);
+            for (Process process : lanes[lane]) {
+                laneOf[process.processId] = lane;
+            }
+        }
+        int[][] successors = new int[processCount][];
+        int[] pendingCounts = new int[processCount];
+        for (Process process : processes) {
+            if (laneOf[process.processId] == -1) {
+                throw new IllegalArgumentException("process " + process.processId + " is not in the plan");
+            }
+            int lane = laneOf[process.processId];
+            int successorCount = 0;
+            for (Process conflict : process.conflictingProcesses) {
+                if (laneOf[conflict.processId] != lane && planOrder.compare(process, conflict) < 0) {
+                    successorCount++;
+                }
+            }
+            int[] processSuccessors = new int[successorCount];
+            successorCount = 0;
+            for (Process conflict : process.conflictingProcesses) {
+                if (laneOf[conflict.processId] != lane && planOrder.compare(process, conflict) < 0) {
+                    processSuccessors[successorCount++] = conflict.processId;
+                    pendingCounts[conflict.processId]++;
+                }
+            }
+            successors[process.processId] = processSuccessors;
+        }
+        AtomicIntegerArray pending = new AtomicIntegerArray(pendingCounts);
+
+        Thread[] workers = new Thread[computerCount];
+        long[] results = new long[computerCount];
+        report.waitNanos = new long[computerCount];
+        report.startNanos = new long[processCount];
+        report.endNanos = new long[processCount];
+        CountDownLatch startSignal = new CountDownLatch(1);
+        long[] parallelStartTime = new long[1];
+        for (int lane = 0; lane < computerCount; lane++) {
+            final int workerLane = lane;
+            workers[lane] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startSignal.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    long baseTime = parallelStartTime[0];
+                    long result = 0;
+                    long waitNanos = 0;
+                    for (Process process : lanes[workerLane]) {
+                        int processId = process.processId;
+                        if (pending.get(processId) > 0) {
+                            long waitStartTime = System.nanoTime();
+                            for (int spin = 0; spin < SPIN_LIMIT && pending.get(processId) > 0; spin++) {
+                                Thread.onSpinWait();
+                            }
+                            while (pending.get(processId) > 0) {
+                                LockSupport.park(this);
+                            }
+                            waitNanos += System.nanoTime() - waitStartTime;
+                        }
+                        report.startNanos[processId] = System.nanoTime() - baseTime;
+                        result ^= work.run(process.executionTime, processId);
+                        report.endNanos[processId] = System.nanoTime() - baseTime;
+                        for (int successor : successors[processId]) {
+                            if (pending.decrementAndGet(successor) == 0) {
+                                LockSupport.unpark(workers[laneOf[successor]]);
+                            }
+                        }
+                    }
+                    results[workerLane] = result;
+                    report.waitNanos[workerLane] = waitNanos;
+                }
+            }, "plan-executor-" + lane);
+            workers[lane].setDaemon(true);
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+
+        parallelStartTime[0] = System.nanoTime();
+        startSignal.countDown();
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while executing the plan", e);
+        }
+        report.parallelWallNanos = System.nanoTime() - parallelStartTime[0];
+
+        long checksum = 0;
+        for (long result : results) {
+            checksum ^= result;
+        }
+        return checksum;
+    }
+
+    public static void main(String[] args) {
+        SolverType solverType = args.length > 0 ? SolverType.getByName(args[0]) : SolverType.OPTIMIZED;
+        int processCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int computerCount = args.length > 2 ? Integer.parseInt(args[2]) :
+                Runtime.getRuntime().availableProcessors();
+        int conflictPercentage = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        long unitNanos = args.length > 4 ? Long.parseLong(args[4]) : SyntheticWork.DEFAULT_UNIT_NANOS;
+        int repetitions = args.length > 5 ? Integer.parseInt(args[5]) : 5;
+
+        ExecutionFacts facts = DataGenerator.getBenchmark(1, processCount, 5, 10, computerCount, conflictPercentage,
+                100);
+        ExecutionOutput output = solverType.newSolver().solve(facts, new ExecutionSettings(-1, -1, 1),
+                new Strategy(Strategy.ProcessSortType.MCDF, 29));
+        PlanExecutor executor = new PlanExecutor(SyntheticWork.calibrate(unitNanos));
+        executor.execute(facts, output.computingPlan);// warm up
+        for (int i = 0; i < repetitions; i++) {
+            System.out.println(solverType + ": " + executor.execute(facts, output.computingPlan));
+        }
+    }
+}
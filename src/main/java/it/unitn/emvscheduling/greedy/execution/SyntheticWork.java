@@ -0,0 +1,64 @@
+package it.unitn.emvscheduling.greedy.execution;
+
+/**
+ * CPU-bound work standing in for the execution of a transaction: a xorshift loop without memory access or
+ * allocation, so it scales with the cores and not with the memory bandwidth.
+ * <p>
+ * One unit of {@link it.unitn.emvscheduling.greedy.domain.Process#executionTime} is calibrated to about
+ * {@link #unitNanos} nanoseconds of work on the current machine.
+ */
+public class SyntheticWork {
+    public static final long DEFAULT_UNIT_NANOS = 10_000;// 10 microseconds per unit of execution time
+    private static final int CALIBRATION_ROUNDS = 5;
+    private static final long CALIBRATION_ITERATIONS = 2_000_000;
+    private static volatile long calibrationSink;// the result of the calibration loop, so it is not removed
+
+    public final long unitNanos;
+    public final long iterationsPerUnit;
+
+    private SyntheticWork(long unitNanos, long iterationsPerUnit) {
+        this.unitNanos = unitNanos;
+        this.iterationsPerUnit = iterationsPerUnit;
+    }
+
+    /**
+     * measure the loop on the calling thread, the fastest of a few rounds is kept so the first ones warm it up
+     *
+     * @param unitNanos the wall time of one unit of execution time
+     * @return
+     */
+    public static SyntheticWork calibrate(long unitNanos) {
+        if (unitNanos <= 0) {
+            throw new IllegalArgumentException("unitNanos must be positive");
+        }
+        long fastestNanos = Long.MAX_VALUE;
+        long seed = 1;
+        for (int round = 0; round < CALIBRATION_ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            seed = spin(seed, CALIBRATION_ITERATIONS);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - startTime);
+        }
+        calibrationSink = seed;
+        long iterationsPerUnit = Math.max(1, CALIBRATION_ITERATIONS * unitNanos / Math.max(1, fastestNanos));
+        return new SyntheticWork(unitNanos, iterationsPerUnit);
+    }
+
+    /**
+     * @param executionTime the units of work
+     * @param seed          any value, different per process so the work is not shared
+     * @return the result of the work, must be consumed by the caller
+     */
+    public long run(int executionTime, long seed) {
+        return spin(seed | 1, iterationsPerUnit * executionTime);
+    }
+
+    private static long spin(long seed, long iterations) {
+        long x = seed == 0 ? 1 : seed;
+        for (long i = 0; i < iterations; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,72 @@
+package it.unitn.emvscheduling.greedy.monitoring;
+
+import it.unitn.emvscheduling.greedy.domain.Process;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * the placement of a process on a computer, sampled: only the processes whose id is a multiple of
+ * {@link #SAMPLING_INTERVAL} are recorded, so a recording of a large block stays small and a disabled event costs one
+ * modulo per placement
+ * <p>
+ * The interval is set by the system property emvscheduling.jfr.assignmentSampling (default: 64, 1 records all)
+ */
+@Name("it.unitn.emvscheduling.Assignment")
+@Label("Assignment")
+@Category({"EVM Scheduling"})
+@Description("A sampled placement of a process on a computer")
+@StackTrace(false)
+public class AssignmentEvent extends jdk.jfr.Event {
+    public static final int SAMPLING_INTERVAL =
+            Math.max(1, Integer.getInteger("emvscheduling.jfr.assignmentSampling", 64));
+
+    @Label("Process Id")
+    public int processId;
+
+    @Label("Computer Id")
+    public int computerId;
+
+    @Label("Scheduled Start")
+    @Description("The start time of the process in the schedule (startTime is the JFR timestamp of the event)")
+    public int scheduledStart;
+
+    @Label("Delay")
+    @Description("The idle time before the process on its computer, introduced to wait for its conflicts")
+    public int delay;
+
+    @Label("Conflict Checks")
+    @Description("The conflicting processes looked at to place the process, counted as in the Conflict Checks of the " +
+            "solve call")
+    public long conflictChecks;
+
+    @Label("Strict")
+    @Description("Placed strictly (waiting for the conflicts) instead of loosely")
+    public boolean strict;
+
+    /**
+     * record the placement if the process is sampled and the event is enabled
+     *
+     * @param process        already placed
+     * @param delay
+     * @param conflictChecks
+     * @param strict
+     */
+    public static void emit(Process process, int delay, long conflictChecks, boolean strict) {
+        if (process.processId % SAMPLING_INTERVAL != 0) {
+            return;
+        }
+        AssignmentEvent event = new AssignmentEvent();
+        if (event.shouldCommit()) {
+            event.processId = process.processId;
+            event.computerId = process.computer.computerId;
+            event.scheduledStart = process.startTime;
+            event.delay = delay;
+            event.conflictChecks = conflictChecks;
+            event.strict = strict;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package it.unitn.emvscheduling.greedy.monitoring;
+
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * one solve call, from its start to its end, see {@link #start()} and {@link #finish}
+ * <p>
+ * Note: like all the JFR events, it is a no-op unless a recording with it enabled is running, e.g.
+ * -XX:StartFlightRecording:settings=profile or jcmd &lt;pid&gt; JFR.start
+ */
+@Name("it.unitn.emvscheduling.Solve")
+@Label("Solve")
+@Category({"EVM Scheduling"})
+@Description("A solve call of a scheduler")
+@StackTrace(false)
+public class SolveEvent extends jdk.jfr.Event {
+    @Label("Solver")
+    public String solver;
+
+    @Label("Proposer Mode")
+    public boolean proposerMode;
+
+    @Label("Assignment Type")
+    public String assignmentType;
+
+    @Label("Process Count")
+    public int processCount;
+
+    @Label("Computer Count")
+    public int computerCount;
+
+    @Label("Makespan")
+    @Description("The schedule makespan in the execution time unit of the processes")
+    public int makespan;
+
+    @Label("Horizon")
+    @Description("The serial execution time of all the processes")
+    public long horizon;
+
+    @Label("Loose Rounds Used")
+    public int looseRoundsUsed;
+
+    @Label("Strictly Placed Processes")
+    public int strictlyPlacedProcesses;
+
+    @Label("Conflict Checks")
+    public long conflictChecks;
+
+    @Label("Violations")
+    @Description("The violations found by the schedule validator, if it is enabled")
+    public int violationCount;
+
+    @Label("Ordering Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long orderingNanos;
+
+    /**
+     * @return a begun event, to be finished after the solve call
+     */
+    public static SolveEvent start() {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * end the event and commit it if it is enabled
+     *
+     * @param solver
+     * @param facts
+     * @param strategy
+     * @param output   the output of the solve call
+     */
+    public void finish(String solver, ExecutionFacts facts, Strategy strategy, ExecutionOutput output) {
+        end();
+        if (shouldCommit()) {
+            this.solver = solver;
+            proposerMode = facts.isProposerMode;
+            assignmentType = strategy.assignmentType.name();
+            processCount = facts.processes.size();
+            computerCount = facts.computers.size();
+            if (output.scheduleMakespan != null) {
+                makespan = output.scheduleMakespan;
+            }
+            if (output.horizon != null) {
+                horizon = output.horizon;
+            }
+            if (output.metrics != null) {
+                looseRoundsUsed = output.metrics.looseRoundsUsed;
+                strictlyPlacedProcesses = output.metrics.strictlyPlacedProcesses;
+                conflictChecks = output.metrics.conflictChecks;
+                orderingNanos = output.metrics.orderingNanos;
+            }
+            if (output.violations != null) {
+                violationCount = output.violations.size();
+            }
+            commit();
+        }
+    }
+}
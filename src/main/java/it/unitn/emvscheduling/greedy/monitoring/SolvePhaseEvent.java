@@ -0,0 +1,65 @@
+package it.unitn.emvscheduling.greedy.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * a phase of a solve call, the phases of a call follow each other without gaps:
+ * {@link #ORDERING}, {@link #LOOSE} (only for the LOOSE assignment type) and {@link #STRICT}, recorded by the phase
+ * methods of {@link it.unitn.emvscheduling.greedy.domain.SolverMetrics}
+ */
+@Name("it.unitn.emvscheduling.SolvePhase")
+@Label("Solve Phase")
+@Category({"EVM Scheduling"})
+@Description("A phase of a solve call of a scheduler")
+@StackTrace(false)
+public class SolvePhaseEvent extends jdk.jfr.Event {
+    public static final String ORDERING = "ordering";
+    public static final String LOOSE = "loose";
+    public static final String STRICT = "strict";
+
+    @Label("Solver")
+    public String solver;
+
+    @Label("Phase")
+    public String phase;
+
+    /**
+     * @return a begun event, to be finished at the end of the phase
+     */
+    public static SolvePhaseEvent start() {
+        SolvePhaseEvent event = new SolvePhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * end the event and commit it if it is enabled
+     *
+     * @param solver
+     * @param phase  one of {@link #ORDERING}, {@link #LOOSE} or {@link #STRICT}
+     */
+    public void finish(String solver, String phase) {
+        end();
+        if (shouldCommit()) {
+            this.solver = solver;
+            this.phase = phase;
+            commit();
+        }
+    }
+
+    /**
+     * finish this event and start the one of the next phase
+     *
+     * @param solver
+     * @param phase  the phase of this event
+     * @return a begun event
+     */
+    public SolvePhaseEvent next(String solver, String phase) {
+        finish(solver, phase);
+        return start();
+    }
+}
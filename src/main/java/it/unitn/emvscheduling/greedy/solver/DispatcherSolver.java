@@ -4,15 +4,27 @@ import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
 import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
 import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
 import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.SolverMetrics;
 import it.unitn.emvscheduling.greedy.domain.solver.ComputingPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleValidator;
+import it.unitn.emvscheduling.greedy.monitoring.SolveEvent;
 
 public class DispatcherSolver implements Solver {
+    private static final String SOLVER_NAME = SolverType.DISPATCHER.name();
+
     public ExecutionOutput solve(ExecutionFacts facts, ExecutionSettings settings, Strategy strategy) {
+        SolveEvent event = SolveEvent.start();
+        ExecutionOutput output;
         if (facts.isProposerMode) {
-            return solveProposer(facts, settings, strategy);
+            output = solveProposer(facts, settings, strategy);
         } else {
-            return solveAttestor(facts, settings, strategy);
+            output = solveAttestor(facts, settings, strategy);
+        }
+        if (settings.validateSchedule) {
+            ScheduleValidator.validate(facts, output);
         }
+        event.finish(SOLVER_NAME, facts, strategy, output);
+        return output;
     }
 
     private ExecutionOutput solveProposer(ExecutionFacts facts, ExecutionSettings settings, Strategy strategy) {
@@ -27,9 +39,12 @@ public class DispatcherSolver implements Solver {
         long horizon = 0;
         //ComputingPlan as a singleton class
         ComputingPlan computingPlan = new ComputingPlan(facts);
+        SolverMetrics metrics = new SolverMetrics();
 
+        metrics.startOrdering(SOLVER_NAME);
         facts.sortProcesses(strategy.processSortType);
-        Integer heuristicLooseReviewRound = strategy.looseReviewRound;
+        metrics.endOrdering();
+        int heuristicLooseReviewRound = strategy.looseReviewRound;
         /*Integer heuristicLooseReviewRound = LooseReviewRoundCalculator.getValue(facts.processes.size(),
                 facts.conflictPercentage, facts.computers.size(),
                 LooseReviewRoundCalculator.HeuristicType.getByValue(5));
@@ -40,6 +55,7 @@ public class DispatcherSolver implements Solver {
         // .looseReviewRound;
         if (strategy.assignmentType.equals(Strategy.AssignmentType.LOOSE)) {
             for (int round = 0; round <heuristicLooseReviewRound ; round++) {
+                metrics.looseRoundsUsed++;
                 int unassignedProcesses = 0;
                 for (Process process : facts.processes) {
                     if (round == 0) {
@@ -53,13 +69,16 @@ public class DispatcherSolver implements Solver {
                             unassignedProcesses++;
                     }
                 }
+                metrics.failedLooseAttempts += unassignedProcesses;
                 if (unassignedProcesses == 0)
                     break; // do not go for next round if there is no unassigned process
             }
+            metrics.endLoose();
             //after looseRound times attempt of assigning loosely, assign the remaining strictly
             for (Process process : facts.processes) {
                 if (process.computer == null) {// if the process is not assigned yet
                     computingPlan.assignStrictly(process);
+                    metrics.strictlyPlacedProcesses++;
                 }
             }
         } else if (strategy.assignmentType.equals(Strategy.AssignmentType.STRICT) || (facts.conflictingProcesses == null || facts.conflictingProcesses.size() == 0)) {
@@ -68,15 +87,19 @@ public class DispatcherSolver implements Solver {
                 horizon += process.executionTime;
                 computingPlan.assignStrictly(process);
             }
+            metrics.strictlyPlacedProcesses = facts.processes.size();
         } else {
             throw new RuntimeException("not supported assignment type of: " + strategy.assignmentType);
         }
+        long endSystemTimeNanoSecond = metrics.endStrict();
+        metrics.collect(computingPlan);
         solverOutput.horizon = horizon;
         solverOutput.scheduleMakespan = computingPlan.getScheduleMakespan();
-        long endSystemTimeNanoSecond = System.nanoTime();
         solverOutput.wallTimeInMs = (endSystemTimeNanoSecond - startSystemTimeNanoSecond) / 1000000.0;
         solverOutput.resultStatus = "possible";
         solverOutput.processes = facts.processes;
+        solverOutput.computingPlan = computingPlan;
+        solverOutput.metrics = metrics;
         //System.out.println(computingPlan);
         return solverOutput;
         //todo you can implement the timeout based on the it.unitn.emvscheduling.declarative.data from settings
@@ -93,14 +116,18 @@ public class DispatcherSolver implements Solver {
 
         //ComputingPlan as a singleton class
         ComputingPlan computingPlan = new ComputingPlan(facts);
+        SolverMetrics metrics = new SolverMetrics();
 
 //        facts.sortProcesses(strategy.processSortType);
+        metrics.startOrdering(SOLVER_NAME);
         facts.moveConflictingTransactionsToFront();
+        metrics.endOrdering();
         if (strategy.assignmentType.equals(Strategy.AssignmentType.LOOSE)) {
             for (Process process : facts.processes) {
                 horizon += process.executionTime;
             }
             for (int round = 0; round < strategy.looseReviewRound; round++) {
+                metrics.looseRoundsUsed++;
                 int unassignedProcesses = 0;
                 for (Process process : facts.processes) {
                     if (process.computer == null) {// if the process is not assigned yet
@@ -114,6 +141,7 @@ public class DispatcherSolver implements Solver {
                              */
                             Boolean allPreviousConflictAreAssigned = true;
                             for (Process processC : process.conflictingProcesses) {
+                                computingPlan.conflictCheckCount++;
                                 if (processC.processId < process.processId && processC.computer == null) {
                                     allPreviousConflictAreAssigned = false;
                                     break;
@@ -133,13 +161,16 @@ public class DispatcherSolver implements Solver {
                         }
                     }
                 }
+                metrics.failedLooseAttempts += unassignedProcesses;
                 if (unassignedProcesses == 0)
                     break; // do not go for next round if there is no unassigned process
             }
+            metrics.endLoose();
             //after looseRound times attempt of assigning loosely, assign the remaining strictly
             for (Process process : facts.processes) {
                 if (process.computer == null) {// if the process is not assigned yet
                     computingPlan.assignStrictly(process);
+                    metrics.strictlyPlacedProcesses++;
                 }
             }
         } else if (strategy.assignmentType.equals(Strategy.AssignmentType.STRICT) || (facts.conflictingProcesses == null || facts.conflictingProcesses.size() == 0)) {
@@ -148,15 +179,19 @@ public class DispatcherSolver implements Solver {
                 horizon += process.executionTime;
                 computingPlan.assignStrictly(process);
             }
+            metrics.strictlyPlacedProcesses = facts.processes.size();
         } else {
             throw new RuntimeException("not supported assignment type of: " + strategy.assignmentType);
         }
+        long endSystemTimeNanoSecond = metrics.endStrict();
+        metrics.collect(computingPlan);
         solverOutput.horizon = horizon;
         solverOutput.scheduleMakespan = computingPlan.getScheduleMakespan();
-        long endSystemTimeNanoSecond = System.nanoTime();
         solverOutput.wallTimeInMs = (endSystemTimeNanoSecond - startSystemTimeNanoSecond) / 1_000_000.0;
         solverOutput.resultStatus = "possible";
         solverOutput.processes = facts.processes;
+        solverOutput.computingPlan = computingPlan;
+        solverOutput.metrics = metrics;
         //System.out.println(computingPlan);
         return solverOutput;
         //todo you can implement the timeout based on the it.unitn.emvscheduling.declarative.data from settings
@@ -4,32 +4,46 @@ import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
 import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
 import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
 import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.SolverMetrics;
 import it.unitn.emvscheduling.greedy.domain.solver.ComputerPlan;
 import it.unitn.emvscheduling.greedy.domain.solver.ComputingPlan;
-
-import java.util.*;
-import java.util.stream.Collectors;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleValidator;
+import it.unitn.emvscheduling.greedy.monitoring.AssignmentEvent;
+import it.unitn.emvscheduling.greedy.monitoring.SolveEvent;
 
 public class OptimizedDispatcherSolver implements Solver {
+    private static final String SOLVER_NAME = SolverType.OPTIMIZED.name();
+
     public ExecutionOutput solve(ExecutionFacts facts, ExecutionSettings settings, Strategy strategy) {
+        SolveEvent event = SolveEvent.start();
+        ExecutionOutput output;
         if (facts.isProposerMode) {
-            return solveProposer(facts, settings, strategy);
+            output = solveProposer(facts, settings, strategy);
         } else {
-            return solveAttestor(facts, settings, strategy);
+            output = solveAttestor(facts, settings, strategy);
+        }
+        if (settings.validateSchedule) {
+            ScheduleValidator.validate(facts, output);
         }
+        event.finish(SOLVER_NAME, facts, strategy, output);
+        return output;
     }
 
     private ExecutionOutput solveProposer(ExecutionFacts facts, ExecutionSettings settings, Strategy strategy) {
         long startTime = System.nanoTime();
         ExecutionOutput output = new ExecutionOutput();
         ComputingPlan plan = new ComputingPlan(facts);
+        SolverMetrics metrics = new SolverMetrics();
 
         // Sort processes by execution time (longest first)
+        metrics.startOrdering(SOLVER_NAME);
         facts.sortProcesses(strategy.processSortType);
+        metrics.endOrdering();
 
         // Phase 1: Loose Assignment - Try to assign processes without conflicts
         if (strategy.assignmentType.equals(Strategy.AssignmentType.LOOSE)) {
             for (int round = 0; round < strategy.looseReviewRound; round++) {
+                metrics.looseRoundsUsed++;
                 int unassignedProcesses = 0;
                 for (Process process : facts.processes) {
                     if (process.computer == null) {
@@ -39,6 +53,7 @@ public class OptimizedDispatcherSolver implements Solver {
                         } else {
                             boolean allPreviousConflictsAssigned = true;
                             for (Process conflict : process.conflictingProcesses) {
+                                plan.conflictCheckCount++;
                                 if (conflict.processId < process.processId && conflict.computer == null) {
                                     allPreviousConflictsAssigned = false;
                                     break;
@@ -53,13 +68,16 @@ public class OptimizedDispatcherSolver implements Solver {
                         }
                     }
                 }
+                metrics.failedLooseAttempts += unassignedProcesses;
                 if (unassignedProcesses == 0) break;
             }
+            metrics.endLoose();
 
             // Phase 2: Strict Assignment for remaining processes
             for (Process process : facts.processes) {
                 if (process.computer == null) {
                     assignStrictly(process, plan);
+                    metrics.strictlyPlacedProcesses++;
                 }
             }
         } else {
@@ -67,13 +85,23 @@ public class OptimizedDispatcherSolver implements Solver {
             for (Process process : facts.processes) {
                 assignStrictly(process, plan);
             }
+            metrics.strictlyPlacedProcesses = facts.processes.size();
         }
 
-        output.horizon = facts.processes.stream().mapToLong(p -> p.executionTime).sum();
+        long endTime = metrics.endStrict();
+        metrics.collect(plan);
+
+        long horizon = 0;
+        for (Process process : facts.processes) {
+            horizon += process.executionTime;
+        }
+        output.horizon = horizon;
         output.scheduleMakespan = plan.getScheduleMakespan();
-        output.wallTimeInMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        output.wallTimeInMs = (endTime - startTime) / 1_000_000.0;
         output.resultStatus = "possible";
         output.processes = facts.processes;
+        output.computingPlan = plan;
+        output.metrics = metrics;
 
         return output;
     }
@@ -94,14 +122,10 @@ public class OptimizedDispatcherSolver implements Solver {
             throw new RuntimeException("Could not find computer for process " + process.processId);
         }
 
-        // Check if there are any conflicts at the start time
+        // Check if there are any conflicts while it runs
         int startTime = firstFreeTime;
-        for (Process conflict : process.conflictingProcesses) {
-            if (conflict.computer != null && !conflict.computer.equals(selectedCore.computer)) {
-                if (startTime >= conflict.startTime && startTime <= conflict.endTime) {
-                    return false;
-                }
-            }
+        if (!plan.isConflictFree(process, selectedCore.computer, startTime)) {
+            return false;
         }
 
         // If no conflicts, assign the process
@@ -111,6 +135,7 @@ public class OptimizedDispatcherSolver implements Solver {
         selectedCore.processList.add(process);
         selectedCore.firstFreeTime = process.endTime;
         selectedCore.busyTimeSum += process.executionTime;
+        AssignmentEvent.emit(process, 0, process.conflictingProcesses.size(), false);
         return true;
     }
 
@@ -132,6 +157,7 @@ public class OptimizedDispatcherSolver implements Solver {
 
         // Calculate start time considering conflicts
         int startTime = firstFreeTime;
+        plan.conflictCheckCount += process.conflictingProcesses.size();
         for (Process conflict : process.conflictingProcesses) {
             if (conflict.computer != null) {
                 startTime = Math.max(startTime, conflict.endTime);
@@ -147,19 +173,24 @@ public class OptimizedDispatcherSolver implements Solver {
         selectedCore.firstFreeTime = process.endTime;
         selectedCore.busyTimeSum += process.executionTime;
         selectedCore.idleTimeSum += process.idleDuration;
+        AssignmentEvent.emit(process, process.idleDuration, process.conflictingProcesses.size(), true);
     }
 
     private ExecutionOutput solveAttestor(ExecutionFacts facts, ExecutionSettings settings, Strategy strategy) {
         long startTime = System.nanoTime();
         ExecutionOutput output = new ExecutionOutput();
         ComputingPlan plan = new ComputingPlan(facts);
+        SolverMetrics metrics = new SolverMetrics();
 
         // Move conflicting transactions to front
+        metrics.startOrdering(SOLVER_NAME);
         facts.moveConflictingTransactionsToFront();
+        metrics.endOrdering();
 
         // Phase 1: Loose Assignment with order preservation
         if (strategy.assignmentType.equals(Strategy.AssignmentType.LOOSE)) {
             for (int round = 0; round < strategy.looseReviewRound; round++) {
+                metrics.looseRoundsUsed++;
                 int unassignedProcesses = 0;
                 for (Process process : facts.processes) {
                     if (process.computer == null) {
@@ -169,6 +200,7 @@ public class OptimizedDispatcherSolver implements Solver {
                         } else {
                             boolean allPreviousConflictsAssigned = true;
                             for (Process conflict : process.conflictingProcesses) {
+                                plan.conflictCheckCount++;
                                 if (conflict.processId < process.processId && conflict.computer == null) {
                                     allPreviousConflictsAssigned = false;
                                     break;
@@ -183,13 +215,16 @@ public class OptimizedDispatcherSolver implements Solver {
                         }
                     }
                 }
+                metrics.failedLooseAttempts += unassignedProcesses;
                 if (unassignedProcesses == 0) break;
             }
+            metrics.endLoose();
 
             // Phase 2: Strict Assignment with order preservation
             for (Process process : facts.processes) {
                 if (process.computer == null) {
                     assignStrictly(process, plan);
+                    metrics.strictlyPlacedProcesses++;
                 }
             }
         } else {
@@ -197,13 +232,23 @@ public class OptimizedDispatcherSolver implements Solver {
             for (Process process : facts.processes) {
                 assignStrictly(process, plan);
             }
+            metrics.strictlyPlacedProcesses = facts.processes.size();
         }
 
-        output.horizon = facts.processes.stream().mapToLong(p -> p.executionTime).sum();
+        long endTime = metrics.endStrict();
+        metrics.collect(plan);
+
+        long horizon = 0;
+        for (Process process : facts.processes) {
+            horizon += process.executionTime;
+        }
+        output.horizon = horizon;
         output.scheduleMakespan = plan.getScheduleMakespan();
-        output.wallTimeInMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        output.wallTimeInMs = (endTime - startTime) / 1_000_000.0;
         output.resultStatus = "possible";
         output.processes = facts.processes;
+        output.computingPlan = plan;
+        output.metrics = metrics;
 
         return output;
     }
@@ -1,15 +1,22 @@
 package it.unitn.emvscheduling.greedy.solver;
 
+import it.unitn.emvscheduling.greedy.domain.Computer;
 import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
 import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
 import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
 import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.SolverMetrics;
 import it.unitn.emvscheduling.greedy.domain.solver.ComputerPlan;
 import it.unitn.emvscheduling.greedy.domain.solver.ComputingPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleValidator;
+import it.unitn.emvscheduling.greedy.monitoring.AssignmentEvent;
+import it.unitn.emvscheduling.greedy.monitoring.SolveEvent;
 
 import java.util.*;
 
 public class ScalableDispatcherSolver implements Solver {
+    private static final String SOLVER_NAME = SolverType.SCALABLE.name();
+
     
     // Configuration for improved scheduling
     private static final int MAX_LOOKAHEAD_DEPTH = 3;
@@ -17,11 +24,18 @@ public class ScalableDispatcherSolver implements Solver {
     private static final double CONFLICT_AVOIDANCE_WEIGHT = 0.7;
     
     public ExecutionOutput solve(ExecutionFacts facts, ExecutionSettings settings, Strategy strategy) {
+        SolveEvent event = SolveEvent.start();
+        ExecutionOutput output;
         if (facts.isProposerMode) {
-            return solveProposer(facts, settings, strategy);
+            output = solveProposer(facts, settings, strategy);
         } else {
-            return solveAttestor(facts, settings, strategy);
+            output = solveAttestor(facts, settings, strategy);
+        }
+        if (settings.validateSchedule) {
+            ScheduleValidator.validate(facts, output);
         }
+        event.finish(SOLVER_NAME, facts, strategy, output);
+        return output;
     }
 
     private ExecutionOutput solveProposer(ExecutionFacts facts, ExecutionSettings settings, Strategy strategy) {
@@ -32,20 +46,26 @@ public class ScalableDispatcherSolver implements Solver {
 
         // Create computing plan
         ComputingPlan computingPlan = new ComputingPlan(facts);
+        SolverMetrics metrics = new SolverMetrics();
 
         // Sort processes based on strategy
+        metrics.startOrdering(SOLVER_NAME);
         facts.sortProcesses(strategy.processSortType);
 
         // Pre-process: Calculate conflict density for each process
         calculateConflictDensity(facts);
+        metrics.endOrdering();
 
         if (strategy.assignmentType.equals(Strategy.AssignmentType.LOOSE)) {
+            // reused in all the rounds
+            List<Process> unassignedProcessesList = new ArrayList<>(facts.processes.size());
             // Improved loose assignment with better load balancing
             for (int round = 0; round < strategy.looseReviewRound; round++) {
+                metrics.looseRoundsUsed++;
                 int unassignedProcesses = 0;
                 
                 // Sort unassigned processes by priority (conflict density + execution time)
-                List<Process> unassignedProcessesList = getUnassignedProcesses(facts.processes);
+                getUnassignedProcesses(facts.processes, unassignedProcessesList);
                 if (unassignedProcessesList.isEmpty()) break;
                 
                 sortUnassignedProcessesByPriority(unassignedProcessesList);
@@ -58,13 +78,16 @@ public class ScalableDispatcherSolver implements Solver {
                     }
                 }
                 
+                metrics.failedLooseAttempts += unassignedProcesses;
                 if (unassignedProcesses == 0) break;
             }
+            metrics.endLoose();
             
             // Assign remaining processes strictly
             for (Process process : facts.processes) {
                 if (process.computer == null) {
                     assignProcessStrictlyOptimized(computingPlan, process, facts);
+                    metrics.strictlyPlacedProcesses++;
                 }
             }
         } else if (strategy.assignmentType.equals(Strategy.AssignmentType.STRICT) || 
@@ -74,16 +97,20 @@ public class ScalableDispatcherSolver implements Solver {
                 horizon += process.executionTime;
                 assignProcessStrictlyOptimized(computingPlan, process, facts);
             }
+            metrics.strictlyPlacedProcesses = facts.processes.size();
         } else {
             throw new RuntimeException("not supported assignment type of: " + strategy.assignmentType);
         }
 
+        long endSystemTimeNanoSecond = metrics.endStrict();
+        metrics.collect(computingPlan);
         solverOutput.horizon = horizon;
         solverOutput.scheduleMakespan = computingPlan.getScheduleMakespan();
-        long endSystemTimeNanoSecond = System.nanoTime();
         solverOutput.wallTimeInMs = (endSystemTimeNanoSecond - startSystemTimeNanoSecond) / 1000000.0;
         solverOutput.resultStatus = "possible";
         solverOutput.processes = facts.processes;
+        solverOutput.computingPlan = computingPlan;
+        solverOutput.metrics = metrics;
         
         return solverOutput;
     }
@@ -95,22 +122,28 @@ public class ScalableDispatcherSolver implements Solver {
         long horizon = 0;
 
         ComputingPlan computingPlan = new ComputingPlan(facts);
+        SolverMetrics metrics = new SolverMetrics();
 
         // Move conflicting transactions to front for attestor mode
+        metrics.startOrdering(SOLVER_NAME);
         facts.moveConflictingTransactionsToFront();
         
         // Pre-process: Calculate conflict density
         calculateConflictDensity(facts);
+        metrics.endOrdering();
 
         if (strategy.assignmentType.equals(Strategy.AssignmentType.LOOSE)) {
             for (Process process : facts.processes) {
                 horizon += process.executionTime;
             }
             
+            // reused in all the rounds
+            List<Process> unassignedProcessesList = new ArrayList<>(facts.processes.size());
             for (int round = 0; round < strategy.looseReviewRound; round++) {
+                metrics.looseRoundsUsed++;
                 int unassignedProcesses = 0;
                 
-                List<Process> unassignedProcessesList = getUnassignedProcesses(facts.processes);
+                getUnassignedProcesses(facts.processes, unassignedProcessesList);
                 if (unassignedProcessesList.isEmpty()) break;
                 
                 for (Process process : unassignedProcessesList) {
@@ -123,6 +156,7 @@ public class ScalableDispatcherSolver implements Solver {
                         // Check if all previous conflicting processes are assigned
                         boolean allPreviousConflictsAssigned = true;
                         for (Process conflictProcess : process.conflictingProcesses) {
+                            computingPlan.conflictCheckCount++;
                             if (conflictProcess.processId < process.processId && conflictProcess.computer == null) {
                                 allPreviousConflictsAssigned = false;
                                 break;
@@ -139,13 +173,16 @@ public class ScalableDispatcherSolver implements Solver {
                     }
                 }
                 
+                metrics.failedLooseAttempts += unassignedProcesses;
                 if (unassignedProcesses == 0) break;
             }
+            metrics.endLoose();
             
             // Assign remaining processes strictly
             for (Process process : facts.processes) {
                 if (process.computer == null) {
                     assignProcessStrictlyOptimized(computingPlan, process, facts);
+                    metrics.strictlyPlacedProcesses++;
                 }
             }
         } else if (strategy.assignmentType.equals(Strategy.AssignmentType.STRICT) || 
@@ -154,16 +191,20 @@ public class ScalableDispatcherSolver implements Solver {
                 horizon += process.executionTime;
                 assignProcessStrictlyOptimized(computingPlan, process, facts);
             }
+            metrics.strictlyPlacedProcesses = facts.processes.size();
         } else {
             throw new RuntimeException("not supported assignment type of: " + strategy.assignmentType);
         }
 
+        long endSystemTimeNanoSecond = metrics.endStrict();
+        metrics.collect(computingPlan);
         solverOutput.horizon = horizon;
         solverOutput.scheduleMakespan = computingPlan.getScheduleMakespan();
-        long endSystemTimeNanoSecond = System.nanoTime();
         solverOutput.wallTimeInMs = (endSystemTimeNanoSecond - startSystemTimeNanoSecond) / 1_000_000.0;
         solverOutput.resultStatus = "possible";
         solverOutput.processes = facts.processes;
+        solverOutput.computingPlan = computingPlan;
+        solverOutput.metrics = metrics;
         
         return solverOutput;
     }
@@ -181,16 +222,15 @@ public class ScalableDispatcherSolver implements Solver {
     }
 
     /**
-     * Get list of unassigned processes
+     * Collect the unassigned processes into the given (reused) list
      */
-    private List<Process> getUnassignedProcesses(List<Process> processes) {
-        List<Process> unassigned = new ArrayList<>();
+    private void getUnassignedProcesses(List<Process> processes, List<Process> unassigned) {
+        unassigned.clear();
         for (Process process : processes) {
             if (process.computer == null) {
                 unassigned.add(process);
             }
         }
-        return unassigned;
     }
 
     /**
@@ -199,9 +239,9 @@ public class ScalableDispatcherSolver implements Solver {
     private void sortUnassignedProcessesByPriority(List<Process> processes) {
         processes.sort((p1, p2) -> {
             // Higher conflict density and longer execution time get higher priority
-            double priority1 = (p1.totalConflictDuration != null ? p1.totalConflictDuration : 0) + p1.executionTime;
-            double priority2 = (p2.totalConflictDuration != null ? p2.totalConflictDuration : 0) + p2.executionTime;
-            return Double.compare(priority2, priority1); // Descending order
+            int priority1 = p1.totalConflictDuration + p1.executionTime;
+            int priority2 = p2.totalConflictDuration + p2.executionTime;
+            return Integer.compare(priority2, priority1); // Descending order
         });
     }
 
@@ -209,6 +249,7 @@ public class ScalableDispatcherSolver implements Solver {
      * Optimally assign a process considering load balancing and conflict avoidance
      */
     private boolean assignProcessOptimally(ComputingPlan computingPlan, Process process, ExecutionFacts facts) {
+        long startConflictCheckCount = computingPlan.conflictCheckCount;
         double bestScore = Double.NEGATIVE_INFINITY;
         ComputerPlan bestComputerPlan = null;
         int bestStartTime = -1;
@@ -218,7 +259,7 @@ public class ScalableDispatcherSolver implements Solver {
             ComputerPlan computerPlan = computingPlan.computerPlanList.get(i);
             
             // Find earliest possible start time on this computer
-            int startTime = findEarliestStartTime(computerPlan, process, facts);
+            int startTime = findEarliestStartTime(computingPlan, computerPlan, process);
             if (startTime == -1) continue; // Cannot assign to this computer
             
             // Calculate assignment score
@@ -242,6 +283,8 @@ public class ScalableDispatcherSolver implements Solver {
             bestComputerPlan.firstFreeTime = process.endTime;
             bestComputerPlan.busyTimeSum += process.executionTime;
             bestComputerPlan.idleTimeSum += process.idleDuration;
+            AssignmentEvent.emit(process, process.idleDuration,
+                    computingPlan.conflictCheckCount - startConflictCheckCount, false);
             
             return true;
         }
@@ -250,22 +293,11 @@ public class ScalableDispatcherSolver implements Solver {
     }
 
     /**
-     * Find the earliest possible start time for a process on a given computer
+     * Find the earliest possible start time for a process on a given computer, see
+     * {@link ComputingPlan#getConflictFreeStartTime(Process, Computer, int)}
      */
-    private int findEarliestStartTime(ComputerPlan computerPlan, Process process, ExecutionFacts facts) {
-        int startTime = computerPlan.firstFreeTime;
-        
-        // Check conflicts with already assigned processes
-        for (Process conflictProcess : process.conflictingProcesses) {
-            if (conflictProcess.computer != null && !conflictProcess.computer.equals(computerPlan.computer)) {
-                // Check for overlap
-                if (startTime < conflictProcess.endTime && (startTime + process.executionTime) > conflictProcess.startTime) {
-                    startTime = conflictProcess.endTime;
-                }
-            }
-        }
-        
-        return startTime;
+    private int findEarliestStartTime(ComputingPlan computingPlan, ComputerPlan computerPlan, Process process) {
+        return computingPlan.getConflictFreeStartTime(process, computerPlan.computer, computerPlan.firstFreeTime);
     }
 
     /**
@@ -286,6 +318,7 @@ public class ScalableDispatcherSolver implements Solver {
         
         // Conflict avoidance score: prefer assignments that minimize future conflicts
         int conflictCount = 0;
+        computingPlan.conflictCheckCount += process.conflictingProcesses.size();
         for (Process conflictProcess : process.conflictingProcesses) {
             if (conflictProcess.computer != null && !conflictProcess.computer.equals(computerPlan.computer)) {
                 // Check if this assignment would create immediate conflicts
@@ -304,22 +337,25 @@ public class ScalableDispatcherSolver implements Solver {
      * Optimized strict assignment with better conflict resolution
      */
     private void assignProcessStrictlyOptimized(ComputingPlan computingPlan, Process process, ExecutionFacts facts) {
+        long startConflictCheckCount = computingPlan.conflictCheckCount;
         // Find the computer with the earliest completion time considering conflicts
         ComputerPlan bestComputerPlan = null;
         int bestCompletionTime = Integer.MAX_VALUE;
+        int bestStartTime = -1;
         
         for (ComputerPlan computerPlan : computingPlan.computerPlanList) {
-            int startTime = findEarliestStartTime(computerPlan, process, facts);
+            int startTime = findEarliestStartTime(computingPlan, computerPlan, process);
             int completionTime = startTime + process.executionTime;
             
             if (completionTime < bestCompletionTime) {
                 bestCompletionTime = completionTime;
                 bestComputerPlan = computerPlan;
+                bestStartTime = startTime;
             }
         }
         
         if (bestComputerPlan != null) {
-            int startTime = findEarliestStartTime(bestComputerPlan, process, facts);
+            int startTime = bestStartTime;
             
             process.computer = bestComputerPlan.computer;
             process.startTime = startTime;
@@ -330,6 +366,8 @@ public class ScalableDispatcherSolver implements Solver {
             bestComputerPlan.firstFreeTime = process.endTime;
             bestComputerPlan.busyTimeSum += process.executionTime;
             bestComputerPlan.idleTimeSum += process.idleDuration;
+            AssignmentEvent.emit(process, process.idleDuration,
+                    computingPlan.conflictCheckCount - startConflictCheckCount, true);
         } else {
             throw new RuntimeException("could not find computer for process " + process.processId);
         }
@@ -0,0 +1,95 @@
+package it.unitn.emvscheduling.greedy.solver;
+
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.SolverMetrics;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputerPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputingPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleCodec;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleValidator;
+
+import java.nio.ByteBuffer;
+
+/**
+ * the attestor fast path: instead of solving the block again, check the schedule shipped by the proposer and solve
+ * only if it is not valid.
+ * <p>
+ * A schedule is valid if:
+ * <ul>
+ * <li>the processes of each computer do not overlap</li>
+ * <li>no two conflicting processes overlap, on any computer</li>
+ * <li>all the processes are placed</li>
+ * <li>of two conflicting processes, the one with the smaller processId runs first (the block order)</li>
+ * </ul>
+ * the plan is checked against the processes and then the processes by {@link ScheduleValidator}
+ */
+public class ScheduleVerifier {
+
+    private ScheduleVerifier() {
+    }
+
+    /**
+     * @param facts    the schedule is decoded into its processes, if it is not valid they are solved again
+     * @param schedule encoded by {@link ScheduleCodec}, is not modified
+     * @param solver   to solve in attestor mode if the schedule is malformed or not valid
+     * @param settings
+     * @param strategy
+     * @return with the resultStatus "verified" if the shipped schedule is used
+     */
+    public static ExecutionOutput verifyOrSolve(ExecutionFacts facts, ByteBuffer schedule, Solver solver,
+                                                ExecutionSettings settings, Strategy strategy) {
+        long startSystemTimeNanoSecond = System.nanoTime();
+        ComputingPlan computingPlan;
+        try {
+            computingPlan = ScheduleCodec.decode(schedule, facts);
+        } catch (IllegalArgumentException e) {
+            computingPlan = null;
+        }
+        if (computingPlan == null || !isValid(facts, computingPlan)) {
+            facts.resetPlanning();
+            facts.isProposerMode = false;
+            return solver.solve(facts, settings, strategy);
+        }
+
+        ExecutionOutput solverOutput = new ExecutionOutput();
+        long horizon = 0;
+        for (Process process : facts.processes) {
+            horizon += process.executionTime;
+        }
+        solverOutput.horizon = horizon;
+        solverOutput.scheduleMakespan = computingPlan.getScheduleMakespan();
+        solverOutput.wallTimeInMs = (System.nanoTime() - startSystemTimeNanoSecond) / 1_000_000.0;
+        solverOutput.resultStatus = "verified";
+        solverOutput.processes = facts.processes;
+        solverOutput.computingPlan = computingPlan;
+        solverOutput.metrics = new SolverMetrics();// nothing is placed, only the idle time of the shipped plan
+        solverOutput.metrics.collect(computingPlan);
+        return solverOutput;
+    }
+
+    /**
+     * @param facts         all the processes must be assigned and their ids must be incremental from 0
+     * @param computingPlan the plan of the assigned processes
+     * @return
+     */
+    public static boolean isValid(ExecutionFacts facts, ComputingPlan computingPlan) {
+        // the processes of each computer one after another
+        int plannedCount = 0;
+        for (ComputerPlan computerPlan : computingPlan.computerPlanList) {
+            int previousEndTime = Integer.MIN_VALUE;
+            for (Process process : computerPlan.processList) {
+                if (process.startTime < previousEndTime || process.computer != computerPlan.computer) {
+                    return false;
+                }
+                previousEndTime = process.endTime;
+            }
+            plannedCount += computerPlan.processList.size();
+        }
+        if (plannedCount != facts.processes.size()) {
+            return false;
+        }
+        return ScheduleValidator.isValid(facts.processes, true);
+    }
+}
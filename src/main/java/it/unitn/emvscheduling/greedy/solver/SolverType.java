@@ -0,0 +1,60 @@
+package it.unitn.emvscheduling.greedy.solver;
+
+/**
+ * the available {@link Solver} implementations, to choose one from the command line or the input files
+ */
+public enum SolverType {
+    DISPATCHER(1),  // DispatcherSolver, the reference greedy solver
+    OPTIMIZED(2),   // OptimizedDispatcherSolver
+    SCALABLE(3);    // ScalableDispatcherSolver
+
+    private final int value;
+
+    SolverType(int value) {
+        this.value = value;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * solvers do not keep any state between two solve calls, so one instance can be reused for all the inputs
+     *
+     * @return a new instance of the solver
+     */
+    public Solver newSolver() {
+        switch (this) {
+            case DISPATCHER:
+                return new DispatcherSolver();
+            case OPTIMIZED:
+                return new OptimizedDispatcherSolver();
+            case SCALABLE:
+                return new ScalableDispatcherSolver();
+            default:
+                throw new IllegalArgumentException("Unknown solver type: " + this);
+        }
+    }
+
+    public static SolverType getByValue(int value) {
+        for (SolverType type : SolverType.values()) {
+            if (type.value == value) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("No enum constant with value: " + value);
+    }
+
+    /**
+     * @param name case-insensitive name (dispatcher, optimized, scalable) or its numeric value
+     * @return
+     */
+    public static SolverType getByName(String name) {
+        for (SolverType type : SolverType.values()) {
+            if (type.name().equalsIgnoreCase(name) || String.valueOf(type.value).equals(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown solver: " + name + ", supported: dispatcher, optimized, scalable");
+    }
+}
@@ -0,0 +1,265 @@
+package it.unitn.visualization;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * an on-disk cache of the results of the sweep cells: a text file with a line per solved cell, "version key value",
+ * where the key is the full configuration of the cell and the version is the hash of the classes which compute it
+ * (see {@link #getVersionHash(Class[])}). It is read once when opened, the lines of another version are dropped (the
+ * file is rewritten without them) and the new results are appended, so a sweep only solves the cells which are new
+ * or whose classes changed.
+ * <p>
+ * A line which can not be parsed or has no line end (like the last one of an interrupted run) is ignored and removed
+ * before appending, the values are written with {@link Double#toString(double)} so they are read back exactly.
+ * <p>
+ * It is also the checkpoint of a sweep: every put is written to the file at once (a line per write, so it survives
+ * the end of the process), and the file is forced to the disk (fsync) in batches, after syncEvery puts or
+ * syncIntervalMillis since the last force, and on {@link #sync()} and {@link #close()}. A run stopped at any time
+ * resumes from the cells in the file, losing at most the last batch on a crash of the machine.
+ * <p>
+ * The methods are synchronized, the cells of a sweep can be put by its threads.
+ */
+public class CellResultLog implements Closeable {
+    private static final char SEPARATOR = ' ';
+    public static final int DEFAULT_SYNC_EVERY = 256;
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1_000;
+
+    private final Path path;
+    private final String version;
+    private final Map<String, Double> results = new HashMap<>();
+    private final FileChannel channel;
+    private final int syncEvery;
+    private final long syncIntervalNanos;
+    private int unsyncedCount = 0;
+    private long lastSyncTime;
+    private int syncCount = 0;
+    private boolean closed = false;
+    private int loadedCount = 0;
+    private int droppedCount = 0;
+    private int hitCount = 0;
+    private int putCount = 0;
+
+    /**
+     * @param path    is created if it does not exist, with its parent directories
+     * @param version of the results, the other ones are dropped
+     * @throws IOException
+     */
+    public CellResultLog(Path path, String version) throws IOException {
+        this(path, version, DEFAULT_SYNC_EVERY, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param path               is created if it does not exist, with its parent directories
+     * @param version            of the results, the other ones are dropped
+     * @param syncEvery          the puts between two forces to the disk, 1 to force every put
+     * @param syncIntervalMillis the longest time between a put and the force of its line, checked on the puts
+     * @throws IOException
+     */
+    public CellResultLog(Path path, String version, int syncEvery, long syncIntervalMillis) throws IOException {
+        if (version.indexOf(SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("the version can not contain a space: " + version);
+        }
+        this.path = path;
+        this.version = version;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        if (Files.exists(path)) {
+            load();
+        }
+        this.syncEvery = Math.max(1, syncEvery);
+        this.syncIntervalNanos = syncIntervalMillis * 1_000_000;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                StandardOpenOption.WRITE);
+        lastSyncTime = System.nanoTime();
+    }
+
+    private void load() throws IOException {
+        String text = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        int end = text.lastIndexOf('\n') + 1;
+        if (end < text.length()) {
+            droppedCount++;// the last line was not written completely
+        }
+        StringBuilder kept = new StringBuilder();
+        for (String line : text.substring(0, end).split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            int keyStart = line.indexOf(SEPARATOR);
+            int valueStart = line.lastIndexOf(SEPARATOR);
+            if (keyStart <= 0 || valueStart <= keyStart + 1 || !line.startsWith(version) ||
+                    keyStart != version.length()) {
+                droppedCount++;
+                continue;
+            }
+            double value;
+            try {
+                value = Double.parseDouble(line.substring(valueStart + 1));
+            } catch (NumberFormatException e) {
+                droppedCount++;
+                continue;
+            }
+            results.put(line.substring(keyStart + 1, valueStart), value);
+            kept.append(line).append('\n');
+        }
+        loadedCount = results.size();
+        if (droppedCount > 0) {// compact, a new version replaces all the lines over the runs
+            Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel temporaryChannel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                write(temporaryChannel, kept.toString());
+                temporaryChannel.force(true);
+            }
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @param key the configuration of the cell, without spaces
+     * @return the cached value or null
+     */
+    public synchronized Double get(String key) {
+        Double value = results.get(key);
+        if (value != null) {
+            hitCount++;
+        }
+        return value;
+    }
+
+    /**
+     * cache the value and append it to the file, which is forced to the disk if the batch is complete
+     *
+     * @param key   the configuration of the cell, without spaces
+     * @param value
+     * @throws IOException
+     */
+    public synchronized void put(String key, double value) throws IOException {
+        if (key.indexOf(SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("the key can not contain a space: " + key);
+        }
+        if (closed) {
+            throw new IOException("the log is closed");
+        }
+        results.put(key, value);
+        putCount++;
+        write(channel, version + SEPARATOR + key + SEPARATOR + value + '\n');
+        unsyncedCount++;
+        if (unsyncedCount >= syncEvery || System.nanoTime() - lastSyncTime >= syncIntervalNanos) {
+            sync();
+        }
+    }
+
+    /**
+     * force the lines written since the last force to the disk
+     *
+     * @throws IOException
+     */
+    public synchronized void sync() throws IOException {
+        if (closed || unsyncedCount == 0) {
+            return;
+        }
+        channel.force(false);
+        unsyncedCount = 0;
+        lastSyncTime = System.nanoTime();
+        syncCount++;
+    }
+
+    private static void write(FileChannel channel, String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * sync and close the file, the next calls do nothing
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    /**
+     * @return the results of the version read when the log was opened
+     */
+    public synchronized int getLoadedCount() {
+        return loadedCount;
+    }
+
+    /**
+     * @return the lines of other versions or which could not be parsed, removed from the file when it was opened
+     */
+    public synchronized int getDroppedCount() {
+        return droppedCount;
+    }
+
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized int getPutCount() {
+        return putCount;
+    }
+
+    /**
+     * @return the forces to the disk
+     */
+    public synchronized int getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * @param classes which compute the results
+     * @return the first 16 hex digits of the SHA-256 of their class files (in the given order), so a recompiled
+     * change of any of them gives another version
+     * @throws IOException if a class file is not found
+     */
+    public static String getVersionHash(Class<?>... classes) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[8192];
+        for (Class<?> cls : classes) {
+            String resource = cls.getName().replace('.', '/') + ".class";
+            try (InputStream is = cls.getClassLoader().getResourceAsStream(resource)) {
+                if (is == null) {
+                    throw new IOException("Could not find the class file " + resource);
+                }
+                int length;
+                while ((length = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, length);
+                }
+            }
+        }
+        StringBuilder hash = new StringBuilder();
+        byte[] bytes = digest.digest();
+        for (int i = 0; i < 8; i++) {
+            hash.append(String.format("%02x", bytes[i]));
+        }
+        return hash.toString();
+    }
+}
@@ -0,0 +1,441 @@
+package it.unitn.visualization;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputerPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputingPlan;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * draws a {@link ComputingPlan} as a Gantt chart, one lane per {@link ComputerPlan}, the processes in blue and the
+ * idle gaps before them in red (a process starts later than the end of the previous one of its computer only to
+ * wait for its conflicting processes).
+ * <p>
+ * If the processes of a lane are too many to be drawn at least {@link #MIN_PROCESS_PIXELS} wide, each pixel column
+ * of the lane is a bucket of time instead: the busy and the idle fraction of the bucket are stacked as two bars, and
+ * the equal consecutive buckets are merged into one rectangle. The lanes are drawn one at a time reusing the bucket
+ * arrays, so the memory and the size of the output depend on the image size, not on the number of processes.
+ * <p>
+ * The PNG is drawn on an image of the chart size and encoded to the stream, the SVG is written rectangle by
+ * rectangle to the writer.
+ * <p>
+ * Usage: GanttRenderer [solver] [processCount] [computerCount] [conflictPercentage] [output.png|output.svg]
+ */
+public class GanttRenderer {
+    public static final int DEFAULT_WIDTH = 1600;
+    public static final int MIN_PROCESS_PIXELS = 3;
+    private static final int MAX_PLOT_HEIGHT = 4000;
+    private static final int MAX_LANE_HEIGHT = 20;
+    private static final int MIN_LANE_HEIGHT = 2;
+    private static final int LEFT_MARGIN = 56;
+    private static final int RIGHT_MARGIN = 16;
+    private static final int TOP_MARGIN = 28;
+    private static final int BOTTOM_MARGIN = 32;
+    private static final int TICK_COUNT = 10;
+
+    static final Color BACKGROUND_COLOR = Color.WHITE;
+    static final Color BUSY_COLOR = new Color(70, 110, 190);
+    static final Color EDGE_COLOR = new Color(30, 55, 110);
+    static final Color IDLE_COLOR = new Color(220, 60, 50);
+    static final Color TEXT_COLOR = new Color(40, 40, 40);
+    static final Color GRID_COLOR = new Color(225, 225, 225);
+
+    public enum Format {
+        PNG, SVG;
+
+        /**
+         * @param path
+         * @return by the extension of the file name, PNG if it is not .svg
+         */
+        public static Format getByPath(Path path) {
+            return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".svg") ? SVG : PNG;
+        }
+    }
+
+    public final int width;
+
+    public GanttRenderer() {
+        this(DEFAULT_WIDTH);
+    }
+
+    /**
+     * @param width of the chart in pixels, the lane height is fitted to the number of computers
+     */
+    public GanttRenderer(int width) {
+        if (width <= LEFT_MARGIN + RIGHT_MARGIN) {
+            throw new IllegalArgumentException("the width must be more than " + (LEFT_MARGIN + RIGHT_MARGIN));
+        }
+        this.width = width;
+    }
+
+    /**
+     * @param computingPlan
+     * @return true if every process is drawn, false if the lanes are drawn as pixel buckets
+     */
+    public boolean isDetailed(ComputingPlan computingPlan) {
+        int maxLaneProcessCount = 0;
+        for (ComputerPlan computerPlan : computingPlan.computerPlanList) {
+            maxLaneProcessCount = Math.max(maxLaneProcessCount, computerPlan.processList.size());
+        }
+        return (long) maxLaneProcessCount * MIN_PROCESS_PIXELS <= getPlotWidth();
+    }
+
+    /**
+     * @param computingPlan
+     * @param output        PNG or SVG by its extension, the parent directories are created
+     * @throws IOException
+     */
+    public void render(ComputingPlan computingPlan, Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        if (Format.getByPath(output) == Format.SVG) {
+            try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                renderSvg(computingPlan, writer);
+            }
+        } else {
+            try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(output))) {
+                renderPng(computingPlan, stream);
+            }
+        }
+    }
+
+    /**
+     * @param computingPlan
+     * @param stream        is not closed
+     * @throws IOException
+     */
+    public void renderPng(ComputingPlan computingPlan, OutputStream stream) throws IOException {
+        Layout layout = new Layout(computingPlan);
+        BufferedImage image = new BufferedImage(width, layout.height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 11));
+            draw(layout, new PngCanvas(graphics));
+        } finally {
+            graphics.dispose();
+        }
+        if (!ImageIO.write(image, "png", stream)) {
+            throw new IOException("no PNG writer is available");
+        }
+    }
+
+    /**
+     * @param computingPlan
+     * @param writer        is flushed and not closed
+     * @throws IOException
+     */
+    public void renderSvg(ComputingPlan computingPlan, Writer writer) throws IOException {
+        Layout layout = new Layout(computingPlan);
+        Writer out = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + layout.height +
+                "\" viewBox=\"0 0 " + width + " " + layout.height + "\" shape-rendering=\"crispEdges\" " +
+                "font-family=\"sans-serif\" font-size=\"11\">\n");
+        draw(layout, new SvgCanvas(out));
+        out.write("</svg>\n");
+        out.flush();
+    }
+
+    private int getPlotWidth() {
+        return width - LEFT_MARGIN - RIGHT_MARGIN;
+    }
+
+    /**
+     * the sizes and the time scale of a chart
+     */
+    private class Layout {
+        final ComputingPlan computingPlan;
+        final int laneCount;
+        final int laneHeight;
+        final int plotWidth;
+        final int height;
+        final int makespan;
+        final double pixelsPerTime;
+        final boolean isDetailed;
+
+        Layout(ComputingPlan computingPlan) {
+            this.computingPlan = computingPlan;
+            laneCount = computingPlan.computerPlanList.size();
+            laneHeight = Math.max(MIN_LANE_HEIGHT, Math.min(MAX_LANE_HEIGHT, MAX_PLOT_HEIGHT / Math.max(1,
+                    laneCount)));
+            plotWidth = getPlotWidth();
+            height = TOP_MARGIN + laneCount * laneHeight + BOTTOM_MARGIN;
+            int planMakespan = 0;
+            for (ComputerPlan computerPlan : computingPlan.computerPlanList) {
+                for (Process process : computerPlan.processList) {
+                    planMakespan = Math.max(planMakespan, process.endTime);
+                }
+            }
+            makespan = Math.max(1, planMakespan);
+            pixelsPerTime = (double) plotWidth / makespan;
+            isDetailed = isDetailed(computingPlan);
+        }
+
+        int getX(double time) {
+            return LEFT_MARGIN + (int) Math.round(time * pixelsPerTime);
+        }
+    }
+
+    private void draw(Layout layout, Canvas canvas) throws IOException {
+        canvas.fillRect(0, 0, width, layout.height, BACKGROUND_COLOR);
+        int plotBottom = TOP_MARGIN + layout.laneCount * layout.laneHeight;
+
+        // the time axis and its grid
+        int timeStep = getTickStep(layout.makespan);
+        for (long time = 0; time <= layout.makespan; time += timeStep) {
+            int x = layout.getX(time);
+            canvas.fillRect(x, TOP_MARGIN, 1, plotBottom - TOP_MARGIN, GRID_COLOR);
+            canvas.fillRect(x, plotBottom, 1, 4, TEXT_COLOR);
+            canvas.drawText(x, plotBottom + 16, Long.toString(time), TEXT_COLOR, true);
+        }
+
+        long processCount = 0;
+        long idleTimeSum = 0;
+        double[] busyBuckets = new double[layout.plotWidth];
+        double[] idleBuckets = new double[layout.plotWidth];
+        int labelEvery = Math.max(1, (int) Math.ceil(12.0 / layout.laneHeight));
+        for (int lane = 0; lane < layout.laneCount; lane++) {
+            ComputerPlan computerPlan = layout.computingPlan.computerPlanList.get(lane);
+            Process[] processes = computerPlan.processList.toArray(new Process[0]);
+            Arrays.sort(processes, START_TIME_ORDER);
+            processCount += processes.length;
+            int laneTop = TOP_MARGIN + lane * layout.laneHeight;
+            if (lane % labelEvery == 0) {
+                canvas.drawText(LEFT_MARGIN - 6, laneTop + Math.min(layout.laneHeight, 12) - 1,
+                        "C-" + computerPlan.computer.computerId, TEXT_COLOR, false);
+            }
+            if (layout.isDetailed) {
+                idleTimeSum += drawLaneProcesses(layout, canvas, processes, laneTop);
+            } else {
+                idleTimeSum += drawLaneBuckets(layout, canvas, processes, laneTop, busyBuckets, idleBuckets);
+            }
+        }
+
+        canvas.drawText(LEFT_MARGIN, 18, String.format(Locale.ROOT,
+                "computers: %d, processes: %d, makespan: %d, idle time: %d (red), %s", layout.laneCount,
+                processCount, layout.makespan, idleTimeSum, layout.isDetailed ? "one rectangle per process" :
+                        String.format(Locale.ROOT, "%.1f time units per pixel", 1 / layout.pixelsPerTime)),
+                TEXT_COLOR, false);
+    }
+
+    /**
+     * @return the idle time of the lane
+     */
+    private long drawLaneProcesses(Layout layout, Canvas canvas, Process[] processes, int laneTop)
+            throws IOException {
+        int barTop = laneTop + 1;
+        int barHeight = Math.max(1, layout.laneHeight - 2);
+        long idleTime = 0;
+        int previousEndTime = 0;
+        for (Process process : processes) {
+            if (process.startTime > previousEndTime) {
+                int gapStart = layout.getX(previousEndTime);
+                canvas.fillRect(gapStart, barTop, Math.max(1, layout.getX(process.startTime) - gapStart), barHeight,
+                        IDLE_COLOR);
+                idleTime += process.startTime - previousEndTime;
+            }
+            int start = layout.getX(process.startTime);
+            int processWidth = Math.max(1, layout.getX(process.endTime) - start);
+            canvas.fillRect(start, barTop, processWidth, barHeight, BUSY_COLOR);
+            if (processWidth >= MIN_PROCESS_PIXELS) {
+                canvas.fillRect(start, barTop, 1, barHeight, EDGE_COLOR);// the border between adjacent processes
+            }
+            previousEndTime = Math.max(previousEndTime, process.endTime);
+        }
+        return idleTime;
+    }
+
+    /**
+     * stack the busy (bottom) and the idle (above it) fractions of each pixel column of the lane, merging the equal
+     * consecutive columns
+     *
+     * @return the idle time of the lane
+     */
+    private long drawLaneBuckets(Layout layout, Canvas canvas, Process[] processes, int laneTop,
+                                 double[] busyBuckets, double[] idleBuckets) throws IOException {
+        Arrays.fill(busyBuckets, 0);
+        Arrays.fill(idleBuckets, 0);
+        long idleTime = 0;
+        int previousEndTime = 0;
+        for (Process process : processes) {
+            if (process.startTime > previousEndTime) {
+                addToBuckets(idleBuckets, previousEndTime, process.startTime, layout.pixelsPerTime);
+                idleTime += process.startTime - previousEndTime;
+            }
+            addToBuckets(busyBuckets, process.startTime, process.endTime, layout.pixelsPerTime);
+            previousEndTime = Math.max(previousEndTime, process.endTime);
+        }
+
+        int barBottom = laneTop + layout.laneHeight - 1;
+        int barHeight = Math.max(1, layout.laneHeight - 2);
+        int column = 0;
+        while (column < layout.plotWidth) {
+            int busyPixels = getBarPixels(busyBuckets[column], barHeight);
+            int idlePixels = Math.min(barHeight - busyPixels, getBarPixels(idleBuckets[column], barHeight));
+            int runEnd = column + 1;
+            while (runEnd < layout.plotWidth && getBarPixels(busyBuckets[runEnd], barHeight) == busyPixels &&
+                    Math.min(barHeight - busyPixels, getBarPixels(idleBuckets[runEnd], barHeight)) == idlePixels) {
+                runEnd++;
+            }
+            int x = LEFT_MARGIN + column;
+            if (busyPixels > 0) {
+                canvas.fillRect(x, barBottom - busyPixels, runEnd - column, busyPixels, BUSY_COLOR);
+            }
+            if (idlePixels > 0) {
+                canvas.fillRect(x, barBottom - busyPixels - idlePixels, runEnd - column, idlePixels, IDLE_COLOR);
+            }
+            column = runEnd;
+        }
+        return idleTime;
+    }
+
+    /**
+     * add the covered fraction of each pixel column of [startTime, endTime)
+     */
+    static void addToBuckets(double[] buckets, int startTime, int endTime, double pixelsPerTime) {
+        double startX = startTime * pixelsPerTime;
+        double endX = endTime * pixelsPerTime;
+        int lastColumn = Math.min(buckets.length - 1, (int) Math.ceil(endX) - 1);
+        for (int column = Math.max(0, (int) startX); column <= lastColumn; column++) {
+            buckets[column] += Math.min(endX, column + 1) - Math.max(startX, column);
+        }
+    }
+
+    private static int getBarPixels(double fraction, int barHeight) {
+        return (int) Math.round(Math.min(1, fraction) * barHeight);
+    }
+
+    /**
+     * @return 1, 2 or 5 times a power of 10, for about {@link #TICK_COUNT} ticks
+     */
+    static int getTickStep(int makespan) {
+        double rawStep = (double) makespan / TICK_COUNT;
+        int step = 1;
+        while (true) {
+            if (step >= rawStep) {
+                return step;
+            }
+            if (step * 2 >= rawStep) {
+                return step * 2;
+            }
+            if (step * 5 >= rawStep) {
+                return step * 5;
+            }
+            step *= 10;
+        }
+    }
+
+    private static final Comparator<Process> START_TIME_ORDER = new Comparator<Process>() {
+        @Override
+        public int compare(Process o1, Process o2) {
+            if (o1.startTime != o2.startTime) {
+                return Integer.compare(o1.startTime, o2.startTime);
+            }
+            return Integer.compare(o1.processId, o2.processId);
+        }
+    };
+
+    private interface Canvas {
+        void fillRect(int x, int y, int width, int height, Color color) throws IOException;
+
+        /**
+         * @param isCentered centered on x, otherwise ending at x if x is in the left margin or starting at x
+         */
+        void drawText(int x, int y, String text, Color color, boolean isCentered) throws IOException;
+    }
+
+    private static class PngCanvas implements Canvas {
+        final Graphics2D graphics;
+
+        PngCanvas(Graphics2D graphics) {
+            this.graphics = graphics;
+        }
+
+        @Override
+        public void fillRect(int x, int y, int width, int height, Color color) {
+            graphics.setColor(color);
+            graphics.fillRect(x, y, width, height);
+        }
+
+        @Override
+        public void drawText(int x, int y, String text, Color color, boolean isCentered) {
+            graphics.setColor(color);
+            int textWidth = graphics.getFontMetrics().stringWidth(text);
+            if (isCentered) {
+                x -= textWidth / 2;
+            } else if (x < LEFT_MARGIN) {
+                x -= textWidth;
+            }
+            graphics.drawString(text, x, y);
+        }
+    }
+
+    private static class SvgCanvas implements Canvas {
+        final Writer writer;
+
+        SvgCanvas(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void fillRect(int x, int y, int width, int height, Color color) throws IOException {
+            writer.write("<rect x=\"" + x + "\" y=\"" + y + "\" width=\"" + width + "\" height=\"" + height +
+                    "\" fill=\"" + toHex(color) + "\"/>\n");
+        }
+
+        @Override
+        public void drawText(int x, int y, String text, Color color, boolean isCentered) throws IOException {
+            String anchor = isCentered ? "middle" : x < LEFT_MARGIN ? "end" : "start";
+            writer.write("<text x=\"" + x + "\" y=\"" + y + "\" fill=\"" + toHex(color) + "\" text-anchor=\"" +
+                    anchor + "\">" + text.replace("&", "&amp;").replace("<", "&lt;") + "</text>\n");
+        }
+    }
+
+    static String toHex(Color color) {
+        return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        SolverType solverType = args.length > 0 ? SolverType.getByName(args[0]) : SolverType.OPTIMIZED;
+        int processCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int computerCount = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int conflictPercentage = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        Path output = Paths.get(args.length > 4 ? args[4] :
+                "target/charts/gantt_" + solverType.name().toLowerCase(Locale.ROOT) + "_" + processCount + ".png");
+
+        ExecutionFacts facts = DataGenerator.getBenchmark(1, processCount, 5, 10, computerCount, conflictPercentage,
+                100);
+        ExecutionOutput executionOutput = solverType.newSolver().solve(facts, new ExecutionSettings(-1, -1, 1),
+                new Strategy(Strategy.ProcessSortType.MCDF, 29));
+        long startTime = System.nanoTime();
+        GanttRenderer renderer = new GanttRenderer();
+        renderer.render(executionOutput.computingPlan, output);
+        System.out.printf("%s (%s) written in %.3f ms%n", output,
+                renderer.isDetailed(executionOutput.computingPlan) ? "detailed" : "bucketed",
+                (System.nanoTime() - startTime) / 1e6);
+    }
+}
@@ -1,14 +1,25 @@
 package it.unitn.visualization;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
+/**
+ * the LaTeX table of the proposer and attestor speedups, from the data read from a speedup workbook or built in
+ * memory by a sweep (see {@link SpeedupPipeline}), written to any {@link Appendable} (a Writer, a PrintStream, a
+ * StringBuilder) as it is generated
+ */
 public class LatexTableGenerator {
     
     public static void main(String[] args) {
         try {
-            String latexTable = generateLatexTable();
-            System.out.println(latexTable);
+            // Read data from speedup-auto.xlsx and stream the table to the console
+            generateLatexTable(SpeedupDataReader.readSpeedupData("speedup-auto.xlsx"), System.out);
+            System.out.println();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -16,7 +27,45 @@ public class LatexTableGenerator {
     
     public static String generateLatexTable() throws IOException {
         // Read data from speedup-auto.xlsx
-        Map<Integer, SpeedupDataReader.SpeedupData> allData = SpeedupDataReader.readSpeedupData("speedup-auto.xlsx");
+        return generateLatexTable(SpeedupDataReader.readSpeedupData("speedup-auto.xlsx"));
+    }
+
+    /**
+     * @param allData the data grouped by conflict percentage, like the one already read for the charts
+     */
+    public static String generateLatexTable(Map<Integer, SpeedupDataReader.SpeedupData> allData) {
+        StringBuilder latex = new StringBuilder();
+        try {
+            generateLatexTable(allData, latex);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);// a StringBuilder does not throw it
+        }
+        return latex.toString();
+    }
+
+    /**
+     * stream the table to a file, with a line end after the last line
+     *
+     * @param allData    the data grouped by conflict percentage
+     * @param outputPath is created or truncated
+     * @throws IOException
+     */
+    public static void writeLatexTable(Map<Integer, SpeedupDataReader.SpeedupData> allData, Path outputPath)
+            throws IOException {
+        try (Writer writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
+            generateLatexTable(allData, writer);
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * @param allData the data grouped by conflict percentage, like the one already read for the charts or the one of
+     *                {@link SpeedupWorkbookReader.Groupings#byConflictPercentage} built by a sweep
+     * @param latex   gets the table line by line, without a line end after the last one
+     * @throws IOException if the table can not be appended
+     */
+    public static void generateLatexTable(Map<Integer, SpeedupDataReader.SpeedupData> allData, Appendable latex)
+            throws IOException {
         
         // Define the core sizes we want to show (8 cores as requested)
         int[] coreSizes = {2, 4, 8, 16, 32};
@@ -25,8 +74,6 @@ public class LatexTableGenerator {
         int[] transactionCounts = {50, 100, 150, 200};
         int[] conflictPercentages = {15, 25, 35, 45};
         
-        StringBuilder latex = new StringBuilder();
-        
         // Start the table
         latex.append("\\begin{table*}[]\n");
         latex.append("\\small\n");
@@ -40,7 +87,7 @@ public class LatexTableGenerator {
         // Header row with core counts
         latex.append("\\multicolumn{3}{|p{1.5cm}|}{\\textbf{Data}}");
         for (int core : coreSizes) {
-            latex.append(" & \\multicolumn{2}{c|}{\\textbf{").append(core).append(" cores}}");
+            latex.append(" & \\multicolumn{2}{c|}{\\textbf{").append(Integer.toString(core)).append(" cores}}");
         }
         latex.append(" \\\\ \\hline\n");
         
@@ -55,7 +102,8 @@ public class LatexTableGenerator {
         int groupNo = 1;
         for (int txCount : transactionCounts) {
             for (int conflict : conflictPercentages) {
-                latex.append(groupNo).append(" & ").append(txCount).append(" & ").append(conflict);
+                latex.append(Integer.toString(groupNo)).append(" & ").append(Integer.toString(txCount)).append(" & ")
+                        .append(Integer.toString(conflict));
                 
                 // Get data for this conflict percentage
                 SpeedupDataReader.SpeedupData data = allData.get(conflict);
@@ -135,7 +183,5 @@ public class LatexTableGenerator {
         // End the table
         latex.append("\\end{tabular}\n");
         latex.append("\\end{table*}");
-        
-        return latex.toString();
     }
 }
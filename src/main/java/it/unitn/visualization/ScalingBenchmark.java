@@ -0,0 +1,382 @@
+package it.unitn.visualization;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.Computer;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleValidator;
+import it.unitn.emvscheduling.greedy.solver.Solver;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * the scaling suite of the solvers, far beyond the grid of {@link SpeedupDataGenerator}: from 1k to 1M transactions
+ * and from 1 to 256 cores. For each solver, mode, transaction count and core count it measures the solver wall time,
+ * the bytes allocated by the solve call, the heap of the facts and the makespan speedup, and records where the
+ * solver stops being practical.
+ * <p>
+ * A solver (for a mode and core count) is practical at a transaction count if its solve call takes at most the
+ * budget. Once it is over the budget, the larger counts are skipped, and a count is also skipped without running if
+ * its time predicted from the last two measured counts is more than {@link #PREDICTION_MARGIN} times the budget, so
+ * a solver that is quadratic in the core count does not spend hours on a 1M block.
+ * <p>
+ * The conflicts are generated by an average conflict degree (see
+ * {@link DataGenerator#getBenchmarkWithConflictDegree}) instead of a percentage of the pairs, which is not feasible
+ * at this scale. The facts of each transaction count are generated once and re-planned for each core count.
+ * <p>
+ * Usage (the 1M blocks need a few GB of heap, e.g. MAVEN_OPTS=-Xmx6g):
+ * <pre>
+ * ScalingBenchmark [--processes 1000,10000,100000,1000000] [--cores 1,4,16,64,256] [--conflict-degree 8]
+ *                  [--solvers dispatcher,optimized,scalable] [--modes proposer,attestor] [--budget-ms 10000]
+ *                  [--repetitions 3] [--output src/main/resources/scaling-benchmark.csv]
+ * </pre>
+ * The measurements are written to the output csv (one line per cell, flushed as it goes) and the practical limits
+ * to the same path with the "-limits" suffix. The skipped cells are written with empty measurements, the predicted
+ * ones with their predicted time as the median wall time.
+ */
+public class ScalingBenchmark {
+    private static final int RANDOM_SEED = 1;
+    private static final int PROCESS_EXECUTION_TIME_MIN = 5;
+    private static final int PROCESS_EXECUTION_TIME_MAX = 10;
+    private static final int TIME_WEIGHT = 100;
+    private static final int PROCESS_SORT_TYPE = 3; // MCDF
+    private static final int LOOSE_REVIEW_ROUND = 29;
+    private static final int WARM_UP_ITERATIONS = 20;
+    private static final double PREDICTION_MARGIN = 3.0;
+
+    static final String HEADER = "solver, mode, processCount, computerCount, conflictDegree, conflictPairs, " +
+            "repetitions, wallTimeMedian(ms), wallTimeMin(ms), allocatedPerSolve(MB), factsHeap(MB), " +
+            "serialTimeHorizon, makespan, speedupFactor, violations, status";
+    static final int COLUMN_COUNT = HEADER.split(", ").length;
+    private static final int PREFIX_COLUMN_COUNT = 5;// solver, mode, processCount, computerCount, conflictDegree
+    private static final String LIMITS_HEADER = "solver, mode, computerCount, largestPracticalProcessCount, " +
+            "wallTimeAtLimit(ms), scalingExponent, firstImpracticalProcessCount";
+
+    public static final String STATUS_OK = "ok";
+    public static final String STATUS_OVER_BUDGET = "over-budget";
+    public static final String STATUS_PREDICTED_OVER_BUDGET = "predicted-over-budget";
+    public static final String STATUS_SKIPPED = "skipped";
+
+    public int[] processCounts = {1_000, 10_000, 100_000, 1_000_000};
+    public int[] coreCounts = {1, 4, 16, 64, 256};
+    public int conflictDegree = 8;
+    public SolverType[] solverTypes = SolverType.values();
+    public boolean[] modes = {true, false};// proposer, attestor
+    public long budgetMs = 10_000;
+    public int repetitions = 3;
+    public Path outputPath = Paths.get("src/main/resources/scaling-benchmark.csv");
+
+    /**
+     * the scaling of a solver for a mode and a core count, over the increasing transaction counts
+     */
+    private static class Limit {
+        int lastProcessCount = 0;
+        double lastWallTimeMs = 0;
+        int largestPracticalProcessCount = 0;
+        double wallTimeAtLimitMs = 0;
+        double scalingExponent = 1.0;// at least linear, fitted from the last two measured counts
+        int firstImpracticalProcessCount = -1;
+
+        boolean isImpractical() {
+            return firstImpracticalProcessCount != -1;
+        }
+
+        double predictWallTimeMs(int processCount) {
+            if (lastProcessCount == 0) {
+                return 0;
+            }
+            return lastWallTimeMs * Math.pow((double) processCount / lastProcessCount, scalingExponent);
+        }
+
+        void measured(int processCount, double wallTimeMs) {
+            if (lastProcessCount != 0 && lastWallTimeMs > 0 && processCount > lastProcessCount) {
+                double exponent = Math.log(wallTimeMs / lastWallTimeMs) /
+                        Math.log((double) processCount / lastProcessCount);
+                scalingExponent = Math.max(1.0, exponent);
+            }
+            lastProcessCount = processCount;
+            lastWallTimeMs = wallTimeMs;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        ScalingBenchmark benchmark = new ScalingBenchmark();
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--processes":
+                    benchmark.processCounts = parseInts(value);
+                    break;
+                case "--cores":
+                    benchmark.coreCounts = parseInts(value);
+                    break;
+                case "--conflict-degree":
+                    benchmark.conflictDegree = Integer.parseInt(value);
+                    break;
+                case "--solvers":
+                    String[] names = value.split(",");
+                    benchmark.solverTypes = new SolverType[names.length];
+                    for (int j = 0; j < names.length; j++) {
+                        benchmark.solverTypes[j] = SolverType.getByName(names[j].trim());
+                    }
+                    break;
+                case "--modes":
+                    benchmark.modes = parseModes(value);
+                    break;
+                case "--budget-ms":
+                    benchmark.budgetMs = Long.parseLong(value);
+                    break;
+                case "--repetitions":
+                    benchmark.repetitions = Integer.parseInt(value);
+                    break;
+                case "--output":
+                    benchmark.outputPath = Paths.get(value);
+                    break;
+                default:
+                    System.out.println("Usage: ScalingBenchmark [--processes 1000,10000,100000,1000000] " +
+                            "[--cores 1,4,16,64,256] [--conflict-degree 8] [--solvers dispatcher,optimized,scalable] " +
+                            "[--modes proposer,attestor] [--budget-ms 10000] [--repetitions 3] [--output path]");
+                    System.exit(1);
+            }
+            i++;
+        }
+        benchmark.run();
+    }
+
+    public void run() throws IOException {
+        int[] sortedProcessCounts = processCounts.clone();
+        Arrays.sort(sortedProcessCounts);
+        Strategy.ProcessSortType processSortType = Strategy.ProcessSortType.getByValue(PROCESS_SORT_TYPE);
+        ExecutionSettings settings = new ExecutionSettings(-1, -1, RANDOM_SEED);
+
+        Solver[] solvers = new Solver[solverTypes.length];
+        for (int i = 0; i < solverTypes.length; i++) {
+            solvers[i] = solverTypes[i].newSolver();
+        }
+        warmUp(solvers, settings, processSortType);
+
+        Map<String, Limit> limits = new HashMap<>();
+        if (outputPath.getParent() != null) {
+            Files.createDirectories(outputPath.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(outputPath))) {
+            writer.println(HEADER);
+            System.out.println(HEADER);
+            for (int processCount : sortedProcessCounts) {
+                ExecutionFacts facts = null;// generated only if a cell of this count runs
+                double factsHeapMb = -1;
+                for (int coreCount : coreCounts) {
+                    for (int solverIndex = 0; solverIndex < solvers.length; solverIndex++) {
+                        for (boolean isProposerMode : modes) {
+                            String limitKey = solverTypes[solverIndex] + "," + getModeName(isProposerMode) + "," +
+                                    coreCount;
+                            Limit limit = limits.get(limitKey);
+                            if (limit == null) {
+                                limit = new Limit();
+                                limits.put(limitKey, limit);
+                            }
+                            String prefix = limitKey.replace(",", ", ").replaceFirst(", \\d+$", "") + ", " +
+                                    processCount + ", " + coreCount + ", " + conflictDegree + ", ";
+                            if (limit.isImpractical()) {
+                                writeLine(writer, getUnmeasuredRow(prefix, "", STATUS_SKIPPED));
+                                continue;
+                            }
+                            double predictedMs = limit.predictWallTimeMs(processCount);
+                            if (predictedMs > budgetMs * PREDICTION_MARGIN) {
+                                limit.firstImpracticalProcessCount = processCount;
+                                writeLine(writer, getUnmeasuredRow(prefix, String.format("%.3f", predictedMs),
+                                        STATUS_PREDICTED_OVER_BUDGET));
+                                continue;
+                            }
+
+                            if (facts == null) {
+                                long usedBefore = getUsedHeap();
+                                facts = DataGenerator.getBenchmarkWithConflictDegree(RANDOM_SEED, processCount,
+                                        PROCESS_EXECUTION_TIME_MIN, PROCESS_EXECUTION_TIME_MAX, 1, conflictDegree,
+                                        TIME_WEIGHT);
+                                factsHeapMb = Math.max(0, getUsedHeap() - usedBefore) / 1_048_576.0;// noisy below 1 MB
+                            }
+                            facts.computers = getComputers(coreCount);
+                            String line = measure(solvers[solverIndex], facts, settings,
+                                    new Strategy(processSortType, LOOSE_REVIEW_ROUND), isProposerMode, limit,
+                                    processCount, factsHeapMb);
+                            writeLine(writer, prefix + facts.conflictingProcesses.size() + ", " + line);
+                        }
+                    }
+                }
+            }
+        }
+        writeLimits(limits);
+    }
+
+    /**
+     * @param prefix         the first {@link #PREFIX_COLUMN_COUNT} columns, each followed by ", "
+     * @param wallTimeMedian the predicted wall time, empty for a skipped cell
+     * @param status
+     * @return the {@link #HEADER} row of a cell that is not measured, without conflict pairs and repetitions and with
+     * empty measurements after the median wall time
+     */
+    static String getUnmeasuredRow(String prefix, String wallTimeMedian, String status) {
+        StringBuilder row = new StringBuilder(prefix).append("-, 0, ").append(wallTimeMedian);
+        for (int column = PREFIX_COLUMN_COUNT + 3; column < COLUMN_COUNT - 1; column++) {
+            row.append(", ");
+        }
+        return row.append(", ").append(status).toString();
+    }
+
+    /**
+     * solve the cell up to the repetitions or until the budget is spent
+     *
+     * @return the measurement columns after the conflict pairs
+     */
+    private String measure(Solver solver, ExecutionFacts facts, ExecutionSettings settings, Strategy strategy,
+                           boolean isProposerMode, Limit limit, int processCount, double factsHeapMb) {
+        long horizon = 0;
+        for (Process process : facts.processes) {
+            horizon += process.executionTime;
+        }
+        double[] wallTimesMs = new double[repetitions];
+        long allocatedBytes = 0;
+        int makespan = 0;
+        int runs = 0;
+        double spentMs = 0;
+        while (runs < repetitions && (runs == 0 || spentMs < budgetMs)) {
+            facts.resetPlanning();
+            facts.isProposerMode = isProposerMode;
+            long allocatedBefore = getAllocatedBytes();
+            long startTime = System.nanoTime();
+            ExecutionOutput output = solver.solve(facts, settings, strategy);
+            wallTimesMs[runs] = (System.nanoTime() - startTime) / 1_000_000.0;
+            allocatedBytes = getAllocatedBytes() - allocatedBefore;
+            makespan = output.scheduleMakespan;
+            spentMs += wallTimesMs[runs];
+            runs++;
+        }
+        int violations = ScheduleValidator.validate(facts.processes, false).size();
+
+        double[] measured = Arrays.copyOf(wallTimesMs, runs);
+        Arrays.sort(measured);
+        double medianMs = measured[(runs - 1) / 2];
+        String status;
+        if (medianMs > budgetMs) {
+            status = STATUS_OVER_BUDGET;
+            limit.firstImpracticalProcessCount = processCount;
+        } else {
+            status = STATUS_OK;
+            limit.largestPracticalProcessCount = processCount;
+            limit.wallTimeAtLimitMs = medianMs;
+        }
+        limit.measured(processCount, medianMs);
+        return String.format("%d, %.3f, %.3f, %.3f, %.3f, %d, %d, %.6f, %d, %s", runs, medianMs, measured[0],
+                allocatedBytes < 0 ? -1 : allocatedBytes / 1_048_576.0, factsHeapMb, horizon, makespan,
+                (double) horizon / makespan, violations, status);
+    }
+
+    private void writeLimits(Map<String, Limit> limits) throws IOException {
+        String fileName = outputPath.getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        String limitsFileName = extensionIndex == -1 ? fileName + "-limits" :
+                fileName.substring(0, extensionIndex) + "-limits" + fileName.substring(extensionIndex);
+        Path limitsPath = outputPath.resolveSibling(limitsFileName);
+        List<String> keys = new ArrayList<>(limits.keySet());
+        keys.sort(null);
+        System.out.println("\nPractical limits (budget " + budgetMs + " ms per solve):\n" + LIMITS_HEADER);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(limitsPath))) {
+            writer.println(LIMITS_HEADER);
+            for (String key : keys) {
+                Limit limit = limits.get(key);
+                String line = key.replace(",", ", ") + ", " + limit.largestPracticalProcessCount + ", " +
+                        String.format("%.3f, %.2f, ", limit.wallTimeAtLimitMs, limit.scalingExponent) +
+                        (limit.isImpractical() ? String.valueOf(limit.firstImpracticalProcessCount) : "");
+                writer.println(line);
+                System.out.println(line);
+            }
+        }
+        System.out.println("Output files: " + outputPath + ", " + limitsPath);
+    }
+
+    private void warmUp(Solver[] solvers, ExecutionSettings settings, Strategy.ProcessSortType processSortType) {
+        ExecutionFacts facts = DataGenerator.getBenchmarkWithConflictDegree(RANDOM_SEED, 1_000,
+                PROCESS_EXECUTION_TIME_MIN, PROCESS_EXECUTION_TIME_MAX, 8, conflictDegree, TIME_WEIGHT);
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            for (Solver solver : solvers) {
+                for (boolean isProposerMode : modes) {
+                    facts.resetPlanning();
+                    facts.isProposerMode = isProposerMode;
+                    solver.solve(facts, settings, new Strategy(processSortType, LOOSE_REVIEW_ROUND));
+                }
+            }
+        }
+    }
+
+    private static void writeLine(PrintWriter writer, String line) {
+        writer.println(line);
+        writer.flush();
+        System.out.println(line);
+    }
+
+    private static List<Computer> getComputers(int computerCount) {
+        List<Computer> computers = new ArrayList<>(computerCount);
+        for (int computerId = 0; computerId < computerCount; computerId++) {
+            computers.add(new Computer(computerId));
+        }
+        return computers;
+    }
+
+    private static String getModeName(boolean isProposerMode) {
+        return isProposerMode ? "proposer" : "attestor";
+    }
+
+    private static long getUsedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or -1 if the JVM does not report it
+     */
+    private static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static int[] parseInts(String value) {
+        String[] parts = value.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+
+    private static boolean[] parseModes(String value) {
+        String[] parts = value.split(",");
+        boolean[] modes = new boolean[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String mode = parts[i].trim().toLowerCase();
+            if (!mode.equals("proposer") && !mode.equals("attestor")) {
+                throw new IllegalArgumentException("unknown mode: " + parts[i] + ", use proposer or attestor");
+            }
+            modes[i] = mode.equals("proposer");
+        }
+        return modes;
+    }
+}
@@ -1,26 +1,32 @@
 package it.unitn.visualization;
 
 import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.Computer;
 import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
 import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
 import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.SolverMetrics;
+import it.unitn.emvscheduling.greedy.domain.UnorderedPair;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputerPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputingPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ProcessLCCFComparator;
+import it.unitn.emvscheduling.greedy.domain.solver.ProcessLCDFComparator;
+import it.unitn.emvscheduling.greedy.domain.solver.ProcessMCCFComparator;
+import it.unitn.emvscheduling.greedy.domain.solver.ProcessMCDFComparator;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleValidator;
 import it.unitn.emvscheduling.greedy.solver.DispatcherSolver;
 import it.unitn.emvscheduling.greedy.solver.Solver;
 import it.unitn.emvscheduling.greedy.solver.Strategy;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class SpeedupDataGenerator {
     
@@ -34,13 +40,43 @@ public class SpeedupDataGenerator {
     private static final int PROCESS_SORT_TYPE = 3; // MCDF
     private static final int LOOSE_REVIEW_ROUND = 29;
     private static final int RANDOM_SEEDS_PER_CONFIG = 5; // Number of random seeds for each configuration
+    public static final int MIN_SEEDS_PER_CONFIG = 3; // the first seeds of each configuration when sampling
+    public static final int MAX_SEEDS_PER_CONFIG = 30; // the cap of the seeds of each configuration when sampling
     private static final int MAX_SOLVER_EXECUTION_TIME = -1;
     private static final int NUMBER_OF_WORKERS = -1;
-    
+    public static final Path DEFAULT_CACHE_PATH = Paths.get("target/speedup-cache/cells.log");
+    public static final Path DEFAULT_OUTPUT_PATH = Paths.get("src/main/resources/speedup-auto.xlsx");
+
+    /**
+     * the classes on the path which computes a cell (this one included, it holds the configuration and the speedup
+     * formula), a change of any of them invalidates the cached cells
+     */
+    private static final Class<?>[] SOLVER_CLASSES = {SpeedupDataGenerator.class, Solver.class,
+            DispatcherSolver.class, ComputingPlan.class, ComputerPlan.class, ScheduleValidator.class,
+            ProcessMCDFComparator.class, ProcessLCDFComparator.class, ProcessMCCFComparator.class,
+            ProcessLCCFComparator.class, Strategy.class, Strategy.ProcessSortType.class, ExecutionFacts.class,
+            ExecutionSettings.class, ExecutionOutput.class, SolverMetrics.class, Process.class, Computer.class,
+            UnorderedPair.class, DataGenerator.class};
+
+    /**
+     * @param args [parallelism] [cacheFile] [targetHalfWidth], the threads solving the cells (default: the available
+     *             processors), the cache of the solved cells (default: target/speedup-cache/cells.log, none to solve
+     *             all of them) and the 95% confidence interval half-width of the sequential sampling mode, as a
+     *             fraction of the mean (default: 0, a fixed number of seeds)
+     */
     public static void main(String[] args) {
         try {
             System.out.println("Starting automated speedup data generation...");
-            generateSpeedupData();
+            int parallelism = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+            Path cachePath = args.length > 1 ? ("none".equals(args[1]) ? null : Paths.get(args[1])) :
+                    DEFAULT_CACHE_PATH;
+            double targetHalfWidth = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                generateSpeedupData(pool, cachePath, targetHalfWidth);
+            } finally {
+                pool.shutdown();
+            }
             System.out.println("Speedup data generation completed successfully!");
             System.out.println("Output file: speedup-auto.xlsx");
         } catch (Exception e) {
@@ -50,134 +86,458 @@ public class SpeedupDataGenerator {
     }
     
     public static void generateSpeedupData() throws IOException {
-        // Create workbook and sheet
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Speedup Data");
-            
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {
-                "Group", "ProcessCount", "ConflictPercentage", 
-                "Core1_Proposer", "Core1_Attestor",
-                "Core2_Proposer", "Core2_Attestor",
-                "Core3_Proposer", "Core3_Attestor",
-                "Core4_Proposer", "Core4_Attestor",
-                "Core5_Proposer", "Core5_Attestor",
-                "Core6_Proposer", "Core6_Attestor",
-                "Core7_Proposer", "Core7_Attestor",
-                "Core8_Proposer", "Core8_Attestor",
-                "Core9_Proposer", "Core9_Attestor",
-                "Core10_Proposer", "Core10_Attestor",
-                "Core11_Proposer", "Core11_Attestor",
-                "Core12_Proposer", "Core12_Attestor",
-                "Core13_Proposer", "Core13_Attestor",
-                "Core14_Proposer", "Core14_Attestor",
-                "Core15_Proposer", "Core15_Attestor",
-                "Core16_Proposer", "Core16_Attestor",
-                "Core17_Proposer", "Core17_Attestor",
-                "Core18_Proposer", "Core18_Attestor",
-                "Core19_Proposer", "Core19_Attestor",
-                "Core20_Proposer", "Core20_Attestor",
-                "Core21_Proposer", "Core21_Attestor",
-                "Core22_Proposer", "Core22_Attestor",
-                "Core23_Proposer", "Core23_Attestor",
-                "Core24_Proposer", "Core24_Attestor",
-                "Core25_Proposer", "Core25_Attestor",
-                "Core26_Proposer", "Core26_Attestor",
-                "Core27_Proposer", "Core27_Attestor",
-                "Core28_Proposer", "Core28_Attestor",
-                "Core29_Proposer", "Core29_Attestor",
-                "Core30_Proposer", "Core30_Attestor",
-                "Core31_Proposer", "Core31_Attestor",
-                "Core32_Proposer", "Core32_Attestor"
-            };
-            
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
+        generateSpeedupData(ForkJoinPool.commonPool(), DEFAULT_CACHE_PATH, 0);
+    }
+
+    /**
+     * @param pool            solves the cells (a seed of a core count of a row, in both modes), they are independent
+     * @param cachePath       the {@link CellResultLog} of the cells, keyed by their configuration and the hash of the
+     *                        solver classes, only the cells which are not in it are solved. null to solve all of them
+     * @param targetHalfWidth if positive, the sequential sampling mode: after {@link #MIN_SEEDS_PER_CONFIG} seeds,
+     *                        the seeds of a core count of a row are added one at a time in each mode until the
+     *                        half-width of the 95% confidence interval of its mean speedup is at most this fraction
+     *                        of the mean (the speedups are from 1 to the core count), up to
+     *                        {@link #MAX_SEEDS_PER_CONFIG}. Otherwise {@link #RANDOM_SEEDS_PER_CONFIG} seeds
+     * @throws IOException
+     */
+    public static void generateSpeedupData(ForkJoinPool pool, Path cachePath, double targetHalfWidth)
+            throws IOException {
+        generateSpeedupData(pool, cachePath, targetHalfWidth, DEFAULT_OUTPUT_PATH);
+    }
+
+    /**
+     * like {@link #generateSpeedupData(ForkJoinPool, Path, double)}, the rows are also aggregated in memory as they
+     * are written, so the table and the charts can be made from the sweep without reading the workbook
+     *
+     * @param outputPath the workbook, null to only aggregate the rows
+     * @return the groupings of the rows, the same as {@link SpeedupWorkbookReader#read(Path)} of the workbook
+     * @throws IOException
+     */
+    public static SpeedupWorkbookReader.Groupings generateSpeedupData(ForkJoinPool pool, Path cachePath,
+                                                                      double targetHalfWidth, Path outputPath)
+            throws IOException {
+        // Create header row
+        String[] headers = {
+            "Group", "ProcessCount", "ConflictPercentage", 
+            "Core1_Proposer", "Core1_Attestor",
+            "Core2_Proposer", "Core2_Attestor",
+            "Core3_Proposer", "Core3_Attestor",
+            "Core4_Proposer", "Core4_Attestor",
+            "Core5_Proposer", "Core5_Attestor",
+            "Core6_Proposer", "Core6_Attestor",
+            "Core7_Proposer", "Core7_Attestor",
+            "Core8_Proposer", "Core8_Attestor",
+            "Core9_Proposer", "Core9_Attestor",
+            "Core10_Proposer", "Core10_Attestor",
+            "Core11_Proposer", "Core11_Attestor",
+            "Core12_Proposer", "Core12_Attestor",
+            "Core13_Proposer", "Core13_Attestor",
+            "Core14_Proposer", "Core14_Attestor",
+            "Core15_Proposer", "Core15_Attestor",
+            "Core16_Proposer", "Core16_Attestor",
+            "Core17_Proposer", "Core17_Attestor",
+            "Core18_Proposer", "Core18_Attestor",
+            "Core19_Proposer", "Core19_Attestor",
+            "Core20_Proposer", "Core20_Attestor",
+            "Core21_Proposer", "Core21_Attestor",
+            "Core22_Proposer", "Core22_Attestor",
+            "Core23_Proposer", "Core23_Attestor",
+            "Core24_Proposer", "Core24_Attestor",
+            "Core25_Proposer", "Core25_Attestor",
+            "Core26_Proposer", "Core26_Attestor",
+            "Core27_Proposer", "Core27_Attestor",
+            "Core28_Proposer", "Core28_Attestor",
+            "Core29_Proposer", "Core29_Attestor",
+            "Core30_Proposer", "Core30_Attestor",
+            "Core31_Proposer", "Core31_Attestor",
+            "Core32_Proposer", "Core32_Attestor"
+        };
+        String[] confidenceHeaders = new String[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            confidenceHeaders[i] = i < 3 ? headers[i] : headers[i] + "_CI95";
+        }
+
+        // Solve the first seeds of all the cells in parallel, each into its own slot, then, in the sequential
+        // sampling mode, the next seeds of the cells which are not tight enough, a row per task. The seeds are
+        // averaged in their order so the workbook is the same as the sequential one
+        boolean isAdaptive = targetHalfWidth > 0;
+        int firstSeedCount = isAdaptive ? MIN_SEEDS_PER_CONFIG : RANDOM_SEEDS_PER_CONFIG;
+        int maxSeedCount = isAdaptive ? MAX_SEEDS_PER_CONFIG : RANDOM_SEEDS_PER_CONFIG;
+        int rowCount = PROCESS_COUNTS.length * CONFLICT_PERCENTAGES.length;
+        int cellCount = rowCount * CORE_COUNTS.length;
+        Samples proposerSamples = new Samples(cellCount, maxSeedCount);
+        Samples attestorSamples = new Samples(cellCount, maxSeedCount);
+        long startTime = System.nanoTime();
+        CellResultLog cache = cachePath == null ? null :
+                new CellResultLog(cachePath, CellResultLog.getVersionHash(SOLVER_CLASSES));
+        Thread checkpointHook = null;
+        if (cache != null) {
+            if (cache.getLoadedCount() > 0) {
+                System.out.printf("Resuming from %s: %d cells are already solved%n", cachePath,
+                        cache.getLoadedCount());
             }
-            
-            int rowIndex = 1;
-            
+            checkpointHook = getCheckpointHook(cache);
+            Runtime.getRuntime().addShutdownHook(checkpointHook);
+        }
+        try {
+            pool.invoke(new SweepTask(0, rowCount * firstSeedCount, firstSeedCount, proposerSamples,
+                    attestorSamples, cache));
+            Arrays.fill(proposerSamples.seedCounts, firstSeedCount);
+            Arrays.fill(attestorSamples.seedCounts, firstSeedCount);
+            if (maxSeedCount > firstSeedCount) {
+                pool.invoke(new SamplingTask(0, rowCount, targetHalfWidth, proposerSamples, attestorSamples,
+                        cache));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (cache != null) {
+                cache.close();
+                try {
+                    Runtime.getRuntime().removeShutdownHook(checkpointHook);
+                } catch (IllegalStateException e) {
+                    // the JVM is already shutting down, the hook has closed the log
+                }
+            }
+        }
+        long sampleCount = proposerSamples.getSampleCount() + attestorSamples.getSampleCount();
+        int cachedCount = cache == null ? 0 : cache.getHitCount();
+        System.out.printf("Solved %d cells and read %d from the cache (%.1f%% of %d seeds per cell) on %d threads " +
+                        "in %.3f s%n", sampleCount - cachedCount, cachedCount,
+                100.0 * sampleCount / (2L * cellCount * RANDOM_SEEDS_PER_CONFIG), RANDOM_SEEDS_PER_CONFIG,
+                pool.getParallelism(), (System.nanoTime() - startTime) / 1e9);
+        System.out.printf("Largest 95%% CI half-width: %.4f of the mean, cells with %d seeds: %d%n",
+                Math.max(proposerSamples.getMaxRelativeHalfWidth(), attestorSamples.getMaxRelativeHalfWidth()),
+                maxSeedCount,
+                proposerSamples.getCountWithSeeds(maxSeedCount) + attestorSamples.getCountWithSeeds(maxSeedCount));
+
+        // Stream the rows to the workbook, only a window of them is kept in memory, and their confidence intervals
+        // to the Confidence sheet, and add them to the groupings
+        SpeedupWorkbookReader.GroupingsBuilder groupings = new SpeedupWorkbookReader.GroupingsBuilder();
+        SpeedupWorkbookWriter writer = outputPath == null ? null : new SpeedupWorkbookWriter(outputPath,
+                "Speedup Data", headers, SpeedupWorkbookWriter.DEFAULT_WINDOW_SIZE);
+        try {
+            SpeedupWorkbookWriter.SheetWriter confidenceWriter = writer == null ? null : writer.addSheet(
+                    SpeedupWorkbookReader.CONFIDENCE_SHEET_NAME, confidenceHeaders);
+            double[] values = new double[headers.length];
+            double[] halfWidths = new double[headers.length];
+            int group = 1;
+
             // Generate data for each process count and conflict percentage combination
-            for (int processCount : PROCESS_COUNTS) {
-                for (int conflictPercentage : CONFLICT_PERCENTAGES) {
-                    System.out.println("Processing: " + processCount + " processes, " + conflictPercentage + "% conflicts");
-                    
-                    // Calculate average speedup for each core count
-                    double[] proposerSpeedups = new double[CORE_COUNTS.length];
-                    double[] attestorSpeedups = new double[CORE_COUNTS.length];
-                    
-                    // For each core count, run multiple random seeds and calculate average
-                    for (int coreIndex = 0; coreIndex < CORE_COUNTS.length; coreIndex++) {
-                        int coreCount = CORE_COUNTS[coreIndex];
-                        
-                        List<Double> proposerSpeedupValues = new ArrayList<>();
-                        List<Double> attestorSpeedupValues = new ArrayList<>();
-                        
-                        // Run multiple random seeds for statistical significance
-                        for (int seed = 1; seed <= RANDOM_SEEDS_PER_CONFIG; seed++) {
-                            // Test proposer mode
-                            double proposerSpeedup = calculateSpeedup(seed, processCount, coreCount, conflictPercentage, true);
-                            proposerSpeedupValues.add(proposerSpeedup);
-                            
-                            // Test attestor mode
-                            double attestorSpeedup = calculateSpeedup(seed, processCount, coreCount, conflictPercentage, false);
-                            attestorSpeedupValues.add(attestorSpeedup);
-                        }
-                        
-                        // Calculate average speedup for this core count
-                        proposerSpeedups[coreIndex] = proposerSpeedupValues.stream().mapToDouble(Double::doubleValue).average().orElse(1.0);
-                        attestorSpeedups[coreIndex] = attestorSpeedupValues.stream().mapToDouble(Double::doubleValue).average().orElse(1.0);
-                    }
-                    
-                    // Create data row
-                    Row dataRow = sheet.createRow(rowIndex++);
-                    
+            for (int processIndex = 0; processIndex < PROCESS_COUNTS.length; processIndex++) {
+                for (int conflictIndex = 0; conflictIndex < CONFLICT_PERCENTAGES.length; conflictIndex++) {
                     // Set group, process count, and conflict percentage
-                    dataRow.createCell(0).setCellValue(rowIndex - 1); // Group number
-                    dataRow.createCell(1).setCellValue(processCount);
-                    dataRow.createCell(2).setCellValue(conflictPercentage);
-                    
-                    // Set speedup values for each core count
+                    values[0] = group++;
+                    values[1] = PROCESS_COUNTS[processIndex];
+                    values[2] = CONFLICT_PERCENTAGES[conflictIndex];
+                    System.arraycopy(values, 0, halfWidths, 0, 3);
+
+                    // Set the average speedup of the seeds for each core count
+                    int row = processIndex * CONFLICT_PERCENTAGES.length + conflictIndex;
                     for (int coreIndex = 0; coreIndex < CORE_COUNTS.length; coreIndex++) {
+                        int cell = row * CORE_COUNTS.length + coreIndex;
                         int colIndex = 3 + (coreIndex * 2); // Start from column 3, each core takes 2 columns
-                        dataRow.createCell(colIndex).setCellValue(proposerSpeedups[coreIndex]);
-                        dataRow.createCell(colIndex + 1).setCellValue(attestorSpeedups[coreIndex]);
+                        values[colIndex] = proposerSamples.getMean(cell);
+                        values[colIndex + 1] = attestorSamples.getMean(cell);
+                        halfWidths[colIndex] = proposerSamples.getHalfWidth(cell);
+                        halfWidths[colIndex + 1] = attestorSamples.getHalfWidth(cell);
+                    }
+                    if (writer != null) {
+                        writer.writeRow(values);
+                        confidenceWriter.writeRow(halfWidths);
                     }
+                    groupings.addRow(values);
+                    groupings.addConfidenceRow(halfWidths);
                 }
             }
-            
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+        return groupings.build();
+    }
+
+    /**
+     * @return a hook which forces the solved cells to the disk if the run is interrupted (Ctrl-C, kill), the next run
+     * resumes from them
+     */
+    private static Thread getCheckpointHook(CellResultLog cache) {
+        return new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    cache.close();
+                    System.err.println("Interrupted, " + cache.getPutCount() + " solved cells are checkpointed");
+                } catch (IOException e) {
+                    System.err.println("Could not checkpoint the solved cells: " + e.getMessage());
+                }
             }
+        }, "speedup-checkpoint");
+    }
+
+    /**
+     * the speedups of the seeds of each cell (a core count of a row, row * CORE_COUNTS.length + coreIndex) in a mode,
+     * the value of seed s is at s - 1
+     */
+    private static class Samples {
+        final double[][] values;
+        final int[] seedCounts;
 
-            // Save the workbook
-            Path outputPath = Paths.get("src/main/resources/speedup-auto.xlsx");
-            Files.createDirectories(outputPath.getParent());
+        Samples(int cellCount, int maxSeedCount) {
+            values = new double[cellCount][maxSeedCount];
+            seedCounts = new int[cellCount];
+        }
 
-            // Open output stream with TRUNCATE_EXISTING to empty the file first (if it exists)
-            try (OutputStream fileOut = Files.newOutputStream(outputPath,
-                    StandardOpenOption.CREATE,           // Create if not exists
-                    StandardOpenOption.TRUNCATE_EXISTING, // Truncate if exists
-                    StandardOpenOption.WRITE)) {         // Open for writing
-                workbook.write(fileOut);
+        double getMean(int cell) {
+            return Arrays.stream(values[cell], 0, seedCounts[cell]).average().orElse(1.0);
+        }
+
+        /**
+         * @return the half-width of the 95% confidence interval of the mean, t * s / sqrt(n), 0 for one seed
+         */
+        double getHalfWidth(int cell) {
+            int seedCount = seedCounts[cell];
+            if (seedCount < 2) {
+                return 0;
+            }
+            double mean = getMean(cell);
+            double squaredDifferences = 0;
+            for (int i = 0; i < seedCount; i++) {
+                squaredDifferences += (values[cell][i] - mean) * (values[cell][i] - mean);
+            }
+            return getStudentT975(seedCount - 1) * Math.sqrt(squaredDifferences / (seedCount - 1) / seedCount);
+        }
+
+        long getSampleCount() {
+            long sampleCount = 0;
+            for (int seedCount : seedCounts) {
+                sampleCount += seedCount;
             }
+            return sampleCount;
+        }
+
+        double getMaxRelativeHalfWidth() {
+            double maxHalfWidth = 0;
+            for (int cell = 0; cell < seedCounts.length; cell++) {
+                maxHalfWidth = Math.max(maxHalfWidth, getHalfWidth(cell) / getMean(cell));
+            }
+            return maxHalfWidth;
+        }
+
+        int getCountWithSeeds(int seedCount) {
+            int count = 0;
+            for (int cellSeedCount : seedCounts) {
+                if (cellSeedCount == seedCount) {
+                    count++;
+                }
+            }
+            return count;
         }
     }
-    
-    private static double calculateSpeedup(int randomSeed, int processCount, int computerCount, 
-                                         int conflictPercentage, boolean isProposerMode) {
+
+    private static final double[] STUDENT_T_975 = {12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262,
+            2.228, 2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086, 2.080, 2.074, 2.069, 2.064,
+            2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    /**
+     * @param degreesOfFreedom
+     * @return the 0.975 quantile of the Student t distribution, from the table up to 30 and 1.96 + 2.4 / df after
+     */
+    static double getStudentT975(int degreesOfFreedom) {
+        if (degreesOfFreedom <= STUDENT_T_975.length) {
+            return STUDENT_T_975[degreesOfFreedom - 1];
+        }
+        return 1.96 + 2.4 / degreesOfFreedom;
+    }
+
+    /**
+     * the facts of a seed of a row, generated on the first cell which is not in the cache (they do not depend on the
+     * core count) and given the computers of each core count
+     */
+    private static class SeedFacts {
+        final int seed;
+        final int processCount;
+        final int conflictPercentage;
+        ExecutionFacts facts;
+
+        SeedFacts(int seed, int processCount, int conflictPercentage) {
+            this.seed = seed;
+            this.processCount = processCount;
+            this.conflictPercentage = conflictPercentage;
+        }
+
+        ExecutionFacts get(int coreCount) {
+            if (facts == null) {
+                facts = DataGenerator.getBenchmark(seed, processCount, PROCESS_EXECUTION_TIME_MIN,
+                        PROCESS_EXECUTION_TIME_MAX, 0, conflictPercentage, TIME_WEIGHT);
+            }
+            if (facts.computers.size() != coreCount) {
+                facts.computers = new ArrayList<>(coreCount);
+                for (int computerId = 0; computerId < coreCount; computerId++) {
+                    facts.computers.add(new Computer(computerId));
+                }
+            }
+            return facts;
+        }
+    }
+
+    /**
+     * @return the speedup of the cell from the cache, or solved and put in the cache. A cell which can not be solved
+     * is 1 and is not cached, the next run solves it again
+     */
+    private static double solveCell(SeedFacts seedFacts, int coreCount, boolean isProposerMode,
+                                    CellResultLog cache) {
+        String key = getCellKey(seedFacts.processCount, seedFacts.conflictPercentage, coreCount, seedFacts.seed,
+                isProposerMode);
+        Double cachedSpeedup = cache == null ? null : cache.get(key);
+        if (cachedSpeedup != null) {
+            return cachedSpeedup;
+        }
+        double speedup = calculateSpeedup(seedFacts.get(coreCount), seedFacts.seed, coreCount, isProposerMode);
+        if (Double.isNaN(speedup)) {
+            return 1.0;
+        }
+        if (cache != null) {
+            try {
+                cache.put(key, speedup);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return speedup;
+    }
+
+    /**
+     * @return the full configuration of a cell, the key of its result in the cache
+     */
+    static String getCellKey(int processCount, int conflictPercentage, int coreCount, int seed,
+                             boolean isProposerMode) {
+        return "processes=" + processCount + ",conflicts=" + conflictPercentage + ",cores=" + coreCount +
+                ",seed=" + seed + ",mode=" + (isProposerMode ? "proposer" : "attestor") +
+                ",executionTime=" + PROCESS_EXECUTION_TIME_MIN + "-" + PROCESS_EXECUTION_TIME_MAX +
+                ",timeWeight=" + TIME_WEIGHT + ",sort=" + PROCESS_SORT_TYPE + ",looseReviewRound=" +
+                LOOSE_REVIEW_ROUND + ",workers=" + NUMBER_OF_WORKERS + ",maxTime=" + MAX_SOLVER_EXECUTION_TIME;
+    }
+
+    /**
+     * solves the cells of the (row, seed) pairs in [from, to), splitting the range until it is one pair. A pair is
+     * (processIndex * CONFLICT_PERCENTAGES.length + conflictIndex) * seedCount + seed - 1, its facts are generated
+     * once and solved for each core count and mode, and the speedup of each core count is written to its own slot
+     * of the samples
+     */
+    private static class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final int seedCount;
+        private final Samples proposerSamples;
+        private final Samples attestorSamples;
+        private final CellResultLog cache;// null if all the cells are solved
+
+        SweepTask(int from, int to, int seedCount, Samples proposerSamples, Samples attestorSamples,
+                  CellResultLog cache) {
+            this.from = from;
+            this.to = to;
+            this.seedCount = seedCount;
+            this.proposerSamples = proposerSamples;
+            this.attestorSamples = attestorSamples;
+            this.cache = cache;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SweepTask(from, middle, seedCount, proposerSamples, attestorSamples, cache),
+                        new SweepTask(middle, to, seedCount, proposerSamples, attestorSamples, cache));
+                return;
+            }
+            int seed = from % seedCount + 1;
+            int row = from / seedCount;
+            SeedFacts seedFacts = new SeedFacts(seed, PROCESS_COUNTS[row / CONFLICT_PERCENTAGES.length],
+                    CONFLICT_PERCENTAGES[row % CONFLICT_PERCENTAGES.length]);
+            for (int coreIndex = 0; coreIndex < CORE_COUNTS.length; coreIndex++) {
+                int cell = row * CORE_COUNTS.length + coreIndex;
+                proposerSamples.values[cell][seed - 1] = solveCell(seedFacts, CORE_COUNTS[coreIndex], true, cache);
+                attestorSamples.values[cell][seed - 1] = solveCell(seedFacts, CORE_COUNTS[coreIndex], false, cache);
+            }
+        }
+    }
+
+    /**
+     * adds the next seeds of the rows in [from, to) one at a time, to the cells whose confidence interval is wider
+     * than the target fraction of their mean until they have the maximum seeds. A row is sequential, so the seeds of
+     * a cell do not depend on the threads
+     */
+    private static class SamplingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final double targetHalfWidth;
+        private final Samples proposerSamples;
+        private final Samples attestorSamples;
+        private final CellResultLog cache;
+
+        SamplingTask(int from, int to, double targetHalfWidth, Samples proposerSamples, Samples attestorSamples,
+                     CellResultLog cache) {
+            this.from = from;
+            this.to = to;
+            this.targetHalfWidth = targetHalfWidth;
+            this.proposerSamples = proposerSamples;
+            this.attestorSamples = attestorSamples;
+            this.cache = cache;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SamplingTask(from, middle, targetHalfWidth, proposerSamples, attestorSamples, cache),
+                        new SamplingTask(middle, to, targetHalfWidth, proposerSamples, attestorSamples, cache));
+                return;
+            }
+            int row = from;
+            int processCount = PROCESS_COUNTS[row / CONFLICT_PERCENTAGES.length];
+            int conflictPercentage = CONFLICT_PERCENTAGES[row % CONFLICT_PERCENTAGES.length];
+            int maxSeedCount = proposerSamples.values[0].length;
+            for (int seed = proposerSamples.seedCounts[row * CORE_COUNTS.length] + 1; seed <= maxSeedCount; seed++) {
+                SeedFacts seedFacts = new SeedFacts(seed, processCount, conflictPercentage);
+                boolean isSampled = false;
+                for (int coreIndex = 0; coreIndex < CORE_COUNTS.length; coreIndex++) {
+                    int cell = row * CORE_COUNTS.length + coreIndex;
+                    isSampled |= sample(proposerSamples, cell, seedFacts, CORE_COUNTS[coreIndex], true);
+                    isSampled |= sample(attestorSamples, cell, seedFacts, CORE_COUNTS[coreIndex], false);
+                }
+                if (!isSampled) {
+                    break;// every cell of the row is tight enough
+                }
+            }
+        }
+
+        private boolean sample(Samples samples, int cell, SeedFacts seedFacts, int coreCount,
+                               boolean isProposerMode) {
+            if (samples.seedCounts[cell] != seedFacts.seed - 1 ||
+                    samples.getHalfWidth(cell) <= targetHalfWidth * samples.getMean(cell)) {
+                return false;
+            }
+            samples.values[cell][seedFacts.seed - 1] = solveCell(seedFacts, coreCount, isProposerMode, cache);
+            samples.seedCounts[cell]++;
+            return true;
+        }
+    }
+
+    /**
+     * @return the speedup of the solved facts, NaN if they could not be solved
+     */
+    private static double calculateSpeedup(ExecutionFacts facts, int randomSeed, int computerCount,
+                                           boolean isProposerMode) {
         try {
             // Create execution settings
             ExecutionSettings settings = new ExecutionSettings(NUMBER_OF_WORKERS, MAX_SOLVER_EXECUTION_TIME, randomSeed);
             
-            // Generate execution facts
-            ExecutionFacts facts = DataGenerator.getBenchmark(
-                randomSeed, processCount, PROCESS_EXECUTION_TIME_MIN, 
-                PROCESS_EXECUTION_TIME_MAX, computerCount, conflictPercentage, TIME_WEIGHT
-            );
+            // Reuse the facts of the other core counts and modes
+            facts.resetPlanning();
             
             // Set proposer/attestor mode
             facts.isProposerMode = isProposerMode;
@@ -192,15 +552,14 @@ public class SpeedupDataGenerator {
             // Calculate speedup factor
             if (output.scheduleMakespan > 0) {
                 return (double) output.horizon / output.scheduleMakespan;
-            } else {
-                return 1.0; // Default speedup if makespan is 0
             }
+            throw new IllegalStateException("the makespan is " + output.scheduleMakespan);
             
         } catch (Exception e) {
             System.err.println("Error calculating speedup for seed " + randomSeed + 
-                             ", cores " + computerCount + ", conflicts " + conflictPercentage + 
+                             ", cores " + computerCount + ", conflicts " + facts.conflictPercentage + 
                              ", proposer " + isProposerMode + ": " + e.getMessage());
-            return 1.0; // Return default speedup on error
+            return Double.NaN; // The default speedup is not cached
         }
     }
 }
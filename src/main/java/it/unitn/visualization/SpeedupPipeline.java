@@ -0,0 +1,55 @@
+package it.unitn.visualization;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * the sweep, the LaTeX table and the charts in one run: the rows of {@link SpeedupDataGenerator} are aggregated in
+ * memory and given to {@link LatexTableGenerator} and {@link SpeedupVisualizer}, without writing and reading back
+ * speedup-auto.xlsx (unless a workbook path is given)
+ */
+public class SpeedupPipeline {
+    private static final Path OUTPUT_DIR = Paths.get("target/charts");
+
+    private SpeedupPipeline() {
+    }
+
+    /**
+     * @param args [parallelism] [cacheFile|none] [targetHalfWidth] [workbookPath], the arguments of
+     *             {@link SpeedupDataGenerator#main(String[])} (parallelism is also the charts rendered at the same
+     *             time) and the workbook to also write, if any
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");// before any AWT class is loaded, no display is needed
+        try {
+            int parallelism = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+            Path cachePath = args.length > 1 ? ("none".equals(args[1]) ? null : Paths.get(args[1])) :
+                    SpeedupDataGenerator.DEFAULT_CACHE_PATH;
+            double targetHalfWidth = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+            Path workbookPath = args.length > 3 ? Paths.get(args[3]) : null;
+
+            long startTime = System.nanoTime();
+            SpeedupWorkbookReader.Groupings groupings;
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                groupings = SpeedupDataGenerator.generateSpeedupData(pool, cachePath, targetHalfWidth,
+                        workbookPath);
+            } finally {
+                pool.shutdown();
+            }
+            long sweepEndTime = System.nanoTime();
+
+            Files.createDirectories(OUTPUT_DIR);
+            LatexTableGenerator.writeLatexTable(groupings.byConflictPercentage,
+                    OUTPUT_DIR.resolve("speedup_table.tex"));
+            SpeedupVisualizer.renderCharts(groupings, parallelism);
+            System.out.printf("Sweep of %d rows in %.3f s, table and charts in %s in %.3f s%n", groupings.rowCount,
+                    (sweepEndTime - startTime) / 1e9, OUTPUT_DIR, (System.nanoTime() - sweepEndTime) / 1e9);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
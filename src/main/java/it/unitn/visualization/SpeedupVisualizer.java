@@ -22,8 +22,15 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class SpeedupVisualizer {
     // Make chart square to ensure equal unit sizes
@@ -813,7 +820,15 @@ public class SpeedupVisualizer {
      */
     public static void createTransactionVsSpeedupChart(Map<Integer, SpeedupDataReader.SpeedupData> allData, String outputPath) throws IOException {
         // Read data grouped by transaction count instead of conflict percentage
-        Map<Integer, SpeedupDataReader.SpeedupData> transactionData = SpeedupDataReader.readSpeedupDataByTransactionCount("speedup-auto.xlsx");
+        createTransactionVsSpeedupChart(allData, SpeedupDataReader.readSpeedupDataByTransactionCount("speedup-auto.xlsx"), outputPath);
+    }
+
+    /**
+     * @param transactionData the data grouped by transaction count, read with allData by {@link SpeedupWorkbookReader}
+     */
+    public static void createTransactionVsSpeedupChart(Map<Integer, SpeedupDataReader.SpeedupData> allData,
+                                                       Map<Integer, SpeedupDataReader.SpeedupData> transactionData,
+                                                       String outputPath) throws IOException {
 
         XYSeriesCollection dataset = new XYSeriesCollection();
 
@@ -1683,230 +1698,298 @@ public class SpeedupVisualizer {
                 }
             }
         }
+    }
 
-        /**
-         * Create a bar chart showing parallel vs serial execution time for different transaction counts
-         * and core counts, similar to the Python analysis
-         */
-        public static void createParallelVsSerialChart(Map<Integer, SpeedupDataReader.SpeedupData> allData, String outputPath) throws IOException {
-            // Define transaction groups and core counts
-            String[] transactionGroups = {"50", "100", "150", "200"};
-            int[] coreCounts = {1, 2, 3, 4, 5, 6, 8, 10, 12, 16, 20, 24, 28, 32};
-
-            // Define colors using the same RGB codes as the conflict vs speedup chart
-            Color[] coreColors = {
-                    new Color(240, 50, 230),  // Violet (32 cores)
-                    new Color(145, 30, 180),  // Indigo (28 cores)
-                    new Color(0, 0, 255),     // Blue (24 cores)
-                    new Color(67, 99, 216),   // Sky Blue (20 cores)
-                    new Color(70, 153, 144),  // Cyan (16 cores)
-                    new Color(66, 212, 244),  // Teal (12 cores)
-                    new Color(60, 180, 75),   // Green (10 cores)
-                    new Color(191, 239, 69),  // Lime Green (8 cores)
-                    new Color(255, 225, 25),  // Yellow (6 cores)
-                    new Color(245, 130, 49),  // Orange (5 cores)
-                    new Color(230, 25, 75),   // Red (4 cores)
-                    new Color(220, 20, 60),   // Magenta (3 cores)
-                    new Color(250, 190, 190), // Pink (2 cores)
-                    new Color(154, 99, 36)    // Brown (1 core)
-            };
+    /**
+     * Create a bar chart showing parallel vs serial execution time for different transaction counts
+     * and core counts, similar to the Python analysis
+     */
+    public static void createParallelVsSerialChart(Map<Integer, SpeedupDataReader.SpeedupData> allData, String outputPath) throws IOException {
+        // Define transaction groups and core counts
+        String[] transactionGroups = {"50", "100", "150", "200"};
+        int[] coreCounts = {1, 2, 3, 4, 5, 6, 8, 10, 12, 16, 20, 24, 28, 32};
 
-            // Create dataset for bar chart
-            org.jfree.data.category.DefaultCategoryDataset dataset = new org.jfree.data.category.DefaultCategoryDataset();
-
-            // For each transaction group, add data for each core count
-            for (int i = 0; i < transactionGroups.length; i++) {
-                String transactionGroup = transactionGroups[i];
-
-                // Calculate execution times based on speedup data
-                // We'll use a base serial time that increases with transaction count
-                double baseSerialTime = 300 + (i * 400); // 300ms for 50, 700ms for 100, etc.
-
-                for (int j = 0; j < coreCounts.length; j++) {
-                    int coreCount = coreCounts[j];
-                    Color color = coreColors[j];
-
-                    if (coreCount == 1) {
-                        // Serial execution (1 core)
-                        dataset.addValue(baseSerialTime, "1", transactionGroup);
-                    } else {
-                        // Parallel execution - find speedup for this core count
-                        double avgSpeedup = 1.0; // default
-
-                        // Use average speedup from all conflict percentages for this core count
-                        for (int percentage : CONFLICT_PERCENTAGES) {
-                            SpeedupDataReader.SpeedupData data = allData.get(percentage);
-                            if (data != null) {
-                                int coreIndex = -1;
-                                for (int k = 0; k < data.cores.length; k++) {
-                                    if (data.cores[k] == coreCount) {
-                                        coreIndex = k;
-                                        break;
-                                    }
-                                }
-                                if (coreIndex >= 0) {
-                                    double speedup = (data.proposerSpeedup[coreIndex] + data.attestorSpeedup[coreIndex]) / 2.0;
-                                    avgSpeedup = Math.max(avgSpeedup, speedup); // Use best case
+        // Define colors using the same RGB codes as the conflict vs speedup chart
+        Color[] coreColors = {
+                new Color(240, 50, 230),  // Violet (32 cores)
+                new Color(145, 30, 180),  // Indigo (28 cores)
+                new Color(0, 0, 255),     // Blue (24 cores)
+                new Color(67, 99, 216),   // Sky Blue (20 cores)
+                new Color(70, 153, 144),  // Cyan (16 cores)
+                new Color(66, 212, 244),  // Teal (12 cores)
+                new Color(60, 180, 75),   // Green (10 cores)
+                new Color(191, 239, 69),  // Lime Green (8 cores)
+                new Color(255, 225, 25),  // Yellow (6 cores)
+                new Color(245, 130, 49),  // Orange (5 cores)
+                new Color(230, 25, 75),   // Red (4 cores)
+                new Color(220, 20, 60),   // Magenta (3 cores)
+                new Color(250, 190, 190), // Pink (2 cores)
+                new Color(154, 99, 36)    // Brown (1 core)
+        };
+
+        // Create dataset for bar chart
+        org.jfree.data.category.DefaultCategoryDataset dataset = new org.jfree.data.category.DefaultCategoryDataset();
+
+        // For each transaction group, add data for each core count
+        for (int i = 0; i < transactionGroups.length; i++) {
+            String transactionGroup = transactionGroups[i];
+
+            // Calculate execution times based on speedup data
+            // We'll use a base serial time that increases with transaction count
+            double baseSerialTime = 300 + (i * 400); // 300ms for 50, 700ms for 100, etc.
+
+            for (int j = 0; j < coreCounts.length; j++) {
+                int coreCount = coreCounts[j];
+                Color color = coreColors[j];
+
+                if (coreCount == 1) {
+                    // Serial execution (1 core)
+                    dataset.addValue(baseSerialTime, "1", transactionGroup);
+                } else {
+                    // Parallel execution - find speedup for this core count
+                    double avgSpeedup = 1.0; // default
+
+                    // Use average speedup from all conflict percentages for this core count
+                    for (int percentage : CONFLICT_PERCENTAGES) {
+                        SpeedupDataReader.SpeedupData data = allData.get(percentage);
+                        if (data != null) {
+                            int coreIndex = -1;
+                            for (int k = 0; k < data.cores.length; k++) {
+                                if (data.cores[k] == coreCount) {
+                                    coreIndex = k;
+                                    break;
                                 }
                             }
+                            if (coreIndex >= 0) {
+                                double speedup = (data.proposerSpeedup[coreIndex] + data.attestorSpeedup[coreIndex]) / 2.0;
+                                avgSpeedup = Math.max(avgSpeedup, speedup); // Use best case
+                            }
                         }
-
-                        double parallelTime = baseSerialTime / avgSpeedup;
-                        dataset.addValue(parallelTime, String.valueOf(coreCount), transactionGroup);
                     }
+
+                    double parallelTime = baseSerialTime / avgSpeedup;
+                    dataset.addValue(parallelTime, String.valueOf(coreCount), transactionGroup);
                 }
             }
+        }
 
-            JFreeChart chart = ChartFactory.createBarChart(
-                    null,  // no title
-                    "Transaction Count",
-                    "Average Execution Time (ms)",
-                    dataset,
-                    PlotOrientation.VERTICAL,
-                    true,
-                    true,
-                    false
-            );
-
-            // Legend configuration will be set after renderer configuration
-
-            org.jfree.chart.plot.CategoryPlot plot = chart.getCategoryPlot();
-            plot.setBackgroundPaint(Color.WHITE);
-            plot.setDomainGridlinePaint(new Color(200, 200, 200));
-            plot.setRangeGridlinePaint(new Color(200, 200, 200));
-
-            // Set larger fonts for axis labels and ticks
-            Font labelFont = new Font("SansSerif", Font.BOLD, AXIS_LABEL_FONT_SIZE);
-            Font tickFont = new Font("SansSerif", Font.PLAIN, TICK_FONT_SIZE);
-
-            org.jfree.chart.axis.CategoryAxis domainAxis = plot.getDomainAxis();
-            org.jfree.chart.axis.NumberAxis rangeAxis = (org.jfree.chart.axis.NumberAxis) plot.getRangeAxis();
-
-            domainAxis.setLabelFont(labelFont);
-            rangeAxis.setLabelFont(labelFont);
-            domainAxis.setTickLabelFont(tickFont);
-            rangeAxis.setTickLabelFont(tickFont);
-
-            // Configure axes
-            domainAxis.setTickLabelsVisible(true);
-            rangeAxis.setTickLabelsVisible(true);
-
-            // Set custom tick units for y-axis to show steps of 200
-            rangeAxis.setTickUnit(new org.jfree.chart.axis.NumberTickUnit(200.0));
-
-            // Custom renderer with colors (no shadow)
-            org.jfree.chart.renderer.category.BarRenderer renderer = new org.jfree.chart.renderer.category.BarRenderer();
-            renderer.setShadowVisible(false);
-
-            // Set colors for each series
-            for (int i = 0; i < coreCounts.length; i++) {
-                Color color = coreColors[i];
-                renderer.setSeriesPaint(i, color);
-            }
+        JFreeChart chart = ChartFactory.createBarChart(
+                null,  // no title
+                "Transaction Count",
+                "Average Execution Time (ms)",
+                dataset,
+                PlotOrientation.VERTICAL,
+                true,
+                true,
+                false
+        );
 
-            plot.setRenderer(renderer);
+        // Legend configuration will be set after renderer configuration
 
-            // Show individual legend entries with proper configuration - exactly like conflict vs speedup chart
-            for (int i = 0; i < coreCounts.length; i++) {
-                renderer.setSeriesVisibleInLegend(i, true);
-                renderer.setLegendTextPaint(i, Color.BLACK);
-                renderer.setLegendShape(i, new java.awt.geom.Ellipse2D.Double(-12, -12, 24, 24));
-            }
+        org.jfree.chart.plot.CategoryPlot plot = chart.getCategoryPlot();
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setDomainGridlinePaint(new Color(200, 200, 200));
+        plot.setRangeGridlinePaint(new Color(200, 200, 200));
 
+        // Set larger fonts for axis labels and ticks
+        Font labelFont = new Font("SansSerif", Font.BOLD, AXIS_LABEL_FONT_SIZE);
+        Font tickFont = new Font("SansSerif", Font.PLAIN, TICK_FONT_SIZE);
 
-            plot.setRenderer(renderer);
+        org.jfree.chart.axis.CategoryAxis domainAxis = plot.getDomainAxis();
+        org.jfree.chart.axis.NumberAxis rangeAxis = (org.jfree.chart.axis.NumberAxis) plot.getRangeAxis();
 
-            // Customize legend exactly like conflict vs speedup chart
-            chart.getLegend().setPosition(RectangleEdge.TOP);
-            chart.getLegend().setVerticalAlignment(org.jfree.chart.ui.VerticalAlignment.TOP);
-            chart.getLegend().setHorizontalAlignment(org.jfree.chart.ui.HorizontalAlignment.LEFT);
-            chart.getLegend().setMargin(5, 5, 5, 5);
-            chart.getLegend().setPadding(5, 5, 5, 5);
-            chart.getLegend().setFrame(new org.jfree.chart.block.BlockBorder(Color.LIGHT_GRAY));
-            chart.getLegend().setBackgroundPaint(Color.WHITE);
-            chart.getLegend().setItemFont(new Font("SansSerif", Font.BOLD, LEGEND_FONT_SIZE));
+        domainAxis.setLabelFont(labelFont);
+        rangeAxis.setLabelFont(labelFont);
+        domainAxis.setTickLabelFont(tickFont);
+        rangeAxis.setTickLabelFont(tickFont);
+
+        // Configure axes
+        domainAxis.setTickLabelsVisible(true);
+        rangeAxis.setTickLabelsVisible(true);
 
+        // Set custom tick units for y-axis to show steps of 200
+        rangeAxis.setTickUnit(new org.jfree.chart.axis.NumberTickUnit(200.0));
 
-            // Keep original dataset structure
+        // Custom renderer with colors (no shadow)
+        org.jfree.chart.renderer.category.BarRenderer renderer = new org.jfree.chart.renderer.category.BarRenderer();
+        renderer.setShadowVisible(false);
 
-            // Ensure output directory exists
-            Path outputDir = Paths.get("target/charts");
-            Files.createDirectories(outputDir);
-
-            // Save chart
-            ChartUtils.saveChartAsPNG(
-                    outputDir.resolve(outputPath).toFile(),
-                    chart,
-                    1200,  // Square for equal aspect ratio
-                    1200,  // Square for equal aspect ratio
-                    null,
-                    true,  // Enable anti-aliasing
-                    9      // Highest compression quality
-            );
+        // Set colors for each series
+        for (int i = 0; i < coreCounts.length; i++) {
+            Color color = coreColors[i];
+            renderer.setSeriesPaint(i, color);
         }
 
-        public static void main(String[] args) {
-            try {
-                // Try to read from speedup-auto.xlsx first, fallback to speedups.xlsx
-                Map<Integer, SpeedupDataReader.SpeedupData> allData;
-                try {
-                    allData = SpeedupDataReader.readSpeedupData("speedup-auto.xlsx");
-                    System.out.println("Using speedup-auto.xlsx for visualization");
-                } catch (IOException e) {
-                    System.out.println("speedup-auto.xlsx not found, falling back to speedups.xlsx");
-                    allData = SpeedupDataReader.readSpeedupData("speedups.xlsx");
-                }
+        plot.setRenderer(renderer);
 
-                // Create individual charts for each conflict percentage
-                int[] conflictPercentages = {0, 5, 10, 15, 25, 35, 45};
-                for (int percentage : conflictPercentages) {
-                    SpeedupDataReader.SpeedupData data = allData.get(percentage);
-                    if (data != null) {
-                        String title = percentage == 0 ? "Speedup Analysis (No Conflicts)" :
-                                "Speedup Analysis (" + percentage + "% Conflict)";
-                        String filename = percentage == 0 ? "speedup_chart_0percent.png" :
-                                "speedup_chart_" + percentage + "percent.png";
-                        createSpeedupChart(data, title, filename);
-                    }
-                }
+        // Show individual legend entries with proper configuration - exactly like conflict vs speedup chart
+        for (int i = 0; i < coreCounts.length; i++) {
+            renderer.setSeriesVisibleInLegend(i, true);
+            renderer.setLegendTextPaint(i, Color.BLACK);
+            renderer.setLegendShape(i, new java.awt.geom.Ellipse2D.Double(-12, -12, 24, 24));
+        }
 
-                // Create general chart combining all percentages
-                SpeedupDataReader.SpeedupData generalData = SpeedupDataReader.combineData(allData);
-                createSpeedupChart(generalData,
-                        "General Speedup Analysis (All Conflict Percentages)",
-                        "speedup_chart_general.png");
 
-                // Create comprehensive chart with all conflict rates
-                createComprehensiveSpeedupChart(allData, "speedup_chart_comprehensive.png");
+        plot.setRenderer(renderer);
 
-                // Create comprehensive chart with error bars
-                createComprehensiveSpeedupChartWithErrorBars(allData, "speedup_chart_comprehensive_errorbars.png");
+        // Customize legend exactly like conflict vs speedup chart
+        chart.getLegend().setPosition(RectangleEdge.TOP);
+        chart.getLegend().setVerticalAlignment(org.jfree.chart.ui.VerticalAlignment.TOP);
+        chart.getLegend().setHorizontalAlignment(org.jfree.chart.ui.HorizontalAlignment.LEFT);
+        chart.getLegend().setMargin(5, 5, 5, 5);
+        chart.getLegend().setPadding(5, 5, 5, 5);
+        chart.getLegend().setFrame(new org.jfree.chart.block.BlockBorder(Color.LIGHT_GRAY));
+        chart.getLegend().setBackgroundPaint(Color.WHITE);
+        chart.getLegend().setItemFont(new Font("SansSerif", Font.BOLD, LEGEND_FONT_SIZE));
 
-                // Create conflict vs speedup chart
-                createConflictVsSpeedupChart(allData, "speedup_chart_conflict_vs_speedup.png");
 
-                // Create transaction vs speedup chart
-                createTransactionVsSpeedupChart(allData, "speedup_chart_transaction_vs_speedup.png");
+        // Keep original dataset structure
 
-                // Create parallel vs serial execution time chart
-                createParallelVsSerialChart(allData, "speedup_chart_parallel_vs_serial.png");
+        // Ensure output directory exists
+        Path outputDir = Paths.get("target/charts");
+        Files.createDirectories(outputDir);
 
-                // Create comprehensive proposer chart
-                createComprehensiveProposerChart(allData, "speedup_chart_comprehensive_proposer.png");
+        // Save chart
+        ChartUtils.saveChartAsPNG(
+                outputDir.resolve(outputPath).toFile(),
+                chart,
+                1200,  // Square for equal aspect ratio
+                1200,  // Square for equal aspect ratio
+                null,
+                true,  // Enable anti-aliasing
+                9      // Highest compression quality
+        );
+    }
 
-                // Create comprehensive proposer chart with error bars
-                createComprehensiveProposerChartWithErrorBars(allData, "speedup_chart_comprehensive_proposer_errorbars.png");
+    /**
+     * render all the charts of the groupings concurrently on a bounded pool of threads. The groupings and the general
+     * data (combined once) are shared read only, each chart builds its own dataset, renderer and image, as the
+     * JFreeChart renderers keep the state of the plot they draw and can not be shared between charts drawn at the
+     * same time.
+     *
+     * @param groupings   read once by {@link SpeedupWorkbookReader}
+     * @param threadCount the maximum number of charts rendered at the same time
+     * @throws IOException if a chart can not be written
+     */
+    public static void renderCharts(SpeedupWorkbookReader.Groupings groupings, int threadCount) throws IOException {
+        Map<Integer, SpeedupDataReader.SpeedupData> allData = groupings.byConflictPercentage;
+        SpeedupDataReader.SpeedupData generalData = SpeedupDataReader.combineData(allData);
+        List<Callable<Void>> charts = new ArrayList<>();
 
-                // Create comprehensive attestor chart
-                createComprehensiveAttestorChart(allData, "speedup_chart_comprehensive_attestor.png");
+        // Create individual charts for each conflict percentage
+        for (int percentage : CONFLICT_PERCENTAGES) {
+            SpeedupDataReader.SpeedupData data = allData.get(percentage);
+            if (data != null) {
+                String title = percentage == 0 ? "Speedup Analysis (No Conflicts)" :
+                        "Speedup Analysis (" + percentage + "% Conflict)";
+                String filename = percentage == 0 ? "speedup_chart_0percent.png" :
+                        "speedup_chart_" + percentage + "percent.png";
+                charts.add(() -> {
+                    createSpeedupChart(data, title, filename);
+                    return null;
+                });
+            }
+        }
 
-                // Create comprehensive attestor chart with error bars
-                createComprehensiveAttestorChartWithErrorBars(allData, "speedup_chart_comprehensive_attestor_errorbars.png");
+        // Create general chart combining all percentages
+        charts.add(() -> {
+            createSpeedupChart(generalData, "General Speedup Analysis (All Conflict Percentages)",
+                    "speedup_chart_general.png");
+            return null;
+        });
+
+        // Create comprehensive chart with all conflict rates, with and without error bars
+        charts.add(() -> {
+            createComprehensiveSpeedupChart(allData, "speedup_chart_comprehensive.png");
+            return null;
+        });
+        charts.add(() -> {
+            createComprehensiveSpeedupChartWithErrorBars(allData, "speedup_chart_comprehensive_errorbars.png");
+            return null;
+        });
+
+        // Create conflict vs speedup and transaction vs speedup charts
+        charts.add(() -> {
+            createConflictVsSpeedupChart(allData, "speedup_chart_conflict_vs_speedup.png");
+            return null;
+        });
+        charts.add(() -> {
+            createTransactionVsSpeedupChart(allData, groupings.byTransactionCount,
+                    "speedup_chart_transaction_vs_speedup.png");
+            return null;
+        });
+
+        // Create parallel vs serial execution time chart
+        charts.add(() -> {
+            createParallelVsSerialChart(allData, "speedup_chart_parallel_vs_serial.png");
+            return null;
+        });
+
+        // Create comprehensive proposer and attestor charts, with and without error bars
+        charts.add(() -> {
+            createComprehensiveProposerChart(allData, "speedup_chart_comprehensive_proposer.png");
+            return null;
+        });
+        charts.add(() -> {
+            createComprehensiveProposerChartWithErrorBars(allData, "speedup_chart_comprehensive_proposer_errorbars.png");
+            return null;
+        });
+        charts.add(() -> {
+            createComprehensiveAttestorChart(allData, "speedup_chart_comprehensive_attestor.png");
+            return null;
+        });
+        charts.add(() -> {
+            createComprehensiveAttestorChartWithErrorBars(allData, "speedup_chart_comprehensive_attestor_errorbars.png");
+            return null;
+        });
+
+        Files.createDirectories(Paths.get("target/charts"));
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threadCount, charts.size())));
+        try {
+            for (Future<Void> chart : pool.invokeAll(charts)) {
+                chart.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while rendering the charts", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("could not render a chart", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 
-                System.out.println("Charts generated successfully in target/charts directory!");
+    /**
+     * @param args [threadCount], the charts rendered at the same time (default: the available processors)
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");// before any AWT class is loaded, no display is needed
+        try {
+            // Try to read from speedup-auto.xlsx first, fallback to speedups.xlsx, all the groupings in one pass
+            SpeedupWorkbookReader.Groupings groupings;
+            try {
+                groupings = SpeedupWorkbookReader.readResource("speedup-auto.xlsx");
+                System.out.println("Using speedup-auto.xlsx for visualization");
             } catch (IOException e) {
-                e.printStackTrace();
+                System.out.println("speedup-auto.xlsx not found, falling back to speedups.xlsx");
+                groupings = SpeedupWorkbookReader.readResource("speedups.xlsx");
             }
+
+            int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+            long startTime = System.nanoTime();
+            renderCharts(groupings, threadCount);
+
+            // Write the LaTeX table from the same read
+            Path outputDir = Paths.get("target/charts");
+            LatexTableGenerator.writeLatexTable(groupings.byConflictPercentage, outputDir.resolve("speedup_table.tex"));
+
+            System.out.printf("Charts generated successfully in target/charts directory in %.3f s!%n",
+                    (System.nanoTime() - startTime) / 1e9);
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,440 @@
+package it.unitn.visualization;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * reads a speedup workbook (the layout of {@link SpeedupDataGenerator}: Group, ProcessCount, ConflictPercentage and
+ * a proposer and attestor column per core count) in one pass over the XML of its first sheet, without building the
+ * workbook: every row is added to the accumulators of its conflict percentage and of its transaction count, which
+ * keep the count, the mean and the sum of the squared differences per column (Welford's algorithm), so the memory
+ * does not depend on the number of rows.
+ * <p>
+ * The means and the (population) standard deviations are the ones the rows of a group would give if they were kept
+ * and averaged at the end, up to the rounding.
+ * <p>
+ * If the workbook has a {@link #CONFIDENCE_SHEET_NAME} sheet (the same layout, with the half-width of the 95%
+ * confidence interval of each speedup), it is read the same way and the interval of the mean of each group,
+ * sqrt(sum of the squared half-widths) / rows, is set to the confidence of its data.
+ * <p>
+ * The same groupings can be built from rows in memory by a {@link GroupingsBuilder}, like the ones of a sweep which
+ * are not written to a workbook.
+ */
+public class SpeedupWorkbookReader {
+    public static final String CONFIDENCE_SHEET_NAME = "Confidence";
+    private static final int PROCESS_COUNT_COL = 1;
+    private static final int CONFLICT_PERCENTAGE_COL = 2;
+    private static final int FIRST_CORE_DATA_COL = 3;
+
+    /**
+     * the groupings built by one read
+     */
+    public static class Groupings {
+        public final Map<Integer, SpeedupDataReader.SpeedupData> byConflictPercentage;
+        public final Map<Integer, SpeedupDataReader.SpeedupData> byTransactionCount;
+        public final int rowCount;// the data rows, without the header
+
+        Groupings(Map<Integer, SpeedupDataReader.SpeedupData> byConflictPercentage,
+                  Map<Integer, SpeedupDataReader.SpeedupData> byTransactionCount, int rowCount) {
+            this.byConflictPercentage = byConflictPercentage;
+            this.byTransactionCount = byTransactionCount;
+            this.rowCount = rowCount;
+        }
+    }
+
+    /**
+     * the mean and the squared differences of each column of the rows of a group, sized by its first row (the
+     * missing cells of a shorter row are 0, the extra ones of a longer row are ignored)
+     */
+    private static class GroupAccumulator {
+        final int corePairCount;
+        int count = 0;
+        int processCount;// of the last row, the transaction count of a conflict percentage group
+        final double[] means;
+        final double[] squaredDifferences;
+
+        GroupAccumulator(int corePairCount) {
+            this.corePairCount = corePairCount;
+            means = new double[corePairCount * 2];
+            squaredDifferences = new double[corePairCount * 2];
+        }
+
+        void add(double[] rowValues, int processCount) {
+            this.processCount = processCount;
+            count++;
+            for (int i = 0; i < means.length; i++) {
+                double value = rowValues[FIRST_CORE_DATA_COL + i];
+                double delta = value - means[i];
+                means[i] += delta / count;
+                squaredDifferences[i] += delta * (value - means[i]);
+            }
+        }
+
+        /**
+         * the rows were added squared, so the means are the means of the squared half-widths
+         */
+        void setConfidence(SpeedupDataReader.SpeedupData speedupData) {
+            int coreCount = Math.min(corePairCount, speedupData.cores.length);
+            for (int coreIdx = 0; coreIdx < coreCount; coreIdx++) {
+                speedupData.proposerConfidence[coreIdx] = Math.sqrt(means[coreIdx * 2] / count);
+                speedupData.attestorConfidence[coreIdx] = Math.sqrt(means[coreIdx * 2 + 1] / count);
+            }
+        }
+
+        SpeedupDataReader.SpeedupData toSpeedupData(int processCount) {
+            SpeedupDataReader.SpeedupData speedupData = new SpeedupDataReader.SpeedupData(corePairCount,
+                    processCount);
+            for (int coreIdx = 0; coreIdx < corePairCount; coreIdx++) {
+                speedupData.cores[coreIdx] = coreIdx + 1;
+                speedupData.proposerSpeedup[coreIdx] = means[coreIdx * 2];
+                speedupData.attestorSpeedup[coreIdx] = means[coreIdx * 2 + 1];
+                speedupData.proposerStdDev[coreIdx] = Math.sqrt(squaredDifferences[coreIdx * 2] / count);
+                speedupData.attestorStdDev[coreIdx] = Math.sqrt(squaredDifferences[coreIdx * 2 + 1] / count);
+            }
+            return speedupData;
+        }
+    }
+
+    /**
+     * the accumulators of the rows of a sheet, by conflict percentage and by transaction count
+     */
+    private static class RowGroups {
+        final boolean isSquaringValues;// the data columns are added squared, for the confidence sheet
+        final Map<Integer, GroupAccumulator> conflictGroups = new HashMap<>();
+        final Map<Integer, GroupAccumulator> transactionGroups = new HashMap<>();
+        int dataRowCount = 0;
+
+        RowGroups(boolean isSquaringValues) {
+            this.isSquaringValues = isSquaringValues;
+        }
+
+        /**
+         * @param rowValues   the cells of the row, the data columns are squared in place for the confidence sheet
+         * @param columnCount the last column with a cell + 1
+         */
+        void add(double[] rowValues, int columnCount) {
+            int processCount = (int) rowValues[PROCESS_COUNT_COL];
+            int conflictPercentage = (int) rowValues[CONFLICT_PERCENTAGE_COL];
+            if (conflictPercentage < 0) {
+                return;
+            }
+            int corePairCount = Math.max(0, (columnCount - FIRST_CORE_DATA_COL) / 2);
+            if (isSquaringValues) {
+                for (int i = FIRST_CORE_DATA_COL; i < columnCount; i++) {
+                    rowValues[i] *= rowValues[i];
+                }
+            }
+            dataRowCount++;
+            getGroup(conflictGroups, conflictPercentage, corePairCount).add(rowValues, processCount);
+            getGroup(transactionGroups, processCount, corePairCount).add(rowValues, processCount);
+        }
+
+        private GroupAccumulator getGroup(Map<Integer, GroupAccumulator> groups, int key, int corePairCount) {
+            GroupAccumulator group = groups.get(key);
+            if (group == null) {
+                group = new GroupAccumulator(corePairCount);
+                groups.put(key, group);
+            }
+            return group;
+        }
+    }
+
+    /**
+     * builds the groupings of rows in memory, in the layout of the sheets of a speedup workbook, as they would be read
+     * from the workbook they could be written to
+     */
+    public static class GroupingsBuilder {
+        private final RowGroups rows = new RowGroups(false);
+        private RowGroups confidenceRows;// null without confidence rows, like a workbook without the sheet
+
+        /**
+         * @param values a row of the first sheet, it is not kept
+         */
+        public void addRow(double[] values) {
+            rows.add(values, values.length);
+        }
+
+        /**
+         * @param halfWidths a row of the {@link #CONFIDENCE_SHEET_NAME} sheet, it is not kept or modified
+         */
+        public void addConfidenceRow(double[] halfWidths) {
+            if (confidenceRows == null) {
+                confidenceRows = new RowGroups(true);
+            }
+            confidenceRows.add(halfWidths.clone(), halfWidths.length);
+        }
+
+        public Groupings build() {
+            return SpeedupWorkbookReader.build(rows, confidenceRows);
+        }
+    }
+
+    private SpeedupWorkbookReader() {
+    }
+
+    /**
+     * @param filename a file in the resources directory (on the classpath)
+     * @return
+     * @throws IOException if the file is not found or is not a valid workbook
+     */
+    public static Groupings readResource(String filename) throws IOException {
+        URL url = SpeedupWorkbookReader.class.getClassLoader().getResource(filename);
+        if (url == null) {
+            throw new IOException("Could not find " + filename + " in resources directory");
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return read(Paths.get(url.toURI()));
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid resource path " + url, e);
+            }
+        }
+        try (InputStream is = url.openStream()) {
+            OPCPackage pkg = OPCPackage.open(is);// in a jar, the package is buffered
+            try {
+                return read(pkg);
+            } finally {
+                pkg.revert();
+            }
+        } catch (OpenXML4JException e) {
+            throw new IOException("Could not open " + filename + " as a workbook", e);
+        }
+    }
+
+    /**
+     * @param path the workbook, read through the zip file without loading it
+     * @return
+     * @throws IOException if the file is not a valid workbook
+     */
+    public static Groupings read(Path path) throws IOException {
+        try {
+            OPCPackage pkg = OPCPackage.open(path.toFile(), PackageAccess.READ);
+            try {
+                return read(pkg);
+            } finally {
+                pkg.revert();// closes the file without saving
+            }
+        } catch (OpenXML4JException e) {
+            throw new IOException("Could not open " + path + " as a workbook", e);
+        }
+    }
+
+    private static Groupings read(OPCPackage pkg) throws IOException, OpenXML4JException {
+        XSSFReader reader = new XSSFReader(pkg);
+        RowHandler handler = null;
+        RowHandler confidenceHandler = null;
+        try {
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (handler == null) {
+                        handler = new RowHandler(sharedStrings, false);
+                        xmlReader.setContentHandler(handler);
+                    } else if (CONFIDENCE_SHEET_NAME.equals(sheets.getSheetName())) {
+                        confidenceHandler = new RowHandler(sharedStrings, true);
+                        xmlReader.setContentHandler(confidenceHandler);
+                    } else {
+                        continue;
+                    }
+                    xmlReader.parse(new InputSource(sheet));
+                }
+            }
+            if (handler == null) {
+                throw new IOException("The workbook has no sheet");
+            }
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("Could not parse the sheets", e);
+        }
+
+        return build(handler.groups, confidenceHandler == null ? null : confidenceHandler.groups);
+    }
+
+    private static Groupings build(RowGroups rows, RowGroups confidenceRows) {
+        Map<Integer, SpeedupDataReader.SpeedupData> byConflictPercentage = new HashMap<>();
+        for (Map.Entry<Integer, GroupAccumulator> entry : rows.conflictGroups.entrySet()) {
+            SpeedupDataReader.SpeedupData speedupData = entry.getValue().toSpeedupData(
+                    entry.getValue().processCount);
+            if (confidenceRows != null && confidenceRows.conflictGroups.containsKey(entry.getKey())) {
+                confidenceRows.conflictGroups.get(entry.getKey()).setConfidence(speedupData);
+            }
+            byConflictPercentage.put(entry.getKey(), speedupData);
+        }
+        Map<Integer, SpeedupDataReader.SpeedupData> byTransactionCount = new HashMap<>();
+        for (Map.Entry<Integer, GroupAccumulator> entry : rows.transactionGroups.entrySet()) {
+            SpeedupDataReader.SpeedupData speedupData = entry.getValue().toSpeedupData(entry.getKey());
+            if (confidenceRows != null && confidenceRows.transactionGroups.containsKey(entry.getKey())) {
+                confidenceRows.transactionGroups.get(entry.getKey()).setConfidence(speedupData);
+            }
+            byTransactionCount.put(entry.getKey(), speedupData);
+        }
+        return new Groupings(byConflictPercentage, byTransactionCount, rows.dataRowCount);
+    }
+
+    /**
+     * collects the numeric values of the cells of a row (&lt;row&gt;&lt;c r="D2" t="..."&gt;&lt;v&gt;...) and adds
+     * the row to its groups at its end, the first row is the header
+     */
+    private static class RowHandler extends DefaultHandler {
+        final ReadOnlySharedStringsTable sharedStrings;
+        final RowGroups groups;
+        boolean isFirstRow = true;
+        double[] rowValues = new double[64];
+        int columnCount;// the last column with a cell + 1
+        boolean hasProcessCount;
+        boolean hasConflictPercentage;
+        int column;
+        String cellType;
+        boolean isInlineString;
+        boolean isCollectingValue;
+        final StringBuilder value = new StringBuilder();
+
+        /**
+         * @param isSquaringValues the data columns are added squared, for the confidence sheet
+         */
+        RowHandler(ReadOnlySharedStringsTable sharedStrings, boolean isSquaringValues) {
+            this.sharedStrings = sharedStrings;
+            groups = new RowGroups(isSquaringValues);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            String name = localName.isEmpty() ? qName : localName;
+            switch (name) {
+                case "row":
+                    Arrays.fill(rowValues, 0, columnCount, 0);
+                    columnCount = 0;
+                    hasProcessCount = false;
+                    hasConflictPercentage = false;
+                    break;
+                case "c":
+                    String reference = attributes.getValue("r");
+                    column = reference == null ? columnCount : getColumnIndex(reference);
+                    cellType = attributes.getValue("t");
+                    isInlineString = "inlineStr".equals(cellType);
+                    value.setLength(0);
+                    break;
+                case "v":
+                    isCollectingValue = true;
+                    value.setLength(0);
+                    break;
+                case "t":
+                    isCollectingValue = isInlineString;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (isCollectingValue) {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            String name = localName.isEmpty() ? qName : localName;
+            switch (name) {
+                case "v":
+                case "t":
+                    isCollectingValue = false;
+                    break;
+                case "c":
+                    setCell(column, getNumericValue());
+                    break;
+                case "row":
+                    if (isFirstRow) {
+                        isFirstRow = false;
+                    } else {
+                        addRow();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * like getCellNumericValue of {@link SpeedupDataReader}: numbers and cached formula results as they are,
+         * strings parsed and anything else 0
+         */
+        private double getNumericValue() {
+            if (value.length() == 0) {
+                return 0.0;
+            }
+            try {
+                if (cellType == null || "n".equals(cellType)) {
+                    return Double.parseDouble(value.toString());
+                }
+                if ("s".equals(cellType)) {
+                    String text = sharedStrings.getItemAt(Integer.parseInt(value.toString())).getString();
+                    return Double.parseDouble(text.trim());
+                }
+                if ("str".equals(cellType) || "inlineStr".equals(cellType)) {
+                    return Double.parseDouble(value.toString().trim());
+                }
+            } catch (NumberFormatException e) {
+                return 0.0;
+            }
+            return 0.0;// boolean and error cells
+        }
+
+        private void setCell(int column, double cellValue) {
+            if (column >= rowValues.length) {
+                rowValues = Arrays.copyOf(rowValues, Math.max(rowValues.length * 2, column + 1));
+            }
+            rowValues[column] = cellValue;
+            columnCount = Math.max(columnCount, column + 1);
+            if (column == PROCESS_COUNT_COL) {
+                hasProcessCount = true;
+            } else if (column == CONFLICT_PERCENTAGE_COL) {
+                hasConflictPercentage = true;
+            }
+        }
+
+        private void addRow() {
+            if (hasProcessCount && hasConflictPercentage) {
+                groups.add(rowValues, columnCount);
+            }
+        }
+    }
+
+    /**
+     * @param reference like "AB12"
+     * @return the 0 based column index, 27 for "AB12"
+     */
+    static int getColumnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
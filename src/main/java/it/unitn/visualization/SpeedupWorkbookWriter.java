@@ -0,0 +1,154 @@
+package it.unitn.visualization;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * writes a sheet of numeric rows under a header row with a streaming (SXSSF) workbook: only the last windowSize rows
+ * are kept in memory, the older ones are flushed to a compressed temporary file, so the heap does not grow with the
+ * number of rows.
+ * <p>
+ * The column widths are fitted to the longest header or value of each column as it is written, instead of
+ * autoSizeColumn which needs the rows in memory (or measures every flushed cell with the fonts).
+ * <p>
+ * More sheets can be added by {@link #addSheet(String, String[])}, each one is flushed by its own window.
+ * <p>
+ * Usage:
+ * <pre>
+ * try (SpeedupWorkbookWriter writer = new SpeedupWorkbookWriter(path, "Speedup Data", headers, 100)) {
+ *     writer.writeRow(values);
+ * }
+ * </pre>
+ */
+public class SpeedupWorkbookWriter implements Closeable {
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    private static final int MAX_COLUMN_WIDTH = 255 * 256;
+
+    private final Path outputPath;
+    private final SXSSFWorkbook workbook;
+    private final List<SheetWriter> sheetWriters = new ArrayList<>();
+    private boolean closed = false;
+
+    /**
+     * the rows of a sheet of the workbook
+     */
+    public class SheetWriter {
+        private final Sheet sheet;
+        private final int[] columnLengths;// the longest text of each column, in characters
+        private int rowIndex = 0;
+
+        private SheetWriter(String sheetName, String[] headers) {
+            sheet = workbook.createSheet(sheetName);
+            columnLengths = new int[headers.length];
+            Row headerRow = sheet.createRow(rowIndex++);
+            for (int i = 0; i < headers.length; i++) {
+                headerRow.createCell(i).setCellValue(headers[i]);
+                columnLengths[i] = headers[i].length();
+            }
+        }
+
+        /**
+         * @param values a numeric cell per column, at most as many as the headers
+         * @throws IllegalArgumentException if there are more values than columns
+         */
+        public void writeRow(double[] values) {
+            if (values.length > columnLengths.length) {
+                throw new IllegalArgumentException("the row has " + values.length + " values for " +
+                        columnLengths.length + " columns");
+            }
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < values.length; i++) {
+                row.createCell(i).setCellValue(values[i]);
+                columnLengths[i] = Math.max(columnLengths[i], NumberToTextConverter.toText(values[i]).length());
+            }
+        }
+
+        /**
+         * @return the rows written, without the header
+         */
+        public int getRowCount() {
+            return rowIndex - 1;
+        }
+
+        private void setColumnWidths() {
+            for (int i = 0; i < columnLengths.length; i++) {
+                sheet.setColumnWidth(i, Math.min(MAX_COLUMN_WIDTH, (columnLengths[i] + 2) * 256));
+            }
+        }
+    }
+
+    /**
+     * @param outputPath is created or truncated when the writer is closed
+     * @param sheetName  of the first sheet
+     * @param headers    the first row, and the number of columns
+     * @param windowSize the rows kept in memory, per sheet
+     */
+    public SpeedupWorkbookWriter(Path outputPath, String sheetName, String[] headers, int windowSize) {
+        this.outputPath = outputPath;
+        workbook = new SXSSFWorkbook(windowSize);
+        workbook.setCompressTempFiles(true);
+        addSheet(sheetName, headers);
+    }
+
+    /**
+     * @param sheetName
+     * @param headers   the first row, and the number of columns
+     * @return the writer of the rows of the new sheet, after the existing ones
+     */
+    public SheetWriter addSheet(String sheetName, String[] headers) {
+        SheetWriter sheetWriter = new SheetWriter(sheetName, headers);
+        sheetWriters.add(sheetWriter);
+        return sheetWriter;
+    }
+
+    /**
+     * write a row to the first sheet, see {@link SheetWriter#writeRow(double[])}
+     */
+    public void writeRow(double[] values) {
+        sheetWriters.get(0).writeRow(values);
+    }
+
+    /**
+     * @return the rows written to the first sheet, without the header
+     */
+    public int getRowCount() {
+        return sheetWriters.get(0).getRowCount();
+    }
+
+    /**
+     * write the workbook to the output path and delete the temporary files
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (SheetWriter sheetWriter : sheetWriters) {
+                sheetWriter.setColumnWidths();
+            }
+            if (outputPath.getParent() != null) {
+                Files.createDirectories(outputPath.getParent());
+            }
+            try (OutputStream fileOut = Files.newOutputStream(outputPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                workbook.write(fileOut);
+            }
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
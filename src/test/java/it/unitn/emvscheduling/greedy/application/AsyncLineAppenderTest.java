@@ -0,0 +1,117 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AsyncLineAppenderTest {
+
+    @Test
+    void testLinesAreWrittenInOrderOnClose(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("results/accumulative.csv");
+        AsyncLineAppender appender = new AsyncLineAppender(path, "a,b", false, 16);
+        for (int i = 0; i < 1000; i++) {// more than the queue, the producer waits for the writer
+            appender.append(i + "," + (i * 2));
+        }
+        appender.close();
+        appender.close();
+        assertThrows(IOException.class, () -> appender.append("1000,2000"));
+
+        List<String> lines = Files.readAllLines(path);
+        assertEquals(1001, lines.size());
+        assertEquals("a,b", lines.get(0));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i + "," + (i * 2), lines.get(i + 1));
+        }
+
+        try (AsyncLineAppender reopened = new AsyncLineAppender(path, "a,b", false, 16)) {
+            reopened.append("1000,2000");
+        }
+        lines = Files.readAllLines(path);
+        assertEquals(1002, lines.size(), "The header is written only to a new file");
+        assertEquals("1000,2000", lines.get(1001));
+    }
+
+    @Test
+    void testAppendsRacingCloseAreWrittenOrFail(@TempDir Path directory) throws Exception {
+        for (int run = 0; run < 20; run++) {
+            Path path = directory.resolve("race-" + run + ".csv");
+            AsyncLineAppender appender = new AsyncLineAppender(path, null, false, 4);
+            int producerCount = 4;
+            Set<String> appended = ConcurrentHashMap.newKeySet();
+            CountDownLatch started = new CountDownLatch(producerCount);
+            Thread[] producers = new Thread[producerCount];
+            for (int p = 0; p < producerCount; p++) {
+                int producer = p;
+                producers[p] = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        for (int i = 0; ; i++) {
+                            String line = producer + "-" + i;
+                            appender.append(line);
+                            appended.add(line);
+                        }
+                    } catch (IOException e) {
+                        // closed
+                    }
+                });
+                producers[p].start();
+            }
+            started.await();
+            appender.close();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertEquals(appended, new HashSet<>(Files.readAllLines(path)), "Every successful append is written");
+        }
+    }
+
+    @Test
+    void testTimestampIsTheTimeOfTheAppend(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("accumulative.csv");
+        AtomicLong time = new AtomicLong(1_700_000_000_000L);
+        try (AsyncLineAppender appender = new AsyncLineAppender(path, null, true, 16, time::get)) {
+            appender.append("first");
+            time.addAndGet(3_600_000);
+            appender.append("second");
+            time.addAndGet(3_600_000);// a later write does not change the timestamps
+        }
+
+        List<String> lines = Files.readAllLines(path);
+        assertEquals("first," + AsyncLineAppender.formatTimestamp(1_700_000_000_000L), lines.get(0));
+        assertEquals("second," + AsyncLineAppender.formatTimestamp(1_700_003_600_000L), lines.get(1));
+    }
+
+    @Test
+    void testProducersGetTheWriteFailure() throws Exception {
+        Path deviceFull = Paths.get("/dev/full");// every write fails with no space left
+        assumeTrue(Files.isWritable(deviceFull));
+        AsyncLineAppender appender = new AsyncLineAppender(deviceFull, null, false, 2);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            IOException failure = assertThrows(IOException.class, () -> {
+                for (int i = 0; i < 100_000; i++) {// never blocks once the writer has failed
+                    appender.append(Integer.toString(i));
+                }
+            });
+            assertThrows(IOException.class, () -> appender.append("after the failure"));
+            assertThrows(IOException.class, appender::close);
+            assertNotNull(failure.getMessage());
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForkedExecutorTest {
+    private static final String INPUT = "No.,groupNo,randomSeed,numberOfWorkers,maxSolverExecutionTimeInSeconds," +
+            "processCount,processExecutionTimeMin,processExecutionTimeMax,computerCount,conflictPercentage," +
+            "timeWeight,ProcessSortType,looseReviewRound\n" +
+            "1,1,1,-1,-1,30,5,10,2,15,100,3,29\n" +
+            "2,1,2,-1,-1,40,5,10,3,15,100,3,29\n" +
+            "3,2,3,-1,-1,50,5,10,4,5,100,3,29\n";
+
+    @Test
+    void testWorkerAnswersEveryRowInOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ForkedExecutor.runWorker(new ByteArrayInputStream(INPUT.getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(out, true, StandardCharsets.UTF_8), SolverType.OPTIMIZED, 1);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length, "The warm-up solves are not reported");
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i].startsWith((i + 1) + ","), lines[i]);
+        }
+    }
+
+    @Test
+    void testWorkerJvmsKeepTheInputOrder(@TempDir Path directory) throws Exception {
+        Path input = directory.resolve("input.csv");
+        Files.write(input, INPUT.getBytes(StandardCharsets.UTF_8));
+        Path output = directory.resolve("output.csv");
+        FileBasedExecutor.setAccumulativeOutFile(directory.resolve("accumulative.csv"));
+
+        ForkedExecutor.executeUsingWorkers(input.toString(), output, SolverType.OPTIMIZED, 2, 1,
+                Collections.<String>emptyList());
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(4, lines.size());
+        assertEquals(FileBasedExecutor.outputHeader, lines.get(0));
+        for (int i = 1; i < lines.size(); i++) {
+            String[] columns = lines.get(i).split(",");
+            assertEquals(Integer.toString(i), columns[0]);
+            assertEquals(Integer.toString(20 + i * 10), columns[5], "The process count of the row");
+        }
+    }
+}
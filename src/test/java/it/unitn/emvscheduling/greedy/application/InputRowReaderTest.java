@@ -0,0 +1,66 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InputRowReaderTest {
+    private static final String HEADER = "No.,groupNo,randomSeed,numberOfWorkers,maxSolverExecutionTimeInSeconds," +
+            "processCount,processExecutionTimeMin,processExecutionTimeMax,computerCount,conflictPercentage," +
+            "timeWeight,ProcessSortType,looseReviewRound\n";
+
+    @Test
+    void testRowsWithNegativesSpacesAndCrlf() throws Exception {
+        InputRowReader inputs = new InputRowReader(new StringReader(HEADER.replace("\n", "\r\n") +
+                "1,1,1,-1,-1,50,5,10,10,15,100,1,9\r\n" +
+                "\r\n" +
+                "   \n" +
+                " 2 , 1,\t-2147483648,-1,-1,50,5,10,10,15,100,1, 2147483647\n" +
+                "3,2,3"));
+
+        assertTrue(inputs.next());
+        assertEquals(InputRowReader.COLUMN_COUNT, inputs.columnCount);
+        assertArrayEquals(new int[]{1, 1, 1, -1, -1, 50, 5, 10, 10, 15, 100, 1, 9}, inputs.row);
+
+        assertTrue(inputs.next(), "The empty lines are skipped");
+        assertEquals(2, inputs.row[InputRowReader.NO]);
+        assertEquals(Integer.MIN_VALUE, inputs.row[InputRowReader.RANDOM_SEED]);
+        assertEquals(Integer.MAX_VALUE, inputs.row[InputRowReader.LOOSE_REVIEW_ROUND]);
+
+        assertTrue(inputs.next(), "The last line has no line end");
+        assertEquals(3, inputs.columnCount, "The column count is checked by the caller");
+        assertEquals(3, inputs.row[InputRowReader.RANDOM_SEED]);
+        assertFalse(inputs.next());
+    }
+
+    @Test
+    void testInvalidValuesNameTheLine() {
+        assertInvalid("1,2,1-2", "line 2");
+        assertInvalid("1,2,5-", "line 2");
+        assertInvalid("1,2,--5", "line 2");
+        assertInvalid("1,2,1 2", "line 2");
+        assertInvalid("1,2,1.5", "line 2");
+        assertInvalid("1,2,a", "line 2");
+        assertInvalid("1,2,2147483648", "line 2");
+        assertInvalid("1,2,-2147483649", "line 2");
+        assertInvalid("1,2,99999999999999999999", "line 2");
+        assertInvalid("1,,3", "column 1 of input line 2");
+        assertInvalid("1,2,", "column 2 of input line 2");
+        assertInvalid("1,-,3", "column 1 of input line 2");
+        assertInvalid("0,0,0,0,0,0,0,0,0,0,0,0,0,0", "More than 13 columns in input line 2");
+        assertInvalid("1,2,3\n4,5,x", "line 3");
+    }
+
+    private static void assertInvalid(String rows, String expectedMessagePart) {
+        IOException e = assertThrows(IOException.class, () -> {
+            InputRowReader inputs = new InputRowReader(new StringReader(HEADER + rows));
+            while (inputs.next()) {
+                // read up to the invalid row
+            }
+        }, rows);
+        assertTrue(e.getMessage().contains(expectedMessagePart), e.getMessage());
+    }
+}
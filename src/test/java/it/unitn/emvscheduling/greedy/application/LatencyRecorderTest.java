@@ -0,0 +1,35 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyRecorderTest {
+
+    @Test
+    void testNearestRankPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder(1000);
+        assertEquals("count=0 window=0 p50_us=0.0 p90_us=0.0 p99_us=0.0 p999_us=0.0 max_us=0.0",
+                recorder.getSummary());
+        for (int micros = 100; micros >= 1; micros--) {// the order of the records does not matter
+            recorder.record(micros * 1000L);
+        }
+        assertEquals("count=100 window=100 p50_us=50.0 p90_us=90.0 p99_us=99.0 p999_us=100.0 max_us=100.0",
+                recorder.getSummary());
+
+        LatencyRecorder single = new LatencyRecorder(10);
+        single.record(1500);
+        assertEquals("count=1 window=1 p50_us=1.5 p90_us=1.5 p99_us=1.5 p999_us=1.5 max_us=1.5",
+                single.getSummary());
+    }
+
+    @Test
+    void testOnlyTheLastRecordsAreInTheWindow() {
+        LatencyRecorder recorder = new LatencyRecorder(10);
+        for (int micros = 1; micros <= 25; micros++) {
+            recorder.record(micros * 1000L);
+        }
+        assertEquals("count=25 window=10 p50_us=20.0 p90_us=24.0 p99_us=25.0 p999_us=25.0 max_us=25.0",
+                recorder.getSummary());
+    }
+}
@@ -0,0 +1,73 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import it.unitn.emvscheduling.greedy.data.CompactInstanceFormat;
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulerServiceTest {
+    private static SchedulerService service;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void start() throws Exception {
+        service = new SchedulerService(2);
+        service.start(0);
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stop() {
+        service.stop();
+    }
+
+    @Test
+    void testSolveReturnsOneLinePerProcess() throws Exception {
+        ExecutionFacts facts = DataGenerator.getBenchmark(3, 40, 5, 10, 4, 15, 100);
+        StringBuilder instance = new StringBuilder();
+        CompactInstanceFormat.writeInstance(facts, new Strategy(Strategy.ProcessSortType.MCDF, 9), instance);
+
+        for (String solver : new String[]{"dispatcher", "optimized", "scalable"}) {
+            HttpResponse<String> response = post("/solve?solver=" + solver, instance.toString());
+            assertEquals(200, response.statusCode(), solver + ": " + response.body());
+            String[] lines = response.body().split("\n");
+            assertEquals(1 + facts.processes.size(), lines.length, solver);
+        }
+
+        HttpResponse<String> stats = client.send(HttpRequest.newBuilder(uri("/stats")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, stats.statusCode());
+        assertTrue(stats.body().contains("optimized: count="), stats.body());
+    }
+
+    @Test
+    void testMalformedRequestsAreRejected() throws Exception {
+        assertEquals(400, post("/solve", "2 1 1 9\n3 4 5").statusCode(), "a truncated instance");
+        assertEquals(400, post("/solve", "2 1 1 9\n2 4 5\n2 0 1 1 0\n").statusCode(), "a repeated conflict");
+        assertEquals(400, post("/solve?solver=unknown", "2 1 1 9\n1 4\n0\n").statusCode(), "an unknown solver");
+        assertEquals(400, post("/solve", "2 1 99 9\n1 4\n0\n").statusCode(), "an unknown process sort type");
+        assertEquals(400, post("/solve", "2 1 1 9\n2000000000 4\n0\n").statusCode(), "a count larger than the body");
+        assertEquals(400, post("/solve", "2 1 1 9\n1 4294967300\n0\n").statusCode(), "an int overflow");
+        assertEquals(405, client.send(HttpRequest.newBuilder(uri("/solve")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    private static HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(String path) {
+        return URI.create("http://localhost:" + service.getPort() + path);
+    }
+}
@@ -0,0 +1,99 @@
+package it.unitn.emvscheduling.greedy.application;
+
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SweepSpecificationTest {
+
+    @Test
+    void testMainSweepExpandsToTheMainInput() throws Exception {
+        SweepSpecification sweep = SweepSpecification.open("sweep-main.txt", SolverType.DISPATCHER);
+        assertEquals(720, sweep.getSize());
+
+        Iterator<ExperimentTask> tasks = sweep.iterator();
+        try (InputRowReader inputs = InputRowReader.open("input-main.csv")) {
+            while (inputs.next()) {
+                assertTrue(tasks.hasNext());
+                ExperimentTask task = tasks.next();
+                assertEquals(SolverType.DISPATCHER, task.solverType);
+                int[] expected = inputs.row.clone();
+                expected[InputRowReader.GROUP_NO] = task.row[InputRowReader.GROUP_NO];
+                assertArrayEquals(expected, task.row, "The row no. " + inputs.row[InputRowReader.NO]);
+                assertEquals((task.index / 3) + 1, task.row[InputRowReader.GROUP_NO], "The seeds share a group");
+            }
+        }
+        assertFalse(tasks.hasNext());
+    }
+
+    @Test
+    void testValuesRangesAndDefaults() throws Exception {
+        SweepSpecification sweep = SweepSpecification.parse(new StringReader(
+                "solver = dispatcher, SCALABLE # the outermost loop\n" +
+                        "\n" +
+                        "randomSeed = 1..3\n" +
+                        "processCount = 10, 100..1000:450\n" +
+                        "computerCount = 4\n" +
+                        "conflictPercentage = 5\n" +
+                        "processSortType = lcdf\n"), SolverType.OPTIMIZED);
+        assertEquals(2 * 3 * 4, sweep.getSize());
+        assertEquals(Arrays.asList(SolverType.DISPATCHER, SolverType.SCALABLE), sweep.getSolverTypes());
+
+        ExperimentTask task = sweep.getTask(23);
+        assertEquals(SolverType.SCALABLE, task.solverType);
+        assertArrayEquals(new int[]{24, 8, 3, -1, -1, 1000, 5, 10, 4, 5, 100, 5, 29}, task.row);
+        List<Integer> processCounts = sweep.stream().limit(4).map(t -> t.row[InputRowReader.PROCESS_COUNT])
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(10, 100, 550, 1000), processCounts);
+    }
+
+    @Test
+    void testSolverRanges() throws Exception {
+        String required = "randomSeed = 1\nprocessCount = 10\ncomputerCount = 2\nconflictPercentage = 5\n";
+        assertEquals(Arrays.asList(SolverType.values()), parse("solver = dispatcher..SCALABLE\n" + required)
+                .getSolverTypes());
+        assertEquals(Arrays.asList(SolverType.DISPATCHER, SolverType.SCALABLE), parse("solver = 1..3:2\n" + required)
+                .getSolverTypes());
+        SweepSpecification sweep = parse("solver = optimized..3\n" + required);
+        assertEquals(SolverType.OPTIMIZED, sweep.getTask(0).solverType);
+        assertEquals(SolverType.SCALABLE, sweep.getTask(1).solverType);
+        assertThrows(IOException.class, () -> parse("solver = 2..4\n" + required));
+        assertThrows(IOException.class, () -> parse("solver = scalable..dispatcher\n" + required));
+    }
+
+    @Test
+    void testLargeSweepIsExpandedLazily() throws Exception {
+        SweepSpecification sweep = SweepSpecification.parse(new StringReader(
+                "randomSeed = 1..100\nprocessCount = 1..100\ncomputerCount = 1..100\nconflictPercentage = 0..99\n"),
+                SolverType.DISPATCHER);
+        assertEquals(100_000_000, sweep.getSize());
+        assertArrayEquals(new int[]{100_000_000, 1_000_000, 100, -1, -1, 100, 5, 10, 100, 99, 100, 3, 29},
+                sweep.getTask(sweep.getSize() - 1).row);
+        long parallelSum = sweep.stream().limit(1_000_000).parallel()
+                .mapToLong(t -> t.row[InputRowReader.NO]).sum();
+        assertEquals(1_000_000L * 1_000_001 / 2, parallelSum);
+    }
+
+    @Test
+    void testInvalidSpecifications() {
+        String required = "randomSeed = 1\nprocessCount = 10\ncomputerCount = 2\n";
+        assertThrows(IOException.class, () -> parse(required));
+        assertThrows(IOException.class, () -> parse(required + "conflictPercentage = 5..1\n"));
+        assertThrows(IOException.class, () -> parse(required + "conflictPercentage = 5\nprocessSortType = 9\n"));
+        assertThrows(IOException.class, () -> parse(required + "conflictPercentage = 5\nsolver = unknown\n"));
+        assertThrows(IOException.class, () -> parse(required + "conflict = 5\n"));
+        assertThrows(IOException.class, () -> parse(required + "randomSeed = 2\nconflictPercentage = 5\n"));
+    }
+
+    private static SweepSpecification parse(String text) throws IOException {
+        return SweepSpecification.parse(new StringReader(text), SolverType.DISPATCHER);
+    }
+}
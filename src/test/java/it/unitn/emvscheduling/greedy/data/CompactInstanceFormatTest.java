@@ -0,0 +1,105 @@
+package it.unitn.emvscheduling.greedy.data;
+
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactInstanceFormatTest {
+
+    @Test
+    void testWrittenInstanceIsParsedBack() {
+        ExecutionFacts facts = DataGenerator.getBenchmark(7, 60, 5, 10, 4, 20, 100);
+        facts.isProposerMode = false;
+        Strategy strategy = new Strategy(Strategy.ProcessSortType.LCDF, 5);
+        StringBuilder sb = new StringBuilder();
+        CompactInstanceFormat.writeInstance(facts, strategy, sb);
+
+        ExecutionFacts parsed = new ExecutionFacts();
+        byte[] data = sb.toString().getBytes(StandardCharsets.US_ASCII);
+        CompactInstanceFormat instance = CompactInstanceFormat.parse(data, data.length, parsed);
+        assertArrayEquals(new int[]{4, 0, Strategy.ProcessSortType.LCDF.getValue(), 5}, instance.header);
+        assertEquals(facts.computers.size(), parsed.computers.size());
+        assertFalse(parsed.isProposerMode);
+        assertEquals(facts.processes.size(), parsed.processes.size());
+        for (int p = 0; p < facts.processes.size(); p++) {
+            Process expected = facts.processes.get(p);
+            Process actual = parsed.processes.get(p);
+            assertEquals(expected.processId, actual.processId);
+            assertEquals(expected.executionTime, actual.executionTime);
+            assertEquals(expected.conflictingProcesses.size(), actual.conflictingProcesses.size());
+        }
+        assertEquals(facts.conflictingProcesses, parsed.conflictingProcesses);
+
+        StringBuilder written = new StringBuilder();
+        CompactInstanceFormat.writeInstance(parsed, strategy, written);
+        assertEquals(sb.toString(), written.toString());
+    }
+
+    @Test
+    void testScheduleIsWrittenPerProcess() {
+        byte[] data = "2 1 1 9\n3 4 5 6\n1 0 2\n".getBytes(StandardCharsets.US_ASCII);
+        ExecutionFacts facts = new ExecutionFacts();
+        CompactInstanceFormat.parse(data, data.length, facts);
+        ExecutionOutput output = SolverType.OPTIMIZED.newSolver().solve(facts, new ExecutionSettings(2, -1, -1),
+                new Strategy(Strategy.ProcessSortType.MCDF, 9));
+
+        StringBuilder sb = new StringBuilder();
+        CompactInstanceFormat.writeSchedule(output, sb);
+        String[] lines = sb.toString().split("\n");
+        assertEquals(1 + 3, lines.length);
+        assertTrue(lines[0].startsWith(output.scheduleMakespan + " " + output.horizon + " "));
+        for (int l = 1; l < lines.length; l++) {
+            String[] values = lines[l].split(" ");
+            Process process = output.processes.get(l - 1);
+            assertEquals(process.processId, Integer.parseInt(values[0]));
+            assertEquals(process.computer.computerId, Integer.parseInt(values[1]));
+            assertEquals(process.startTime, Integer.parseInt(values[2]));
+        }
+    }
+
+    @Test
+    void testMalformedInstances() {
+        assertMalformed("");
+        assertMalformed("2 1 1 9\n3 4 5");
+        assertMalformed("0 1 1 9\n0\n0\n");
+        assertMalformed("2 1 1 9\n-1\n0\n");
+        assertMalformed("2 1 1 9\n2 4 0\n0\n");
+        assertMalformed("2 1 1 9\n2 4 x\n0\n");
+        assertMalformed("2 1 1 9\n2 4 5\n1 0 2\n");
+        assertMalformed("2 1 1 9\n2 4 5\n1 1 1\n");
+        assertMalformed("2 1 1 9\n2 4 5\n2 0 1 1 0\n");// the same pair twice
+        assertMalformed("2 1 1 9\n3 4 5 6\n2 0 2 0 2\n");
+    }
+
+    @Test
+    void testCountsAndNumbersAreBounded() {
+        assertMalformed("2000000000 1 1 9\n1 4\n0\n");// more computers than bytes
+        assertMalformed("2 1 1 9\n2000000000 4\n0\n");// more processes than bytes
+        assertMalformed("2 1 1 9\n2 4 5\n2000000000 0 1\n");// more conflicting pairs than bytes
+        assertMalformed("2 1 1 9\n2 4 5\n2 0 1\n");// one pair short
+        assertMalformed("4294967298 1 1 9\n1 4\n0\n");// 2 after wrapping around
+        assertMalformed("2 1 1 9\n1 2147483648\n0\n");
+        assertMalformed("2 1 1 9\n1 99999999999999999999999\n0\n");
+
+        byte[] data = "2 1 -2147483648 2147483647\n1 4\n0".getBytes(StandardCharsets.US_ASCII);
+        CompactInstanceFormat instance = CompactInstanceFormat.parse(data, data.length, new ExecutionFacts());
+        assertEquals(Integer.MIN_VALUE, instance.header[CompactInstanceFormat.PROCESS_SORT_TYPE]);
+        assertEquals(Integer.MAX_VALUE, instance.header[CompactInstanceFormat.LOOSE_REVIEW_ROUND]);
+        data = "1 1 1 9\n2 4 5\n1 0 1".getBytes(StandardCharsets.US_ASCII);
+        CompactInstanceFormat.parse(data, data.length, new ExecutionFacts());// the last numbers fill the counts
+    }
+
+    private static void assertMalformed(String text) {
+        byte[] data = text.getBytes(StandardCharsets.US_ASCII);
+        assertThrows(IllegalArgumentException.class, () -> CompactInstanceFormat.parse(data, data.length,
+                new ExecutionFacts()), text);
+    }
+}
@@ -0,0 +1,54 @@
+package it.unitn.emvscheduling.greedy.data;
+
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.UnorderedPair;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataGeneratorTest {
+
+    @Test
+    void testConflictDegree() {
+        ExecutionFacts facts = DataGenerator.getBenchmarkWithConflictDegree(3, 10_000, 5, 10, 4, 8, 100);
+        assertEquals(4, facts.computers.size());
+        assertEquals(10_000, facts.processes.size());
+        assertEquals(10_000 * 8 / 2, facts.conflictingProcesses.size(), "The average degree is 8");
+        assertEquals(0, facts.conflictPercentage, "0.08% of the pairs, rounded down");
+
+        Set<UnorderedPair> pairs = new HashSet<>();
+        long degreeSum = 0;
+        for (UnorderedPair pair : facts.conflictingProcesses) {
+            assertTrue(pair.i < pair.j, "The pairs are ordered and not reflexive");
+            assertTrue(pairs.add(pair), "The pairs are distinct");
+            assertTrue(facts.processes.get(pair.i).conflictingProcesses.contains(facts.processes.get(pair.j)));
+            assertTrue(facts.processes.get(pair.j).conflictingProcesses.contains(facts.processes.get(pair.i)));
+        }
+        for (int processId = 0; processId < facts.processes.size(); processId++) {
+            Process process = facts.processes.get(processId);
+            assertEquals(processId, process.processId);
+            assertTrue(process.executionTime >= 5 && process.executionTime <= 10);
+            degreeSum += process.conflictingProcesses.size();
+        }
+        assertEquals(2L * facts.conflictingProcesses.size(), degreeSum);
+
+        ExecutionFacts again = DataGenerator.getBenchmarkWithConflictDegree(3, 10_000, 5, 10, 4, 8, 100);
+        assertEquals(facts.conflictingProcesses, again.conflictingProcesses, "The same seed, the same conflicts");
+    }
+
+    @Test
+    void testConflictDegreeIsCappedByThePairs() {
+        ExecutionFacts facts = DataGenerator.getBenchmarkWithConflictDegree(1, 5, 5, 10, 2, 8, 100);
+        assertEquals(10, facts.conflictingProcesses.size(), "All the 5 * 4 / 2 pairs");
+        assertEquals(100, facts.conflictPercentage);
+        for (Process process : facts.processes) {
+            assertEquals(4, process.conflictingProcesses.size());
+        }
+        assertThrows(RuntimeException.class,
+                () -> DataGenerator.getBenchmarkWithConflictDegree(1, 5, 10, 5, 2, 8, 100));
+    }
+}
@@ -0,0 +1,52 @@
+package it.unitn.emvscheduling.greedy.domain;
+
+import it.unitn.emvscheduling.greedy.application.FileBasedExecutor;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WallTimeStatisticsTest {
+
+    @Test
+    void testStatisticsOfTheRepetitions() {
+        double[] wallTimesMs = {4, 1, 3, 2};
+        WallTimeStatistics statistics = WallTimeStatistics.of(wallTimesMs);
+        assertEquals(1, statistics.minMs);
+        assertEquals(2.5, statistics.medianMs);
+        assertEquals(4, statistics.p99Ms);
+        assertEquals(2.5, statistics.meanMs);
+        assertEquals(4, statistics.repetitions);
+        assertEquals(4, wallTimesMs[0], "The wall times are not sorted in place");
+
+        double[] manyWallTimesMs = new double[200];
+        for (int i = 0; i < manyWallTimesMs.length; i++) {
+            manyWallTimesMs[i] = manyWallTimesMs.length - i;
+        }
+        statistics = WallTimeStatistics.of(manyWallTimesMs);
+        assertEquals(198, statistics.p99Ms, "The nearest rank of the 99th percentile");
+        assertEquals(100.5, statistics.medianMs);
+        assertThrows(IllegalArgumentException.class, () -> WallTimeStatistics.of(new double[0]));
+    }
+
+    @Test
+    void testRepeatedRowHasTheSameScheduleAsASingleSolve() {
+        int[] input = {1, 1, 7, -1, -1, 60, 5, 10, 3, 15, 100, 3, 29};
+        String[] single = FileBasedExecutor.executeRow(input, SolverType.OPTIMIZED.newSolver()).split(",", -1);
+        String[] repeated = FileBasedExecutor.executeRow(input, SolverType.OPTIMIZED.newSolver(), 2, 5)
+                .split(",", -1);
+
+        assertEquals(single.length, repeated.length);
+        int statisticsStart = repeated.length - WallTimeStatistics.CSV_COLUMN_COUNT;
+        assertEquals("1", single[single.length - 1]);
+        assertEquals(single[13], single[statisticsStart], "The statistics of a single solve are its wall time");
+        assertEquals("5", repeated[repeated.length - 1]);
+        for (int column : new int[]{5, 8, 14, 16, 18}) {// the counts, makespan, horizon and speedup
+            assertEquals(single[column], repeated[column]);
+        }
+        double minMs = Double.parseDouble(repeated[statisticsStart]);
+        double medianMs = Double.parseDouble(repeated[statisticsStart + 1]);
+        double p99Ms = Double.parseDouble(repeated[statisticsStart + 2]);
+        assertTrue(minMs <= medianMs && medianMs <= p99Ms);
+    }
+}
@@ -0,0 +1,112 @@
+package it.unitn.emvscheduling.greedy.domain.solver;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.solver.DispatcherSolver;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        ExecutionFacts proposerFacts = DataGenerator.getBenchmark(42, 200, 5, 10, 8, 15, 100);
+        proposerFacts.isProposerMode = true;
+        ExecutionOutput output = new DispatcherSolver().solve(proposerFacts, new ExecutionSettings(-1, -1, 42),
+                new Strategy(Strategy.ProcessSortType.MCDF, 29));
+
+        ByteBuffer encoded = ScheduleCodec.encode(output.computingPlan);
+
+        // the attestor has the same facts, without any schedule
+        ExecutionFacts attestorFacts = DataGenerator.getBenchmark(42, 200, 5, 10, 8, 15, 100);
+        ComputingPlan decodedPlan = ScheduleCodec.decode(encoded, attestorFacts);
+
+        assertEquals(0, encoded.position(), "Decoding should not consume the given buffer");
+        assertEquals(output.scheduleMakespan, decodedPlan.getScheduleMakespan());
+        for (Process process : output.processes) {
+            Process decoded = attestorFacts.getProcess(process.processId);
+            assertEquals(process.computer.computerId, decoded.computer.computerId,
+                    "Process " + process.processId + " should be decoded on the same computer");
+            assertEquals(process.startTime, decoded.startTime);
+            assertEquals(process.endTime, decoded.endTime);
+        }
+        for (int i = 0; i < decodedPlan.computerPlanList.size(); i++) {
+            ComputerPlan original = output.computingPlan.computerPlanList.get(i);
+            ComputerPlan decoded = decodedPlan.computerPlanList.get(i);
+            assertEquals(original.processList.size(), decoded.processList.size());
+            for (int j = 0; j < original.processList.size(); j++) {
+                assertEquals(original.processList.get(j).processId, decoded.processList.get(j).processId);
+            }
+        }
+    }
+
+    @Test
+    void testLargeBlockIsCompact() {
+        ExecutionFacts facts = DataGenerator.getBenchmark(1, 10_000, 5, 10, 16, 0, 100);
+        ExecutionOutput output = new DispatcherSolver().solve(facts, new ExecutionSettings(-1, -1, 1),
+                new Strategy(Strategy.ProcessSortType.FIFO, 1));
+
+        ByteBuffer encoded = ScheduleCodec.encode(output.computingPlan);
+
+        // one byte for the start time delta and at most two for the process id delta
+        assertTrue(encoded.remaining() <= 3 * 10_000 + 64, "Encoded size was " + encoded.remaining());
+    }
+
+    @Test
+    void testMismatchingFactsAreRejected() {
+        ExecutionFacts facts = DataGenerator.getBenchmark(42, 20, 5, 10, 4, 15, 100);
+        ExecutionOutput output = new DispatcherSolver().solve(facts, new ExecutionSettings(-1, -1, 42),
+                new Strategy());
+        ByteBuffer encoded = ScheduleCodec.encode(output.computingPlan);
+
+        ExecutionFacts otherFacts = DataGenerator.getBenchmark(42, 21, 5, 10, 4, 15, 100);
+        assertThrows(IllegalArgumentException.class, () -> ScheduleCodec.decode(encoded, otherFacts));
+
+        ByteBuffer truncated = encoded.duplicate();
+        truncated.limit(truncated.limit() - 1);
+        ExecutionFacts sameFacts = DataGenerator.getBenchmark(42, 20, 5, 10, 4, 15, 100);
+        assertThrows(IllegalArgumentException.class, () -> ScheduleCodec.decode(truncated, sameFacts));
+    }
+
+    @Test
+    void testTimeOverflowIsRejected() {
+        // two processes on one computer, the second start time is past Integer.MAX_VALUE
+        ByteBuffer startOverflow = ByteBuffer.allocate(32);
+        startOverflow.put(ScheduleCodec.MAGIC).put(ScheduleCodec.VERSION);
+        putVarInt(startOverflow, 1);
+        putVarInt(startOverflow, 2);
+        putVarInt(startOverflow, 0);
+        putVarInt(startOverflow, Integer.MAX_VALUE - 1);
+        putVarInt(startOverflow, 2);// zigzag of +1
+        putVarInt(startOverflow, 10);
+        startOverflow.flip();
+        ExecutionFacts facts = DataGenerator.getBenchmark(42, 2, 5, 10, 1, 0, 100);
+        assertThrows(IllegalArgumentException.class, () -> ScheduleCodec.decode(startOverflow, facts));
+
+        // the start time fits, but not the end time
+        ByteBuffer endOverflow = ByteBuffer.allocate(32);
+        endOverflow.put(ScheduleCodec.MAGIC).put(ScheduleCodec.VERSION);
+        putVarInt(endOverflow, 1);
+        putVarInt(endOverflow, 1);
+        putVarInt(endOverflow, 0);
+        putVarInt(endOverflow, Integer.MAX_VALUE - 1);
+        endOverflow.flip();
+        ExecutionFacts singleProcessFacts = DataGenerator.getBenchmark(42, 1, 5, 10, 1, 0, 100);
+        assertThrows(IllegalArgumentException.class, () -> ScheduleCodec.decode(endOverflow, singleProcessFacts));
+    }
+
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
@@ -0,0 +1,149 @@
+package it.unitn.emvscheduling.greedy.domain.solver;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.Computer;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.solver.OptimizedDispatcherSolver;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleValidatorTest {
+
+    @Test
+    void testSolvedScheduleIsValid() {
+        for (boolean isProposerMode : new boolean[]{true, false}) {
+            ExecutionFacts facts = DataGenerator.getBenchmark(42, 500, 5, 10, 8, 25, 100);
+            facts.isProposerMode = isProposerMode;
+            ExecutionSettings settings = new ExecutionSettings(-1, -1, 42);
+            settings.validateSchedule = true;
+            ExecutionOutput output = new OptimizedDispatcherSolver().solve(facts, settings,
+                    new Strategy(Strategy.ProcessSortType.MCDF, 29));
+
+            assertNull(output.violations, "Violations: " + output.violations);
+            assertEquals("possible", output.resultStatus);
+            assertTrue(output.metrics.validationNanos > 0);
+        }
+    }
+
+    @Test
+    void testSchedulesOfEverySolverTypeAreValid() {
+        for (SolverType solverType : SolverType.values()) {
+            for (boolean isProposerMode : new boolean[]{true, false}) {
+                for (Strategy.AssignmentType assignmentType : Strategy.AssignmentType.values()) {
+                    for (int seed = 1; seed <= 10; seed++) {
+                        ExecutionFacts facts = DataGenerator.getBenchmark(seed, 300, 5, 10, 8, seed * 5, 100);
+                        facts.isProposerMode = isProposerMode;
+                        ExecutionSettings settings = new ExecutionSettings(-1, -1, seed);
+                        settings.validateSchedule = true;
+                        ExecutionOutput output = solverType.newSolver().solve(facts, settings,
+                                new Strategy(assignmentType, Strategy.ProcessSortType.MCDF, 29));
+                        String name = solverType + (isProposerMode ? " proposer " : " attestor ") + assignmentType +
+                                " seed " + seed;
+
+                        assertNull(output.violations, name + ": " + output.violations);
+                        assertEquals("possible", output.resultStatus, name);
+                        assertTrue(ScheduleValidator.isValid(facts.processes, !isProposerMode), name);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEveryViolatingPairIsReported() {
+        Computer first = new Computer(0);
+        Computer second = new Computer(1);
+        List<Process> processes = new ArrayList<>();
+        for (int processId = 0; processId < 6; processId++) {
+            processes.add(new Process(processId, 10));
+        }
+        conflict(processes.get(0), processes.get(1));
+        conflict(processes.get(2), processes.get(3));
+        conflict(processes.get(4), processes.get(5));
+
+        place(processes.get(0), first, 0);
+        place(processes.get(1), second, 5);// overlaps its conflict 0 on another computer
+        place(processes.get(2), first, 30);// starts after its conflict 3, which has a larger id
+        place(processes.get(3), second, 12);// overlaps 1 on the same computer
+        place(processes.get(4), first, 40);// touches its conflict 5, [start, end) do not overlap
+        place(processes.get(5), second, 50);
+        processes.add(new Process(6, 10));
+
+        List<ScheduleValidator.Violation> violations = ScheduleValidator.validate(processes, true);
+
+        assertEquals(4, violations.size(), "Violations: " + violations);
+        assertViolation(violations, ScheduleValidator.ViolationType.UNASSIGNED, 6, -1);
+        assertViolation(violations, ScheduleValidator.ViolationType.CONFLICT_OVERLAP, 0, 1);
+        assertViolation(violations, ScheduleValidator.ViolationType.COMPUTER_OVERLAP, 1, 3);
+        assertViolation(violations, ScheduleValidator.ViolationType.CONFLICT_ORDER, 2, 3);
+
+        // proposers can reorder the conflicting processes
+        assertEquals(3, ScheduleValidator.validate(processes, false).size());
+        assertFalse(ScheduleValidator.isValid(processes, false));
+    }
+
+    @Test
+    void testEveryOverlapOnAComputerIsReported() {
+        Computer computer = new Computer(0);
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(0, 10));
+        processes.add(new Process(1, 28));
+        processes.add(new Process(2, 3));
+        processes.add(new Process(3, 5));
+        place(processes.get(0), computer, 0);
+        place(processes.get(1), computer, 2);// ends after 0, still overlaps it
+        place(processes.get(2), computer, 5);// overlaps both
+        place(processes.get(3), computer, 10);// after 0 and 2, overlaps only 1
+
+        List<ScheduleValidator.Violation> violations = ScheduleValidator.validate(processes, true);
+
+        assertEquals(4, violations.size(), "Violations: " + violations);
+        assertViolation(violations, ScheduleValidator.ViolationType.COMPUTER_OVERLAP, 0, 1);
+        assertViolation(violations, ScheduleValidator.ViolationType.COMPUTER_OVERLAP, 0, 2);
+        assertViolation(violations, ScheduleValidator.ViolationType.COMPUTER_OVERLAP, 1, 2);
+        assertViolation(violations, ScheduleValidator.ViolationType.COMPUTER_OVERLAP, 1, 3);
+    }
+
+    @Test
+    void testInvalidTimeIsReported() {
+        ExecutionFacts facts = DataGenerator.getBenchmark(7, 20, 5, 10, 4, 0, 100);
+        new OptimizedDispatcherSolver().solve(facts, new ExecutionSettings(-1, -1, 7), new Strategy());
+        assertTrue(ScheduleValidator.isValid(facts.processes, true));
+
+        Process process = facts.getProcess(3);
+        process.endTime++;
+        List<ScheduleValidator.Violation> violations = ScheduleValidator.validate(facts.processes, true);
+        assertViolation(violations, ScheduleValidator.ViolationType.INVALID_TIME, 3, -1);
+    }
+
+    private static void conflict(Process a, Process b) {
+        a.conflictingProcesses.add(b);
+        b.conflictingProcesses.add(a);
+    }
+
+    private static void place(Process process, Computer computer, int startTime) {
+        process.computer = computer;
+        process.startTime = startTime;
+        process.endTime = startTime + process.executionTime;
+    }
+
+    private static void assertViolation(List<ScheduleValidator.Violation> violations,
+                                        ScheduleValidator.ViolationType type, int processId, int otherProcessId) {
+        for (ScheduleValidator.Violation violation : violations) {
+            if (violation.type == type && violation.processId == processId
+                    && violation.otherProcessId == otherProcessId) {
+                return;
+            }
+        }
+        fail("Expected " + type + "(" + processId + ", " + otherProcessId + ") in " + violations);
+    }
+}
@@ -0,0 +1,38 @@
+package it.unitn.emvscheduling.greedy.execution;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockStmExecutorTest {
+    private final SyntheticWork work = SyntheticWork.calibrate(1_000);
+
+    @Test
+    void testConflictingBlockMatchesSerialExecution() {
+        ExecutionFacts facts = DataGenerator.getBenchmark(42, 300, 5, 10, 4, 30, 100);
+        for (int threadCount : new int[]{1, 2, 8}) {
+            BlockStmReport report = new BlockStmExecutor(work, threadCount).execute(facts);
+
+            assertTrue(report.isConsistent, "The final store should match the serial one for " + threadCount +
+                    " threads");
+            assertTrue(report.executions >= 300);
+            assertEquals(report.executions - 300, report.validationAborts,
+                    "Each execution after the first one of a transaction should follow an abort");
+        }
+    }
+
+    @Test
+    void testBlockWithoutConflictsIsExecutedOnce() {
+        ExecutionFacts facts = DataGenerator.getBenchmark(42, 200, 5, 10, 4, 0, 100);
+
+        BlockStmReport report = new BlockStmExecutor(work, 4).execute(facts);
+
+        assertTrue(report.isConsistent);
+        assertEquals(0, report.keyCount);
+        assertEquals(200, report.executions);
+        assertEquals(0, report.validationAborts);
+        assertEquals(0, report.dependencyAborts);
+    }
+}
@@ -0,0 +1,50 @@
+package it.unitn.emvscheduling.greedy.execution;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.solver.OptimizedDispatcherSolver;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanExecutorTest {
+    private final PlanExecutor executor = new PlanExecutor(SyntheticWork.calibrate(1_000));
+
+    @Test
+    void testConflictingProcessesRunInPlanOrder() {
+        ExecutionFacts facts = DataGenerator.getBenchmark(42, 200, 5, 10, 4, 15, 100);
+        ExecutionOutput output = new OptimizedDispatcherSolver().solve(facts, new ExecutionSettings(-1, -1, 42),
+                new Strategy(Strategy.ProcessSortType.MCDF, 29));
+
+        ExecutionReport report = executor.execute(facts, output.computingPlan);
+
+        assertEquals(200, report.processCount);
+        assertEquals(4, report.computerCount);
+        assertEquals((double) output.horizon / output.scheduleMakespan, report.getModelledSpeedup(), 1e-9);
+        assertTrue(report.serialWallNanos > 0 && report.parallelWallNanos > 0);
+        for (Process process : facts.processes) {
+            assertTrue(report.endNanos[process.processId] > report.startNanos[process.processId],
+                    "Process " + process.processId + " should have run");
+            for (Process conflict : process.conflictingProcesses) {
+                if (conflict.startTime >= process.endTime) {
+                    assertTrue(report.startNanos[conflict.processId] >= report.endNanos[process.processId],
+                            "Process " + conflict.processId + " should wait for " + process.processId);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testUnplannedProcessIsRejected() {
+        ExecutionFacts facts = DataGenerator.getBenchmark(42, 20, 5, 10, 2, 15, 100);
+        ExecutionOutput output = new OptimizedDispatcherSolver().solve(facts, new ExecutionSettings(-1, -1, 42),
+                new Strategy());
+        output.computingPlan.computerPlanList.get(0).processList.remove(0);
+
+        assertThrows(IllegalArgumentException.class, () -> executor.execute(facts, output.computingPlan));
+    }
+}
@@ -0,0 +1,105 @@
+package it.unitn.emvscheduling.greedy.monitoring;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import it.unitn.emvscheduling.greedy.solver.Strategy;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolveEventTest {
+    private static final String SOLVE = "it.unitn.emvscheduling.Solve";
+    private static final String SOLVE_PHASE = "it.unitn.emvscheduling.SolvePhase";
+    private static final String ASSIGNMENT = "it.unitn.emvscheduling.Assignment";
+
+    @Test
+    void testSolveCallsAreRecorded(@TempDir Path directory) throws Exception {
+        ExecutionSettings settings = new ExecutionSettings(-1, -1, 42);
+        ExecutionFacts looseFacts = DataGenerator.getBenchmark(42, 200, 5, 10, 8, 25, 100);
+        looseFacts.isProposerMode = true;
+        ExecutionFacts strictFacts = DataGenerator.getBenchmark(42, 200, 5, 10, 8, 25, 100);
+        strictFacts.isProposerMode = false;
+        ExecutionOutput looseOutput;
+        ExecutionOutput strictOutput;
+        Path path = directory.resolve("solve.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SOLVE);
+            recording.enable(SOLVE_PHASE);
+            recording.enable(ASSIGNMENT);
+            recording.start();
+            looseOutput = SolverType.OPTIMIZED.newSolver().solve(looseFacts, settings,
+                    new Strategy(Strategy.AssignmentType.LOOSE, Strategy.ProcessSortType.MCDF, 3));
+            strictOutput = SolverType.SCALABLE.newSolver().solve(strictFacts, settings,
+                    new Strategy(Strategy.AssignmentType.STRICT, Strategy.ProcessSortType.MCDF, 3));
+            recording.stop();
+            recording.dump(path);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(path);
+
+        List<RecordedEvent> solveEvents = getEvents(events, SOLVE);
+        assertEquals(2, solveEvents.size());
+        assertSolveEvent(solveEvents.get(0), "OPTIMIZED", true, "LOOSE", looseOutput);
+        assertSolveEvent(solveEvents.get(1), "SCALABLE", false, "STRICT", strictOutput);
+
+        List<String> phases = getEvents(events, SOLVE_PHASE).stream()
+                .map(e -> e.getString("solver") + " " + e.getString("phase")).collect(Collectors.toList());
+        assertEquals(List.of("OPTIMIZED ordering", "OPTIMIZED loose", "OPTIMIZED strict", "SCALABLE ordering",
+                "SCALABLE strict"), phases);
+
+        List<RecordedEvent> assignments = getEvents(events, ASSIGNMENT);
+        assertEquals(2 * 4, assignments.size(), "The processes 0, 64, 128 and 192 of each solve call are sampled");
+        for (RecordedEvent assignment : assignments) {
+            int processId = assignment.getInt("processId");
+            assertEquals(0, processId % AssignmentEvent.SAMPLING_INTERVAL);
+            assertTrue(assignment.getInt("delay") >= 0);
+            assertTrue(assignment.getInt("computerId") >= 0 && assignment.getInt("computerId") < 8);
+        }
+        for (RecordedEvent assignment : assignments.subList(4, 8)) {
+            // SCALABLE places strictly by looking at the conflicts for each computer, again after each delay
+            int conflictCount = strictFacts.getProcess(assignment.getInt("processId")).conflictingProcesses.size();
+            long conflictChecks = assignment.getLong("conflictChecks");
+            assertTrue(assignment.getBoolean("strict"));
+            assertTrue(conflictChecks >= 8L * conflictCount, "" + conflictChecks);
+            assertEquals(0, conflictCount == 0 ? 0 : conflictChecks % conflictCount);
+        }
+    }
+
+    private static void assertSolveEvent(RecordedEvent event, String solver, boolean proposerMode,
+                                         String assignmentType, ExecutionOutput output) {
+        assertEquals(solver, event.getString("solver"));
+        assertEquals(proposerMode, event.getBoolean("proposerMode"));
+        assertEquals(assignmentType, event.getString("assignmentType"));
+        assertEquals(200, event.getInt("processCount"));
+        assertEquals(8, event.getInt("computerCount"));
+        assertEquals((int) output.scheduleMakespan, event.getInt("makespan"));
+        assertEquals((long) output.horizon, event.getLong("horizon"));
+        assertEquals(output.metrics.looseRoundsUsed, event.getInt("looseRoundsUsed"));
+        assertEquals(output.metrics.strictlyPlacedProcesses, event.getInt("strictlyPlacedProcesses"));
+        assertEquals(output.metrics.conflictChecks, event.getLong("conflictChecks"));
+        assertEquals(output.metrics.orderingNanos, event.getDuration("orderingNanos").toNanos());
+        assertEquals(0, event.getInt("violationCount"));
+    }
+
+    private static List<RecordedEvent> getEvents(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> selected = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                selected.add(event);
+            }
+        }
+        selected.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        return selected;
+    }
+}
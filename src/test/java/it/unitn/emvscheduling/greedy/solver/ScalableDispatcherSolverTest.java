@@ -5,6 +5,7 @@ import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
 import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
 import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
 import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleValidator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
@@ -215,18 +216,8 @@ public class ScalableDispatcherSolverTest {
     }
     
     private void assertNoConflictingOverlaps(List<Process> processes) {
-        for (Process process1 : processes) {
-            for (Process process2 : process1.conflictingProcesses) {
-                // Check if these conflicting processes overlap in time
-                boolean overlap = process1.startTime < process2.endTime && 
-                                process1.endTime > process2.startTime;
-                
-                assertFalse(overlap, 
-                           "Conflicting processes " + process1.processId + " and " + process2.processId + 
-                           " should not overlap in time. Process1: [" + process1.startTime + ", " + process1.endTime + 
-                           "], Process2: [" + process2.startTime + ", " + process2.endTime + "]");
-            }
-        }
+        List<ScheduleValidator.Violation> violations = ScheduleValidator.validate(processes, false);
+        assertTrue(violations.isEmpty(), "Conflicting processes should not overlap in time: " + violations);
     }
     
     private void assertExecutionTimesRespected(List<Process> processes) {
@@ -0,0 +1,99 @@
+package it.unitn.emvscheduling.greedy.solver;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputerPlan;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleCodec;
+import it.unitn.emvscheduling.greedy.domain.solver.ScheduleValidator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleVerifierTest {
+    private final ExecutionSettings settings = new ExecutionSettings(-1, -1, 42);
+    private final Strategy strategy = new Strategy(Strategy.ProcessSortType.MCDF, 29);
+
+    @Test
+    void testValidScheduleIsVerified() {
+        ExecutionFacts proposerFacts = DataGenerator.getBenchmark(42, 100, 5, 10, 8, 15, 100);
+        ExecutionOutput proposerOutput = new OptimizedDispatcherSolver().solve(proposerFacts, settings, strategy);
+        ByteBuffer schedule = ScheduleCodec.encode(proposerOutput.computingPlan);
+
+        ExecutionFacts attestorFacts = DataGenerator.getBenchmark(42, 100, 5, 10, 8, 15, 100);
+        ExecutionOutput output = ScheduleVerifier.verifyOrSolve(attestorFacts, schedule, new DispatcherSolver(),
+                settings, strategy);
+
+        assertEquals("verified", output.resultStatus);
+        assertEquals(proposerOutput.scheduleMakespan, output.scheduleMakespan);
+        assertEquals(proposerOutput.horizon, output.horizon);
+    }
+
+    @Test
+    void testConflictingOverlapFallsBackToSolving() {
+        ExecutionFacts proposerFacts = DataGenerator.getBenchmark(7, 2, 5, 5, 2, 100, 100);
+        ExecutionOutput proposerOutput = new OptimizedDispatcherSolver().solve(proposerFacts, settings, new Strategy());
+        Process first = proposerFacts.getProcess(0);
+        Process second = proposerFacts.getProcess(1);
+        assertNotSame(first.computer, second.computer, "The conflicting processes should run on two computers");
+
+        // start the two conflicting processes together
+        second.startTime = first.startTime;
+        second.endTime = second.startTime + second.executionTime;
+        assertFalse(ScheduleVerifier.isValid(proposerFacts, proposerOutput.computingPlan));
+
+        ExecutionFacts attestorFacts = DataGenerator.getBenchmark(7, 2, 5, 5, 2, 100, 100);
+        ExecutionOutput output = ScheduleVerifier.verifyOrSolve(attestorFacts,
+                ScheduleCodec.encode(proposerOutput.computingPlan), new OptimizedDispatcherSolver(), settings,
+                new Strategy());
+
+        assertEquals("possible", output.resultStatus, "An invalid schedule should be solved again");
+        assertTrue(ScheduleVerifier.isValid(attestorFacts, output.computingPlan));
+    }
+
+    @Test
+    void testAttestorPlansOfAllSolversAreVerified() {
+        for (SolverType solverType : SolverType.values()) {
+            for (int seed = 0; seed < 20; seed++) {
+                ExecutionFacts proposerFacts = DataGenerator.getBenchmark(seed, 100, 5, 10, 8, 10, 100);
+                proposerFacts.isProposerMode = false;
+                ExecutionOutput proposerOutput = solverType.newSolver().solve(proposerFacts, settings, strategy);
+                assertTrue(ScheduleValidator.isValid(proposerFacts.processes, true), solverType + " seed " + seed);
+
+                ExecutionFacts attestorFacts = DataGenerator.getBenchmark(seed, 100, 5, 10, 8, 10, 100);
+                ExecutionOutput output = ScheduleVerifier.verifyOrSolve(attestorFacts,
+                        ScheduleCodec.encode(proposerOutput.computingPlan), new OptimizedDispatcherSolver(), settings,
+                        strategy);
+                assertEquals("verified", output.resultStatus, solverType + " seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void testConflictOrderIsChecked() {
+        ExecutionFacts facts = DataGenerator.getBenchmark(7, 2, 5, 5, 2, 100, 100);
+        ExecutionOutput output = new OptimizedDispatcherSolver().solve(facts, settings, new Strategy());
+        assertTrue(ScheduleVerifier.isValid(facts, output.computingPlan));
+
+        // swap the two conflicting processes in time, so the larger processId runs first
+        Process first = facts.getProcess(0);
+        Process second = facts.getProcess(1);
+        int firstStartTime = first.startTime;
+        first.startTime = second.startTime;
+        first.endTime = first.startTime + first.executionTime;
+        second.startTime = firstStartTime;
+        second.endTime = second.startTime + second.executionTime;
+        ComputerPlan firstPlan = output.computingPlan.computerPlanList.get(first.computer.computerId);
+        ComputerPlan secondPlan = output.computingPlan.computerPlanList.get(second.computer.computerId);
+        if (firstPlan == secondPlan) {
+            firstPlan.processList.clear();
+            firstPlan.processList.add(second);
+            firstPlan.processList.add(first);
+        }
+        assertFalse(ScheduleVerifier.isValid(facts, output.computingPlan), "A reordered plan changes the execution");
+    }
+}
@@ -0,0 +1,86 @@
+package it.unitn.emvscheduling.greedy.solver;
+
+import it.unitn.emvscheduling.greedy.data.DataGenerator;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.ExecutionOutput;
+import it.unitn.emvscheduling.greedy.domain.ExecutionSettings;
+import it.unitn.emvscheduling.greedy.domain.SolverMetrics;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputerPlan;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverMetricsTest {
+    private final ExecutionSettings settings = new ExecutionSettings(-1, -1, 42);
+
+    @Test
+    void testStrictAssignmentPlacesAllStrictly() {
+        for (SolverType solverType : SolverType.values()) {
+            for (boolean isProposerMode : new boolean[]{true, false}) {
+                ExecutionFacts facts = DataGenerator.getBenchmark(42, 200, 5, 10, 8, 25, 100);
+                facts.isProposerMode = isProposerMode;
+                ExecutionOutput output = solverType.newSolver().solve(facts, settings,
+                        new Strategy(Strategy.AssignmentType.STRICT, Strategy.ProcessSortType.MCDF, 29));
+
+                SolverMetrics metrics = output.metrics;
+                String name = solverType + (isProposerMode ? " proposer" : " attestor");
+                assertNotNull(metrics, name);
+                assertEquals(0, metrics.looseRoundsUsed, name);
+                assertEquals(0, metrics.looseNanos, name);
+                assertEquals(200, metrics.strictlyPlacedProcesses, name);
+                assertTrue(metrics.conflictChecks > 0, name);
+                assertEquals(getIdleTimeSum(output), metrics.idleTimeSum, name);
+            }
+        }
+    }
+
+    @Test
+    void testLooseRoundsAreCounted() {
+        for (SolverType solverType : SolverType.values()) {
+            for (boolean isProposerMode : new boolean[]{true, false}) {
+                ExecutionFacts facts = DataGenerator.getBenchmark(42, 200, 5, 10, 8, 25, 100);
+                facts.isProposerMode = isProposerMode;
+                ExecutionOutput output = solverType.newSolver().solve(facts, settings,
+                        new Strategy(Strategy.AssignmentType.LOOSE, Strategy.ProcessSortType.MCDF, 3));
+
+                SolverMetrics metrics = output.metrics;
+                String name = solverType + (isProposerMode ? " proposer" : " attestor");
+                assertTrue(metrics.looseRoundsUsed >= 1 && metrics.looseRoundsUsed <= 3, name);
+                // a process left to the strict phase failed in every loose round
+                assertTrue(metrics.failedLooseAttempts >= metrics.strictlyPlacedProcesses * metrics.looseRoundsUsed,
+                        name);
+                assertTrue(metrics.strictlyPlacedProcesses < 200, name);
+                assertTrue(metrics.orderingNanos >= 0 && metrics.looseNanos >= 0 && metrics.strictNanos >= 0, name);
+                assertEquals(getIdleTimeSum(output), metrics.idleTimeSum, name);
+                assertEquals(output.computingPlan.conflictCheckCount, metrics.conflictChecks, name);
+            }
+        }
+    }
+
+    @Test
+    void testCountersWithoutConflicts() {
+        for (SolverType solverType : SolverType.values()) {
+            for (boolean isProposerMode : new boolean[]{true, false}) {
+                ExecutionFacts facts = DataGenerator.getBenchmark(42, 200, 5, 10, 8, 0, 100);
+                facts.isProposerMode = isProposerMode;
+                ExecutionOutput output = solverType.newSolver().solve(facts, settings,
+                        new Strategy(Strategy.AssignmentType.LOOSE, Strategy.ProcessSortType.MCDF, 3));
+
+                SolverMetrics metrics = output.metrics;
+                String name = solverType + (isProposerMode ? " proposer" : " attestor");
+                assertEquals(1, metrics.looseRoundsUsed, name + ": all the processes are placed in the first round");
+                assertEquals(0, metrics.failedLooseAttempts, name);
+                assertEquals(0, metrics.strictlyPlacedProcesses, name);
+                assertEquals(0, metrics.conflictChecks, name);
+            }
+        }
+    }
+
+    private long getIdleTimeSum(ExecutionOutput output) {
+        long idleTimeSum = 0;
+        for (ComputerPlan computerPlan : output.computingPlan.computerPlanList) {
+            idleTimeSum += computerPlan.idleTimeSum;
+        }
+        return idleTimeSum;
+    }
+}
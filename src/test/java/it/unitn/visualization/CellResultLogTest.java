@@ -0,0 +1,78 @@
+package it.unitn.visualization;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CellResultLogTest {
+
+    @Test
+    void testResultsAreReadBackExactly(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("cache/cells.log");
+        try (CellResultLog log = new CellResultLog(path, "v1")) {
+            assertNull(log.get("a=1"));
+            log.put("a=1", 1.0 / 3);
+            log.put("a=2", 2.5);
+        }
+        Files.write(path, "v1 a=3 1.2".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);// interrupted
+
+        try (CellResultLog log = new CellResultLog(path, "v1")) {
+            assertEquals(2, log.getLoadedCount());
+            assertEquals(1, log.getDroppedCount());
+            assertEquals(1.0 / 3, log.get("a=1"));
+            assertEquals(2.5, log.get("a=2"));
+            assertNull(log.get("a=3"));
+            assertEquals(2, log.getHitCount());
+        }
+    }
+
+    @Test
+    void testAnotherVersionInvalidatesTheResults(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("cells.log");
+        try (CellResultLog log = new CellResultLog(path, "v1")) {
+            log.put("a=1", 1.5);
+        }
+
+        try (CellResultLog log = new CellResultLog(path, "v2")) {
+            assertEquals(0, log.getLoadedCount());
+            assertNull(log.get("a=1"));
+            log.put("a=1", 1.75);
+        }
+        assertEquals(1, Files.readAllLines(path).size(), "The lines of the old version are removed");
+    }
+
+    @Test
+    void testPutsAreWrittenAtOnceAndSyncedInBatches(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("cells.log");
+        CellResultLog log = new CellResultLog(path, "v1", 2, 60_000);
+        for (int i = 0; i < 5; i++) {
+            log.put("a=" + i, i);
+        }
+        assertEquals(5, Files.readAllLines(path).size(), "A stopped run resumes from every put");
+        assertEquals(2, log.getSyncCount());
+        log.close();
+        assertEquals(3, log.getSyncCount(), "The last batch is synced on close");
+        log.close();
+        assertThrows(IOException.class, () -> log.put("a=5", 5));
+
+        try (CellResultLog resumed = new CellResultLog(path, "v1")) {
+            assertEquals(5, resumed.getLoadedCount());
+            assertEquals(4.0, resumed.get("a=4"));
+        }
+    }
+
+    @Test
+    void testVersionHashDependsOnTheClasses() throws Exception {
+        String hash = CellResultLog.getVersionHash(CellResultLog.class);
+        assertEquals(16, hash.length());
+        assertEquals(hash, CellResultLog.getVersionHash(CellResultLog.class));
+        assertNotEquals(hash, CellResultLog.getVersionHash(CellResultLog.class, SpeedupWorkbookWriter.class));
+    }
+}
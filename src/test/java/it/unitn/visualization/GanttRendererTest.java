@@ -0,0 +1,106 @@
+package it.unitn.visualization;
+
+import it.unitn.emvscheduling.greedy.domain.Computer;
+import it.unitn.emvscheduling.greedy.domain.ExecutionFacts;
+import it.unitn.emvscheduling.greedy.domain.Process;
+import it.unitn.emvscheduling.greedy.domain.solver.ComputingPlan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GanttRendererTest {
+
+    /**
+     * the processes are assigned strictly in their order, each conflicting with the previous one
+     */
+    private static ComputingPlan getPlan(int processCount, int computerCount) {
+        ExecutionFacts facts = new ExecutionFacts();
+        facts.computers = new ArrayList<>();
+        for (int i = 0; i < computerCount; i++) {
+            facts.computers.add(new Computer(i));
+        }
+        facts.processes = new ArrayList<>();
+        ComputingPlan computingPlan = new ComputingPlan(facts);
+        Process previous = null;
+        for (int i = 0; i < processCount; i++) {
+            Process process = new Process(i, 5 + i % 6);
+            if (previous != null && i % 3 == 0) {
+                process.conflictingProcesses.add(previous);
+            }
+            facts.processes.add(process);
+            computingPlan.assignStrictly(process);
+            previous = process;
+        }
+        return computingPlan;
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int index = text.indexOf(part); index >= 0; index = text.indexOf(part, index + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    void testSmallPlanDrawsEveryProcessAndIdleGap() throws Exception {
+        ComputingPlan computingPlan = getPlan(30, 3);
+        GanttRenderer renderer = new GanttRenderer(800);
+        assertTrue(renderer.isDetailed(computingPlan));
+
+        StringWriter svg = new StringWriter();
+        renderer.renderSvg(computingPlan, svg);
+
+        String busyFill = "fill=\"" + GanttRenderer.toHex(GanttRenderer.BUSY_COLOR) + "\"";
+        String idleFill = "fill=\"" + GanttRenderer.toHex(GanttRenderer.IDLE_COLOR) + "\"";
+        assertEquals(30, count(svg.toString(), busyFill));
+        int gapCount = 0;
+        for (int i = 0; i < computingPlan.computerPlanList.size(); i++) {
+            int previousEndTime = 0;
+            for (Process process : computingPlan.computerPlanList.get(i).processList) {
+                if (process.startTime > previousEndTime) {
+                    gapCount++;
+                }
+                previousEndTime = process.endTime;
+            }
+        }
+        assertTrue(gapCount > 0, "The conflicts should introduce idle gaps");
+        assertEquals(gapCount, count(svg.toString(), idleFill));
+        assertTrue(svg.toString().endsWith("</svg>\n"));
+    }
+
+    @Test
+    void testLargePlanIsBucketed(@TempDir Path directory) throws Exception {
+        ComputingPlan computingPlan = getPlan(100_000, 4);
+        GanttRenderer renderer = new GanttRenderer(600);
+        assertFalse(renderer.isDetailed(computingPlan));
+
+        StringWriter svg = new StringWriter();
+        renderer.renderSvg(computingPlan, svg);
+        int plotWidth = 600 - 56 - 16;
+        assertTrue(count(svg.toString(), "<rect") <= 1 + 4 * plotWidth * 2 + 2 * 20,
+                "The rectangles are bounded by the pixel columns of the lanes");
+
+        Path png = directory.resolve("gantt.png");
+        renderer.render(computingPlan, png);
+        BufferedImage image = ImageIO.read(png.toFile());
+        assertEquals(600, image.getWidth());
+        assertTrue(image.getHeight() > 4 * 2);
+    }
+
+    @Test
+    void testBucketsKeepTheCoveredFraction() {
+        double[] buckets = new double[4];
+        GanttRenderer.addToBuckets(buckets, 1, 7, 0.5);// pixels [0.5, 3.5)
+        assertArrayEquals(new double[]{0.5, 1, 1, 0.5}, buckets, 1e-12);
+        assertEquals(5, GanttRenderer.getTickStep(42));
+        assertEquals(20_000, GanttRenderer.getTickStep(150_000));
+    }
+}
@@ -0,0 +1,68 @@
+package it.unitn.visualization;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatexTableGeneratorTest {
+
+    @Test
+    void testTableFromMemoryIsTheTableFromTheWorkbook(@TempDir Path directory) throws Exception {
+        String[] headers = new String[3 + 32 * 2];
+        headers[0] = "Group";
+        headers[1] = "ProcessCount";
+        headers[2] = "ConflictPercentage";
+        for (int core = 1; core <= 32; core++) {
+            headers[1 + core * 2] = "Core" + core + "_Proposer";
+            headers[2 + core * 2] = "Core" + core + "_Attestor";
+        }
+        Path path = directory.resolve("speedup.xlsx");
+        SpeedupWorkbookReader.GroupingsBuilder builder = new SpeedupWorkbookReader.GroupingsBuilder();
+        try (SpeedupWorkbookWriter writer = new SpeedupWorkbookWriter(path, "Speedup Data", headers, 10)) {
+            SpeedupWorkbookWriter.SheetWriter confidenceWriter = writer.addSheet(
+                    SpeedupWorkbookReader.CONFIDENCE_SHEET_NAME, headers);
+            double[] values = new double[headers.length];
+            double[] halfWidths = new double[headers.length];
+            int group = 1;
+            for (int processCount = 50; processCount <= 200; processCount += 50) {
+                for (int conflictPercentage = 15; conflictPercentage <= 45; conflictPercentage += 10) {
+                    values[0] = group++;
+                    values[1] = processCount;
+                    values[2] = conflictPercentage;
+                    System.arraycopy(values, 0, halfWidths, 0, 3);
+                    for (int i = 3; i < values.length; i++) {
+                        values[i] = 1 + (i * processCount % 97) / (double) conflictPercentage;
+                        halfWidths[i] = values[i] / 7;
+                    }
+                    writer.writeRow(values);
+                    confidenceWriter.writeRow(halfWidths);
+                    builder.addRow(values);
+                    builder.addConfidenceRow(halfWidths);
+                }
+            }
+        }
+
+        SpeedupWorkbookReader.Groupings fromMemory = builder.build();
+        SpeedupWorkbookReader.Groupings fromWorkbook = SpeedupWorkbookReader.read(path);
+        assertEquals(fromWorkbook.rowCount, fromMemory.rowCount);
+        assertArrayEquals(fromWorkbook.byTransactionCount.get(100).attestorConfidence,
+                fromMemory.byTransactionCount.get(100).attestorConfidence);
+
+        String table = LatexTableGenerator.generateLatexTable(fromWorkbook.byConflictPercentage);
+        StringWriter streamed = new StringWriter();
+        LatexTableGenerator.generateLatexTable(fromMemory.byConflictPercentage, streamed);
+        assertEquals(table, streamed.toString());
+        assertTrue(table.startsWith("\\begin{table*}[]\n") && table.endsWith("\\end{table*}"));
+        assertTrue(table.contains("\n1 & 50 & 15 & "), "The first data row");
+
+        Path texPath = directory.resolve("speedup_table.tex");
+        LatexTableGenerator.writeLatexTable(fromMemory.byConflictPercentage, texPath);
+        assertEquals(table + "\n", new String(Files.readAllBytes(texPath), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package it.unitn.visualization;
+
+import it.unitn.emvscheduling.greedy.solver.SolverType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScalingBenchmarkTest {
+
+    @Test
+    void testEveryRowHasTheHeaderColumns(@TempDir Path directory) throws Exception {
+        ScalingBenchmark benchmark = new ScalingBenchmark();
+        benchmark.processCounts = new int[]{500, 200_000_000, 100_000_000};
+        benchmark.coreCounts = new int[]{4};
+        benchmark.solverTypes = new SolverType[]{SolverType.DISPATCHER};
+        benchmark.modes = new boolean[]{true};
+        benchmark.budgetMs = 1_000;// 100M processes are predicted far over the budget from the 500 ones
+        benchmark.repetitions = 1;
+        benchmark.outputPath = directory.resolve("scaling.csv");
+        benchmark.run();
+
+        List<String> lines = Files.readAllLines(benchmark.outputPath);
+        assertEquals(ScalingBenchmark.HEADER, lines.get(0));
+        assertEquals(16, ScalingBenchmark.COLUMN_COUNT);
+        assertEquals(1 + 3, lines.size());
+        String[] measured = parse(lines.get(1));
+        String[] predicted = parse(lines.get(2));
+        String[] skipped = parse(lines.get(3));
+
+        assertEquals("500", measured[2]);
+        assertEquals(ScalingBenchmark.STATUS_OK, measured[15]);
+        assertEquals("0", measured[14], "violations");
+
+        assertArrayEquals(new String[]{"DISPATCHER", "proposer", "100000000", "4", "8", "-", "0"},
+                Arrays.copyOf(predicted, 7));
+        assertTrue(Double.parseDouble(predicted[7]) > 3 * benchmark.budgetMs, "the predicted median wall time");
+        assertEquals(ScalingBenchmark.STATUS_PREDICTED_OVER_BUDGET, predicted[15]);
+
+        assertEquals("200000000", skipped[2]);
+        for (int column = 7; column < 15; column++) {
+            assertEquals("", skipped[column], "column " + column);
+        }
+        assertEquals(ScalingBenchmark.STATUS_SKIPPED, skipped[15]);
+        assertTrue(Files.exists(directory.resolve("scaling-limits.csv")));
+    }
+
+    @Test
+    void testUnmeasuredRows() {
+        String prefix = "SCALABLE, attestor, 1000, 16, 8, ";
+        assertEquals(ScalingBenchmark.COLUMN_COUNT, parse(ScalingBenchmark.getUnmeasuredRow(prefix, "",
+                ScalingBenchmark.STATUS_SKIPPED)).length);
+        assertEquals(ScalingBenchmark.COLUMN_COUNT, parse(ScalingBenchmark.getUnmeasuredRow(prefix, "12.500",
+                ScalingBenchmark.STATUS_PREDICTED_OVER_BUDGET)).length);
+    }
+
+    private static String[] parse(String line) {
+        String[] values = line.split(", ", -1);
+        assertEquals(ScalingBenchmark.HEADER.split(", ").length, values.length, line);
+        return values;
+    }
+}
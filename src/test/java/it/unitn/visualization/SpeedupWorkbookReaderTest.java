@@ -0,0 +1,73 @@
+package it.unitn.visualization;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpeedupWorkbookReaderTest {
+
+    @Test
+    void testAllGroupingsAreBuiltInOnePass(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("speedup.xlsx");
+        String[] headers = {"Group", "ProcessCount", "ConflictPercentage", "Core1_Proposer", "Core1_Attestor",
+                "Core2_Proposer", "Core2_Attestor"};
+        try (SpeedupWorkbookWriter writer = new SpeedupWorkbookWriter(path, "Speedup Data", headers, 10)) {
+            writer.writeRow(new double[]{1, 50, 0, 1, 1, 2.0, 1.5});
+            writer.writeRow(new double[]{2, 50, 15, 1, 1, 1.5, 1.0});
+            writer.writeRow(new double[]{3, 100, 0, 1, 1, 1.8, 1.7});
+            writer.writeRow(new double[]{4, 100, 15, 1, 1, 1.1, 1.0});
+        }
+
+        SpeedupWorkbookReader.Groupings groupings = SpeedupWorkbookReader.read(path);
+
+        assertEquals(4, groupings.rowCount);
+        assertEquals(2, groupings.byConflictPercentage.size());
+        assertEquals(2, groupings.byTransactionCount.size());
+        SpeedupDataReader.SpeedupData noConflict = groupings.byConflictPercentage.get(0);
+        assertEquals(100, noConflict.processCount, "The last transaction count of the group is kept");
+        assertArrayEquals(new double[]{1, 2}, noConflict.cores);
+        assertEquals(1.9, noConflict.proposerSpeedup[1], 1e-12);
+        assertEquals(0.1, noConflict.proposerStdDev[1], 1e-12);
+        assertEquals(1.6, noConflict.attestorSpeedup[1], 1e-12);
+        SpeedupDataReader.SpeedupData fifty = groupings.byTransactionCount.get(50);
+        assertEquals(50, fifty.processCount);
+        assertEquals(1.75, fifty.proposerSpeedup[1], 1e-12);
+        assertEquals(0.25, fifty.attestorStdDev[1], 1e-12);
+        assertEquals(0.0, fifty.proposerStdDev[0], 1e-12);
+    }
+
+    @Test
+    void testConfidenceSheetIsCombinedPerGroup(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("speedup.xlsx");
+        String[] headers = {"Group", "ProcessCount", "ConflictPercentage", "Core1_Proposer", "Core1_Attestor"};
+        try (SpeedupWorkbookWriter writer = new SpeedupWorkbookWriter(path, "Speedup Data", headers, 10)) {
+            SpeedupWorkbookWriter.SheetWriter confidenceWriter = writer.addSheet(
+                    SpeedupWorkbookReader.CONFIDENCE_SHEET_NAME, headers);
+            writer.writeRow(new double[]{1, 50, 15, 2.0, 1.5});
+            writer.writeRow(new double[]{2, 100, 15, 3.0, 2.5});
+            confidenceWriter.writeRow(new double[]{1, 50, 15, 0.3, 0.1});
+            confidenceWriter.writeRow(new double[]{2, 100, 15, 0.4, 0.1});
+        }
+
+        SpeedupWorkbookReader.Groupings groupings = SpeedupWorkbookReader.read(path);
+
+        assertEquals(2, groupings.rowCount, "The confidence rows are not data rows");
+        SpeedupDataReader.SpeedupData fifteen = groupings.byConflictPercentage.get(15);
+        assertEquals(2.5, fifteen.proposerSpeedup[0], 1e-12);
+        assertEquals(0.25, fifteen.proposerConfidence[0], 1e-12, "sqrt(0.3^2 + 0.4^2) / 2");
+        assertEquals(Math.sqrt(0.02) / 2, fifteen.attestorConfidence[0], 1e-12);
+        assertEquals(0.3, groupings.byTransactionCount.get(50).proposerConfidence[0], 1e-12);
+        assertEquals(0.25, SpeedupDataReader.combineData(groupings.byConflictPercentage).proposerConfidence[0],
+                1e-12);
+    }
+
+    @Test
+    void testColumnIndexOfReference() {
+        assertEquals(0, SpeedupWorkbookReader.getColumnIndex("A1"));
+        assertEquals(25, SpeedupWorkbookReader.getColumnIndex("Z10"));
+        assertEquals(27, SpeedupWorkbookReader.getColumnIndex("AB12"));
+    }
+}
@@ -0,0 +1,45 @@
+package it.unitn.visualization;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpeedupWorkbookWriterTest {
+
+    @Test
+    void testRowsBeyondTheWindowAreWritten(@TempDir Path directory) throws Exception {
+        Path outputPath = directory.resolve("speedup.xlsx");
+        String[] headers = {"Group", "ProcessCount", "Core1_Proposer"};
+        try (SpeedupWorkbookWriter writer = new SpeedupWorkbookWriter(outputPath, "Speedup Data", headers, 10)) {
+            for (int group = 1; group <= 2_000; group++) {
+                writer.writeRow(new double[]{group, 100, group / 3.0});
+            }
+            assertEquals(2_000, writer.getRowCount());
+        }
+
+        try (InputStream is = Files.newInputStream(outputPath); Workbook workbook = new XSSFWorkbook(is)) {
+            Sheet sheet = workbook.getSheet("Speedup Data");
+            assertEquals(2_000, sheet.getLastRowNum());
+            assertEquals("Core1_Proposer", sheet.getRow(0).getCell(2).getStringCellValue());
+            assertEquals(1, sheet.getRow(1).getCell(0).getNumericCellValue());
+            assertEquals(2_000 / 3.0, sheet.getRow(2_000).getCell(2).getNumericCellValue());
+            assertTrue(sheet.getColumnWidth(2) >= "Core1_Proposer".length() * 256);
+        }
+    }
+
+    @Test
+    void testRowWiderThanHeaderIsRejected(@TempDir Path directory) throws Exception {
+        try (SpeedupWorkbookWriter writer = new SpeedupWorkbookWriter(directory.resolve("speedup.xlsx"), "Speedup",
+                new String[]{"Group"}, 10)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.writeRow(new double[]{1, 2}));
+        }
+    }
+}